@@ -0,0 +1,111 @@
+package org.folio.benchmarks;
+
+import static org.folio.benchmarks.MarcRecordState.INSTANCE_ID;
+import static org.folio.services.util.AdditionalFieldsUtil.HR_ID_FROM_FIELD;
+import static org.folio.services.util.AdditionalFieldsUtil.TAG_999;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.folio.rest.jaxrs.model.Record;
+import org.folio.services.util.AdditionalFieldsUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of {@link AdditionalFieldsUtil} operations. Each modifying operation works on a new record
+ * so the content does not grow between invocations
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(2)
+public class AdditionalFieldsUtilBenchmark {
+
+  private static final String CONTROLLED_FIELD_VALUE = "ybp7406411";
+  private static final String DATA_FIELD_TAG = "035";
+  private static final String DATA_FIELD_VALUE = "(OCoLC)63611770";
+
+  @Benchmark
+  public Record addFieldToMarcRecord(MarcRecordState state) {
+    Record record = state.newRecord();
+    AdditionalFieldsUtil.addFieldToMarcRecord(record, TAG_999, 'i', INSTANCE_ID);
+    return record;
+  }
+
+  @Benchmark
+  public Record addControlledFieldToMarcRecord(MarcRecordState state) {
+    Record record = state.newRecord();
+    AdditionalFieldsUtil.addControlledFieldToMarcRecord(record, HR_ID_FROM_FIELD, CONTROLLED_FIELD_VALUE);
+    return record;
+  }
+
+  @Benchmark
+  public Record replaceControlledFieldInMarcRecord(MarcRecordState state) {
+    Record record = state.newRecord();
+    AdditionalFieldsUtil.addControlledFieldToMarcRecord(record, HR_ID_FROM_FIELD, CONTROLLED_FIELD_VALUE, true);
+    return record;
+  }
+
+  @Benchmark
+  public Record addDataFieldToMarcRecord(MarcRecordState state) {
+    Record record = state.newRecord();
+    AdditionalFieldsUtil.addDataFieldToMarcRecord(record, DATA_FIELD_TAG, ' ', ' ', 'a', DATA_FIELD_VALUE);
+    return record;
+  }
+
+  @Benchmark
+  public Record removeField(MarcRecordState state) {
+    Record record = state.newRecord();
+    AdditionalFieldsUtil.removeField(record, HR_ID_FROM_FIELD);
+    return record;
+  }
+
+  @Benchmark
+  public String getValueFromControlledField(MarcRecordState state) {
+    return AdditionalFieldsUtil.getValueFromControlledField(state.newRecord(), HR_ID_FROM_FIELD);
+  }
+
+  @Benchmark
+  public boolean isFieldExist(MarcRecordState state) {
+    return AdditionalFieldsUtil.isFieldExist(state.newRecord(), DATA_FIELD_TAG, 'a', DATA_FIELD_VALUE);
+  }
+
+  @Benchmark
+  public Record fillHrIdFieldInMarcRecord(MarcRecordState state) {
+    Record record = state.newRecord();
+    AdditionalFieldsUtil.fillHrIdFieldInMarcRecord(Pair.of(record, state.instance));
+    return record;
+  }
+
+  /**
+   * Instance post processing as a sequence of separate operations, each parsing and serializing the record
+   */
+  @Benchmark
+  public Record postProcessInstanceBySeparateOperations(MarcRecordState state) {
+    Record record = state.newRecord();
+    AdditionalFieldsUtil.addFieldToMarcRecord(record, TAG_999, 'i', INSTANCE_ID);
+    AdditionalFieldsUtil.fillHrIdFieldInMarcRecord(Pair.of(record, state.instance));
+    return record;
+  }
+
+  /**
+   * Instance post processing within single MARC record session, as done by InstancePostProcessingEventHandler
+   */
+  @Benchmark
+  public Record postProcessInstanceInSingleSession(MarcRecordState state) {
+    Record record = state.newRecord();
+    AdditionalFieldsUtil.updateMarcRecord(record, session -> {
+      session.addSubfieldToField(TAG_999, 'i', INSTANCE_ID);
+      AdditionalFieldsUtil.fillHrIdFieldInMarcRecord(session, state.instance);
+    });
+    return record;
+  }
+
+}
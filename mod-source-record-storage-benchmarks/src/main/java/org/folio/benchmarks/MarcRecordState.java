@@ -0,0 +1,96 @@
+package org.folio.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.folio.dao.util.MarcUtil;
+import org.folio.rest.jaxrs.model.ParsedRecord;
+import org.folio.rest.jaxrs.model.Record;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Bibliographic records used by benchmarks: small and medium records are real records from mock data,
+ * huge record is the medium record grown with contents notes close to maximum MARC record length
+ */
+@State(Scope.Benchmark)
+public class MarcRecordState {
+
+  static final String RECORD_ID = "4c0ff739-3f4d-4670-a693-84dd48e31c53";
+  static final String INSTANCE_ID = "0d2c5f4d-7b67-4e2a-9f0e-2f6d5c3b1a90";
+  static final String INSTANCE_HRID = "in00000000001";
+
+  private static final String RECORDS_PATH = "/records/%s.json";
+  private static final String HUGE = "huge";
+  private static final String MEDIUM = "medium";
+  private static final int HUGE_RECORD_LENGTH = 90000;
+  private static final String CONTENTS_NOTE_TAG = "505";
+  private static final String CONTENTS_NOTE = "Études préliminaires sur la conservation des collections patrimoniales -- "
+    + "Digitization workflows for special collections and archives -- Metadata remediation at scale -- "
+    + "Linked data and the future of bibliographic description -- Cataloging rare materials in a shared environment -- ";
+
+  @Param({"small", "medium", HUGE})
+  public String size;
+
+  String marcJson;
+  String rawMarc;
+  Map<String, Object> marcJsonMap;
+  JsonObject instance;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    marcJson = HUGE.equals(size) ? growRecord(readRecord(MEDIUM)) : readRecord(size);
+    rawMarc = MarcUtil.marcJsonToRawMarc(marcJson);
+    marcJsonMap = new JsonObject(marcJson).getMap();
+    instance = new JsonObject()
+      .put("id", INSTANCE_ID)
+      .put("hrid", INSTANCE_HRID);
+  }
+
+  /**
+   * Creates new record for benchmarks that modify parsed record content
+   *
+   * @return record with MARC json content
+   */
+  Record newRecord() {
+    return new Record()
+      .withId(RECORD_ID)
+      .withParsedRecord(new ParsedRecord()
+        .withId(RECORD_ID)
+        .withContent(marcJson));
+  }
+
+  private static String readRecord(String name) throws IOException {
+    try (InputStream in = MarcRecordState.class.getResourceAsStream(String.format(RECORDS_PATH, name))) {
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8).trim();
+    }
+  }
+
+  private static String growRecord(String marcJson) throws IOException {
+    JsonObject content = new JsonObject(marcJson);
+    JsonArray fields = content.getJsonArray("fields");
+    int index = 0;
+    while (index < fields.size() && fields.getJsonObject(index).fieldNames().iterator().next().compareTo(CONTENTS_NOTE_TAG) <= 0) {
+      index++;
+    }
+    int chapter = 1;
+    while (MarcUtil.marcJsonToRawMarc(content.encode()).getBytes(StandardCharsets.UTF_8).length < HUGE_RECORD_LENGTH) {
+      JsonObject contentsNote = new JsonObject()
+        .put("subfields", new JsonArray().add(new JsonObject().put("a", "Part " + chapter + ". " + CONTENTS_NOTE.repeat(4))))
+        .put("ind1", "0")
+        .put("ind2", " ");
+      fields.getList().add(index++, new JsonObject().put(CONTENTS_NOTE_TAG, contentsNote));
+      chapter++;
+    }
+    return content.encode();
+  }
+
+}
@@ -0,0 +1,40 @@
+package org.folio.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.folio.dao.util.MarcUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of MARC format conversions done by {@link MarcUtil}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(2)
+public class MarcUtilBenchmark {
+
+  @Benchmark
+  public String rawMarcToMarcJson(MarcRecordState state) throws IOException {
+    return MarcUtil.rawMarcToMarcJson(state.rawMarc);
+  }
+
+  @Benchmark
+  public String marcJsonToTxtMarc(MarcRecordState state) throws IOException {
+    return MarcUtil.marcJsonToTxtMarc(state.marcJson);
+  }
+
+  @Benchmark
+  public String marcJsonToRawMarc(MarcRecordState state) throws IOException {
+    return MarcUtil.marcJsonToRawMarc(state.marcJson);
+  }
+
+}
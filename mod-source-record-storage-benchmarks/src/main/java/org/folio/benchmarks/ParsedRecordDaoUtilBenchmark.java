@@ -0,0 +1,46 @@
+package org.folio.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.folio.dao.util.ParsedRecordDaoUtil;
+import org.folio.rest.jaxrs.model.ParsedRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of {@link ParsedRecord} content handling done by {@link ParsedRecordDaoUtil}.
+ * Content is benchmarked both as json string, as received by REST API, and as map, as deserialized from event payloads
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(2)
+public class ParsedRecordDaoUtilBenchmark {
+
+  @Benchmark
+  public String normalizeStringContent(MarcRecordState state) {
+    return ParsedRecordDaoUtil.normalizeContent(new ParsedRecord().withContent(state.marcJson));
+  }
+
+  @Benchmark
+  public String normalizeMapContent(MarcRecordState state) {
+    return ParsedRecordDaoUtil.normalizeContent(new ParsedRecord().withContent(state.marcJsonMap));
+  }
+
+  @Benchmark
+  public String getLeaderStatusOfStringContent(MarcRecordState state) {
+    return ParsedRecordDaoUtil.getLeaderStatus(new ParsedRecord().withContent(state.marcJson));
+  }
+
+  @Benchmark
+  public String getLeaderStatusOfMapContent(MarcRecordState state) {
+    return ParsedRecordDaoUtil.getLeaderStatus(new ParsedRecord().withContent(state.marcJsonMap));
+  }
+
+}
@@ -7,5 +7,6 @@ import org.springframework.context.annotation.Configuration;
 @ComponentScan(basePackages = {
   "org.folio.rest.impl",
   "org.folio.dao",
+  "org.folio.metrics",
   "org.folio.services"})
 public class ApplicationConfig {}
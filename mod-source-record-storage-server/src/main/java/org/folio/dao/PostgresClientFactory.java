@@ -1,19 +1,36 @@
 package org.folio.dao;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import javax.annotation.PreDestroy;
 
+import org.folio.metrics.MetricsUtil;
 import org.folio.rest.persist.PostgresClient;
 import org.jooq.Configuration;
+import org.jooq.DSLContext;
+import org.jooq.Query;
 import org.jooq.SQLDialect;
 import org.jooq.impl.DefaultConfiguration;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import io.github.jklingsporn.vertx.jooq.classic.reactivepg.ReactiveClassicGenericQueryExecutor;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
@@ -21,6 +38,10 @@ import io.vertx.core.logging.LoggerFactory;
 import io.vertx.pgclient.PgConnectOptions;
 import io.vertx.pgclient.PgPool;
 import io.vertx.sqlclient.PoolOptions;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.SqlConnection;
+import io.vertx.sqlclient.Transaction;
 
 @Component
 public class PostgresClientFactory {
@@ -35,12 +56,17 @@ public class PostgresClientFactory {
   private static final String PASSWORD = "password";
   private static final String USERNAME = "username";
   private static final String IDLE_TIMEOUT = "connectionReleaseDelay";
+  private static final String MAX_POOL_SIZE = "maxPoolSize";
+  private static final String MAX_WAIT_QUEUE_SIZE = "maxWaitQueueSize";
+  private static final String PIPELINING_LIMIT = "pipeliningLimit";
+  private static final String TENANTS = "tenants";
 
   private static final String DEFAULT_SCHEMA_PROPERTY = "search_path";
 
-  private static final int POOL_SIZE = 5;
+  private static final int DEFAULT_POOL_SIZE = 5;
+  private static final int DEFAULT_IDLE_TIMEOUT = 60000;
 
-  private static final Map<String, PgPool> POOL_CACHE = new HashMap<>();
+  private static final Map<String, TenantPool> POOL_CACHE = new ConcurrentHashMap<>();
 
   private Vertx vertx;
 
@@ -61,7 +87,7 @@ public class PostgresClientFactory {
    * @return reactive query executor
    */
   public ReactiveClassicGenericQueryExecutor getQueryExecutor(String tenantId) {
-    return new ReactiveClassicGenericQueryExecutor(configuration, getCachedPool(this.vertx, tenantId));
+    return getQueryExecutor(this.vertx, tenantId);
   }
 
   /**
@@ -72,32 +98,107 @@ public class PostgresClientFactory {
    * @return reactive query executor
    */
   public static ReactiveClassicGenericQueryExecutor getQueryExecutor(Vertx vertx, String tenantId) {
-    return new ReactiveClassicGenericQueryExecutor(configuration, getCachedPool(vertx, tenantId));
+    return new MonitoredQueryExecutor(configuration, getCachedPool(vertx, tenantId));
+  }
+
+  /**
+   * Executes operation not supported by query executor, e.g. row stream, with a connection of tenant pool.
+   * Operation is tracked on tenant pool as operations of query executor and connection is closed
+   * once future of the operation is completed
+   *
+   * @param tenantId  tenant id
+   * @param operation operation using the connection
+   * @return future of the operation
+   */
+  public <T> Future<T> withConnection(String tenantId, Function<SqlConnection, Future<T>> operation) {
+    TenantPool tenantPool = getCachedPool(this.vertx, tenantId);
+    tenantPool.acquire();
+    return tenantPool.getConnection()
+      .compose(connection -> {
+        Future<T> future;
+        try {
+          future = operation.apply(connection);
+        } catch (RuntimeException e) {
+          future = Future.failedFuture(e);
+        }
+        return future.onComplete(ar -> connection.close());
+      })
+      .onComplete(ar -> tenantPool.release());
+  }
+
+  /**
+   * Get tenant id of query executor created by this factory or of transaction started with it
+   *
+   * @param queryExecutor query executor
+   * @return tenant id, null if query executor is not created by this factory
+   */
+  public static String getTenantId(ReactiveClassicGenericQueryExecutor queryExecutor) {
+    if (queryExecutor instanceof MonitoredQueryExecutor) {
+      return ((MonitoredQueryExecutor) queryExecutor).tenantPool.tenantId;
+    }
+    if (queryExecutor instanceof TransactionQueryExecutor) {
+      return ((TransactionQueryExecutor) queryExecutor).tenantId;
+    }
+    return null;
+  }
+
+  /**
+   * Get saturation statistics of database connection pools of all tenants
+   *
+   * @return json object with pool statistics by tenant id
+   */
+  public static JsonObject getPoolStats() {
+    JsonObject stats = new JsonObject();
+    POOL_CACHE.forEach((tenantId, tenantPool) -> stats.put(tenantId, tenantPool.toJson()));
+    return stats;
+  }
+
+  /**
+   * Get saturation statistics of database connection pool of the tenant
+   *
+   * @param tenantId tenant id
+   * @return json object with pool statistics, empty if tenant has no pool yet
+   */
+  public static JsonObject getPoolStats(String tenantId) {
+    TenantPool tenantPool = POOL_CACHE.get(tenantId);
+    return Objects.nonNull(tenantPool) ? tenantPool.toJson() : new JsonObject();
   }
 
   public static void closeAll() {
-    POOL_CACHE.values().forEach(PostgresClientFactory::close);
+    POOL_CACHE.values().forEach(tenantPool -> {
+      tenantPool.removeMeters();
+      close(tenantPool.pool);
+    });
     POOL_CACHE.clear();
   }
 
-  private static PgPool getCachedPool(Vertx vertx, String tenantId) {
-    // assumes a single thread Vert.x model so no synchronized needed
-    if (POOL_CACHE.containsKey(tenantId)) {
+  private static TenantPool getCachedPool(Vertx vertx, String tenantId) {
+    TenantPool tenantPool = POOL_CACHE.get(tenantId);
+    if (Objects.nonNull(tenantPool)) {
       LOG.debug("Using existing database connection pool for tenant {}", tenantId);
-      return POOL_CACHE.get(tenantId);
+      return tenantPool;
     }
-    LOG.info("Creating new database connection pool for tenant {}", tenantId);
-    PgConnectOptions connectOptions = getConnectOptions(vertx, tenantId);
-    PoolOptions poolOptions = new PoolOptions().setMaxSize(POOL_SIZE);
-    PgPool client = PgPool.pool(vertx, connectOptions, poolOptions);
-    POOL_CACHE.put(tenantId, client);
-    return client;
+    // verticle instances may run on different event loop threads, pool must be created only once per tenant
+    return POOL_CACHE.computeIfAbsent(tenantId, key -> createPool(vertx, key));
+  }
+
+  private static TenantPool createPool(Vertx vertx, String tenantId) {
+    JsonObject postgreSQLClientConfig = getConnectionConfig(vertx, tenantId);
+    PgConnectOptions connectOptions = getConnectOptions(postgreSQLClientConfig, tenantId);
+    PoolOptions poolOptions = new PoolOptions()
+      .setMaxSize(getSetting(postgreSQLClientConfig, tenantId, MAX_POOL_SIZE, DEFAULT_POOL_SIZE))
+      .setMaxWaitQueueSize(getSetting(postgreSQLClientConfig, tenantId, MAX_WAIT_QUEUE_SIZE, PoolOptions.DEFAULT_MAX_WAIT_QUEUE_SIZE));
+    LOG.info("Creating new database connection pool for tenant {} with max size {}, max wait queue size {} and pipelining limit {}",
+      tenantId, poolOptions.getMaxSize(), poolOptions.getMaxWaitQueueSize(), connectOptions.getPipeliningLimit());
+    TenantPool tenantPool = new TenantPool(tenantId, PgPool.pool(vertx, connectOptions, poolOptions), poolOptions);
+    tenantPool.registerMeters();
+    return tenantPool;
   }
 
   // NOTE: This should be able to get database configuration without PostgresClient.
   // Additionally, with knowledge of tenant at this time, we are not confined to
   // schema isolation and can provide database isolation.
-  private static PgConnectOptions getConnectOptions(Vertx vertx, String tenantId) {
+  private static JsonObject getConnectionConfig(Vertx vertx, String tenantId) {
     PostgresClient postgresClient = PostgresClient.getInstance(vertx, tenantId);
     JsonObject postgreSQLClientConfig = postgresClient.getConnectionConfig();
     postgresClient.closeClient(closed -> {
@@ -105,20 +206,197 @@ public class PostgresClientFactory {
         LOG.error("Unable to close PostgresClient", closed.cause());
       }
     });
+    return postgreSQLClientConfig;
+  }
+
+  private static PgConnectOptions getConnectOptions(JsonObject postgreSQLClientConfig, String tenantId) {
     return new PgConnectOptions()
       .setHost(postgreSQLClientConfig.getString(HOST))
       .setPort(postgreSQLClientConfig.getInteger(PORT))
       .setDatabase(postgreSQLClientConfig.getString(DATABASE))
       .setUser(postgreSQLClientConfig.getString(USERNAME))
       .setPassword(postgreSQLClientConfig.getString(PASSWORD))
-      .setIdleTimeout(postgreSQLClientConfig.getInteger(IDLE_TIMEOUT, 60000))
+      .setIdleTimeout(getSetting(postgreSQLClientConfig, tenantId, IDLE_TIMEOUT, DEFAULT_IDLE_TIMEOUT))
       .setIdleTimeoutUnit(TimeUnit.MILLISECONDS)
+      .setPipeliningLimit(getSetting(postgreSQLClientConfig, tenantId, PIPELINING_LIMIT, PgConnectOptions.DEFAULT_PIPELINING_LIMIT))
       // using RMB convention driven tenant to schema name
       .addProperty(DEFAULT_SCHEMA_PROPERTY, PostgresClient.convertToPsqlStandard(tenantId));
   }
 
+  /**
+   * Resolves pool setting in following order: tenant specific system property or environment variable
+   * (e.g. DB_MAXPOOLSIZE_DIKU), tenant specific value of database configuration (e.g. "tenants": { "diku": { "maxPoolSize": 10 } }),
+   * system property or environment variable (e.g. DB_MAXPOOLSIZE), value of database configuration (e.g. "maxPoolSize": 10)
+   * and default value.
+   */
+  private static int getSetting(JsonObject postgreSQLClientConfig, String tenantId, String key, int defaultValue) {
+    String variable = "DB_" + key.toUpperCase();
+    JsonObject tenantConfig = postgreSQLClientConfig.getJsonObject(TENANTS, new JsonObject()).getJsonObject(tenantId, new JsonObject());
+    String value = getVariable(variable + "_" + tenantId.toUpperCase());
+    if (Objects.nonNull(value)) {
+      return Integer.parseInt(value);
+    }
+    if (tenantConfig.containsKey(key)) {
+      return tenantConfig.getInteger(key);
+    }
+    value = getVariable(variable);
+    if (Objects.nonNull(value)) {
+      return Integer.parseInt(value);
+    }
+    return postgreSQLClientConfig.getInteger(key, defaultValue);
+  }
+
+  private static String getVariable(String name) {
+    String value = System.getProperty(name);
+    return Objects.nonNull(value) ? value : System.getenv(name);
+  }
+
   private static void close(PgPool client) {
     client.close();
   }
 
+  private static class TenantPool {
+
+    private final String tenantId;
+    private final PgPool pool;
+    private final PoolOptions poolOptions;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicLong acquired = new AtomicLong();
+    private final AtomicLong saturated = new AtomicLong();
+    private final List<Meter> meters = new ArrayList<>();
+    private Timer acquireTimer;
+
+    private TenantPool(String tenantId, PgPool pool, PoolOptions poolOptions) {
+      this.tenantId = tenantId;
+      this.pool = pool;
+      this.poolOptions = poolOptions;
+    }
+
+    private void acquire() {
+      int current = inFlight.incrementAndGet();
+      maxInFlight.accumulateAndGet(current, Math::max);
+      acquired.incrementAndGet();
+      if (current > poolOptions.getMaxSize()) {
+        // all connections are busy, operation waits in pool queue
+        saturated.incrementAndGet();
+      }
+    }
+
+    private void release() {
+      inFlight.decrementAndGet();
+    }
+
+    private Future<SqlConnection> getConnection() {
+      Promise<SqlConnection> promise = Promise.promise();
+      Timer.Sample sample = Timer.start(MetricsUtil.getRegistry());
+      pool.getConnection(ar -> {
+        sample.stop(acquireTimer);
+        promise.handle(ar);
+      });
+      return promise.future();
+    }
+
+    private void registerMeters() {
+      Tags tags = MetricsUtil.tenantTags(tenantId);
+      meters.add(Gauge.builder(MetricsUtil.POOL_IN_FLIGHT_GAUGE, inFlight, AtomicInteger::get)
+        .tags(tags)
+        .description("Operations running or waiting on database connection pool")
+        .register(MetricsUtil.getRegistry()));
+      meters.add(FunctionCounter.builder(MetricsUtil.POOL_ACQUIRED_COUNTER, acquired, AtomicLong::get)
+        .tags(tags)
+        .description("Operations executed on database connection pool")
+        .register(MetricsUtil.getRegistry()));
+      meters.add(FunctionCounter.builder(MetricsUtil.POOL_SATURATED_COUNTER, saturated, AtomicLong::get)
+        .tags(tags)
+        .description("Operations waiting in database connection pool queue since all connections were busy")
+        .register(MetricsUtil.getRegistry()));
+      acquireTimer = Timer.builder(MetricsUtil.POOL_ACQUIRE_TIMER)
+        .tags(tags)
+        .description("Time waited for a connection of database connection pool")
+        .register(MetricsUtil.getRegistry());
+      meters.add(acquireTimer);
+    }
+
+    private void removeMeters() {
+      meters.forEach(MetricsUtil.getRegistry()::remove);
+      meters.clear();
+    }
+
+    private JsonObject toJson() {
+      return new JsonObject()
+        .put(MAX_POOL_SIZE, poolOptions.getMaxSize())
+        .put(MAX_WAIT_QUEUE_SIZE, poolOptions.getMaxWaitQueueSize())
+        .put("inFlight", inFlight.get())
+        .put("maxInFlight", maxInFlight.get())
+        .put("acquired", acquired.get())
+        .put("saturated", saturated.get());
+    }
+
+  }
+
+  /**
+   * Query executor tracking operations running on tenant pool. Queries executed within
+   * transaction use the connection of the transaction and are not tracked separately.
+   * Time waited for a connection is recorded per query, or per transaction including its BEGIN statement.
+   */
+  private static class MonitoredQueryExecutor extends ReactiveClassicGenericQueryExecutor {
+
+    private final TenantPool tenantPool;
+
+    private MonitoredQueryExecutor(Configuration configuration, TenantPool tenantPool) {
+      super(configuration, tenantPool.pool);
+      this.tenantPool = tenantPool;
+    }
+
+    // findManyRow, findOneRow, execute and query are executed with executeAny
+    @Override
+    public Future<RowSet<Row>> executeAny(Function<DSLContext, ? extends Query> queryFunction) {
+      return track(() -> tenantPool.getConnection()
+        .compose(connection -> new ReactiveClassicGenericQueryExecutor(configuration(), connection).executeAny(queryFunction)
+          .onComplete(ar -> connection.close())));
+    }
+
+    @Override
+    public <U> Future<U> transaction(Function<ReactiveClassicGenericQueryExecutor, Future<U>> transaction) {
+      return track(() -> super.transaction(transaction));
+    }
+
+    @Override
+    public Future<? extends ReactiveClassicGenericQueryExecutor> beginTransaction() {
+      Timer.Sample sample = Timer.start(MetricsUtil.getRegistry());
+      return super.beginTransaction().onComplete(ar -> sample.stop(tenantPool.acquireTimer));
+    }
+
+    @Override
+    protected Function<Transaction, ? extends ReactiveClassicGenericQueryExecutor> newInstance() {
+      return tx -> new TransactionQueryExecutor(configuration(), tx, tenantPool.tenantId);
+    }
+
+    private <T> Future<T> track(Supplier<Future<T>> operation) {
+      tenantPool.acquire();
+      try {
+        return operation.get().onComplete(ar -> tenantPool.release());
+      } catch (RuntimeException e) {
+        tenantPool.release();
+        throw e;
+      }
+    }
+
+  }
+
+  /**
+   * Query executor of a transaction, keeping tenant id of the pool the transaction was started with
+   */
+  private static class TransactionQueryExecutor extends ReactiveClassicGenericQueryExecutor {
+
+    private final String tenantId;
+
+    private TransactionQueryExecutor(Configuration configuration, Transaction transaction, String tenantId) {
+      super(configuration, transaction);
+      this.tenantId = tenantId;
+    }
+
+  }
+
 }
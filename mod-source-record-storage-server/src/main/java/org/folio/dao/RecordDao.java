@@ -1,12 +1,17 @@
 package org.folio.dao;
 
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
 
 import org.folio.dao.util.ExternalIdType;
+import org.folio.dao.util.MatchField;
+import org.folio.dao.util.TotalRecordsMode;
 import org.folio.rest.jaxrs.model.ParsedRecord;
+import org.folio.rest.jaxrs.model.ParsedRecordsBatchResponse;
 import org.folio.rest.jaxrs.model.Record;
 import org.folio.rest.jaxrs.model.RecordCollection;
 import org.folio.rest.jaxrs.model.SourceRecord;
@@ -16,6 +21,7 @@ import org.jooq.OrderField;
 
 import io.github.jklingsporn.vertx.jooq.classic.reactivepg.ReactiveClassicGenericQueryExecutor;
 import io.vertx.core.Future;
+import io.vertx.core.streams.WriteStream;
 
 /**
  * Data access object for {@link Record}
@@ -34,6 +40,21 @@ public interface RecordDao {
    */
   Future<RecordCollection> getRecords(Condition condition, Collection<OrderField<?>> orderFields, int offset, int limit, String tenantId);
 
+  /**
+   * Searches for {@link Record} by {@link Condition} and ordered by collection of {@link OrderField} with offset and limit,
+   * total records are calculated according to {@link TotalRecordsMode}
+   *
+   * @param condition        query where condition
+   * @param orderFields      fields to order by
+   * @param offset           starting index in a list of results
+   * @param limit            limit of records for pagination
+   * @param totalRecordsMode total records mode
+   * @param tenantId         tenant id
+   * @return future with {@link RecordCollection}
+   */
+  Future<RecordCollection> getRecords(Condition condition, Collection<OrderField<?>> orderFields, int offset, int limit,
+                                      TotalRecordsMode totalRecordsMode, String tenantId);
+
   /**
    * Searches for {@link Record} by id
    *
@@ -106,6 +127,26 @@ public interface RecordDao {
    */
   Future<Record> saveRecord(ReactiveClassicGenericQueryExecutor txQE, Record record);
 
+  /**
+   * Saves {@link RecordCollection} to the db using set-based statements in a single transaction.
+   * Records referring to missing or not started snapshots are skipped and reported in error messages
+   *
+   * @param recordCollection Records to save
+   * @param tenantId         tenant id
+   * @return future with {@link RecordsBatchResponse} of saved Records
+   */
+  Future<RecordsBatchResponse> saveRecords(RecordCollection recordCollection, String tenantId);
+
+  /**
+   * Updates {@link ParsedRecord}s, external ids and metadata of {@link RecordCollection} in the db in a single transaction.
+   * Records which are not valid or not found are reported in error messages of the response and are not updated
+   *
+   * @param recordCollection records collection to update parsed records of
+   * @param tenantId         tenant id
+   * @return future with {@link ParsedRecordsBatchResponse} of updated ParsedRecords
+   */
+  Future<ParsedRecordsBatchResponse> updateParsedRecords(RecordCollection recordCollection, String tenantId);
+
   /**
    * Updates {{@link Record} in the db
    *
@@ -116,24 +157,60 @@ public interface RecordDao {
   Future<Record> updateRecord(Record record, String tenantId);
 
   /**
-   * Increments generation in case a record with the same matchedId exists
-   * and the snapshot it is linked to is COMMITTED before the processing of the current one started
+   * Calculates generation of the record unless it is already set and marks previous ACTUAL or DELETED records
+   * with the same matchedId as OLD, within single database call and without loading their content.
+   * Previous generations are records of snapshots COMMITTED before processing of the snapshot of the record started
    *
-   * @param record   Record
-   * @param tenantId tenant id
+   * @param txQE                  query execution
+   * @param record                Record
+   * @param processingStartedDate processing started date of the snapshot of the record
    * @return future with generation
    */
-  Future<Integer> calculateGeneration(Record record, String tenantId);
+  Future<Integer> supersedePreviousRecords(ReactiveClassicGenericQueryExecutor txQE, Record record, Date processingStartedDate);
 
   /**
-   * Increments generation in case a record with the same matchedId exists
-   * and the snapshot it is linked to is COMMITTED before the processing of the current one started
+   * Marks records linked to the specified instance as OLD, except records of the specified snapshot
    *
-   * @param txQE   query execution
-   * @param record Record
-   * @return future with generation
+   * @param instanceId instance id
+   * @param snapshotId id of snapshot which records remain unchanged
+   * @param tenantId   tenant id
+   * @return future with number of updated records
+   */
+  Future<Integer> markRecordsAsOldByInstanceId(String instanceId, String snapshotId, String tenantId);
+
+  /**
+   * Marks records linked to any of the specified instances as OLD with a single statement,
+   * except records of the specified snapshot
+   *
+   * @param instanceIds instance ids
+   * @param snapshotId  id of snapshot which records remain unchanged
+   * @param tenantId    tenant id
+   * @return future with number of updated records
+   */
+  Future<Integer> markRecordsAsOldByInstanceIds(List<String> instanceIds, String snapshotId, String tenantId);
+
+  /**
+   * Searches for ids of records matching any of the values of {@link MatchField} with a single query,
+   * without loading content of the records
+   *
+   * @param matchField match field
+   * @param values     values normalized by {@link MatchField#normalize(String)}
+   * @param tenantId   tenant id
+   * @return future with ids of matching records by value, values without matching records are absent
+   */
+  Future<Map<String, List<String>>> getRecordIdsByMatchField(MatchField matchField, Collection<String> values, String tenantId);
+
+  /**
+   * Searches for distinct instance ids of records linked to the specified snapshot, ordered by instance id.
+   * Only instance ids are read, so the whole snapshot can be traversed page by page using the last returned id
+   *
+   * @param snapshotId      snapshot id
+   * @param afterInstanceId instance id after which the page starts, first page is returned if null
+   * @param limit           limit
+   * @param tenantId        tenant id
+   * @return future with list of instance ids
    */
-  Future<Integer> calculateGeneration(ReactiveClassicGenericQueryExecutor txQE, Record record);
+  Future<List<String>> getInstanceIdsBySnapshotId(String snapshotId, String afterInstanceId, int limit, String tenantId);
 
   /**
    * Updates {@link ParsedRecord} in the db
@@ -176,6 +253,49 @@ public interface RecordDao {
    */
   Future<SourceRecordCollection> getSourceRecords(Condition condition, Collection<OrderField<?>> orderFields, int offset, int limit, String tenantId);
 
+  /**
+   * Searches for {@link SourceRecord} by {@link Condition} and ordered by order fields with offset and limit,
+   * total records are calculated according to {@link TotalRecordsMode}
+   *
+   * @param condition        query where condition
+   * @param orderFields      fields to order by
+   * @param offset           starting index in a list of results
+   * @param limit            limit of records for pagination
+   * @param totalRecordsMode total records mode
+   * @param tenantId         tenant id
+   * @return future with {@link SourceRecordCollection}
+   */
+  Future<SourceRecordCollection> getSourceRecords(Condition condition, Collection<OrderField<?>> orderFields, int offset, int limit,
+                                                  TotalRecordsMode totalRecordsMode, String tenantId);
+
+  /**
+   * Searches for {@link SourceRecord} by {@link Condition} ordered by record id, starting after the record with given id
+   *
+   * @param condition        query where condition
+   * @param afterId          id of the last record of previous page, null for the first page
+   * @param limit            limit of records for pagination
+   * @param totalRecordsMode total records mode
+   * @param tenantId         tenant id
+   * @return future with {@link SourceRecordCollection}
+   */
+  Future<SourceRecordCollection> getSourceRecords(Condition condition, String afterId, int limit, TotalRecordsMode totalRecordsMode,
+                                                  String tenantId);
+
+  /**
+   * Streams {@link SourceRecord} by {@link Condition} and ordered by order fields with offset and limit
+   * to {@link WriteStream}. Rows are fetched with database cursor and reading is paused while write queue is full
+   *
+   * @param condition   query where condition
+   * @param orderFields fields to order by
+   * @param offset      starting index in a list of results
+   * @param limit       limit of records
+   * @param tenantId    tenant id
+   * @param writeStream stream to write source records to
+   * @return future completed when all source records are written
+   */
+  Future<Void> streamSourceRecords(Condition condition, Collection<OrderField<?>> orderFields, int offset, int limit,
+                                   String tenantId, WriteStream<SourceRecord> writeStream);
+
   /**
    * Searches for {@link SourceRecord} where id in a list of ids defined by external id type. i.e. INSTANCE or RECORD
    *
@@ -224,6 +344,16 @@ public interface RecordDao {
    */
   Future<Boolean> deleteRecordsBySnapshotId(String snapshotId, String tenantId);
 
+  /**
+   * Deletes up to the specified number of records associated with specified snapshot, with their content
+   *
+   * @param snapshotId snapshot id
+   * @param chunkSize  maximum number of records to delete
+   * @param tenantId   tenant id
+   * @return future with number of deleted records
+   */
+  Future<Integer> deleteRecordsChunkBySnapshotId(String snapshotId, int chunkSize, String tenantId);
+
   /**
    * Creates new Record and updates status of the "old" one,
    * no data is overwritten as a result of update
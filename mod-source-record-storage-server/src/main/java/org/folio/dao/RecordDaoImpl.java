@@ -8,48 +8,84 @@ import static org.jooq.impl.DSL.name;
 import static org.jooq.impl.DSL.table;
 import static org.jooq.impl.DSL.trueCondition;
 
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.ws.rs.NotFoundException;
 
+import org.apache.commons.lang3.StringUtils;
+import org.folio.dao.cache.CacheEntityType;
+import org.folio.dao.cache.CacheInvalidationBus;
+import org.folio.dao.cache.RecordCache;
+import org.folio.dao.cache.SnapshotCache;
 import org.folio.dao.util.ErrorRecordDaoUtil;
 import org.folio.dao.util.ExternalIdType;
 import org.folio.dao.util.MarcUtil;
+import org.folio.dao.util.MatchField;
 import org.folio.dao.util.ParsedRecordDaoUtil;
 import org.folio.dao.util.RawRecordDaoUtil;
 import org.folio.dao.util.RecordDaoUtil;
 import org.folio.dao.util.RecordType;
 import org.folio.dao.util.SnapshotDaoUtil;
+import org.folio.dao.util.TotalRecordsMode;
 import org.folio.rest.jaxrs.model.ErrorRecord;
 import org.folio.rest.jaxrs.model.ParsedRecord;
+import org.folio.rest.jaxrs.model.ParsedRecordsBatchResponse;
 import org.folio.rest.jaxrs.model.Record;
 import org.folio.rest.jaxrs.model.RecordCollection;
+import org.folio.rest.jaxrs.model.RecordsBatchResponse;
+import org.folio.rest.jaxrs.model.Snapshot;
 import org.folio.rest.jaxrs.model.SourceRecord;
 import org.folio.rest.jaxrs.model.SourceRecordCollection;
 import org.folio.rest.jooq.enums.JobExecutionStatus;
 import org.folio.rest.jooq.enums.RecordState;
 import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.EnumType;
 import org.jooq.Field;
 import org.jooq.Name;
 import org.jooq.OrderField;
+import org.jooq.Query;
 import org.jooq.SortOrder;
+import org.jooq.conf.ParamType;
+import org.jooq.conf.Settings;
+import org.jooq.impl.DSL;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import com.google.common.collect.Lists;
+
 import io.github.jklingsporn.vertx.jooq.classic.reactivepg.ReactiveClassicGenericQueryExecutor;
 import io.github.jklingsporn.vertx.jooq.shared.internal.QueryResult;
 import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
+import io.vertx.core.streams.WriteStream;
 import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowStream;
+import io.vertx.sqlclient.Transaction;
+import io.vertx.sqlclient.Tuple;
 
 @Component
 public class RecordDaoImpl implements RecordDao {
@@ -60,32 +96,83 @@ public class RecordDaoImpl implements RecordDao {
   private static final String CTE2 = "cte2";
   private static final String ID = "id";
   private static final String COUNT = "count";
+  private static final String SUPERSEDE_RECORD_FUNCTION = "supersede_record_lb";
   private static final String TABLE_FIELD_TEMPLATE = "{0}.{1}";
+  private static final String RECORD_NOT_FOUND_TEMPLATE = "Record with id %s was not found";
+  private static final String PARSED_RECORD_NOT_FOUND_TEMPLATE = "ParsedRecord with id '%s' was not found";
+  private static final String PARSED_RECORD_IS_MISSING_TEMPLATE = "Record with id %s does not contain parsed record";
+  private static final String INVALID_UUID_TEMPLATE = "Invalid UUID %s";
+  private static final String SNAPSHOT_NOT_FOUND_TEMPLATE = "Couldn't find snapshot with id %s";
+  private static final String SNAPSHOT_NOT_STARTED_MESSAGE_TEMPLATE = "Date when processing started is not set, expected snapshot status is PARSING_IN_PROGRESS, actual - %s";
+
+  private static final int STREAM_FETCH_SIZE = 100;
+
+  // keeps number of bind values of a single multi-row statement well below PostgreSQL limit
+  private static final int BATCH_CHUNK_SIZE = 1000;
+
+  private static final String SOURCE_RECORD_KEY_PREFIX = "source-";
 
   private final PostgresClientFactory postgresClientFactory;
+  private final RecordCache recordCache;
+  private final SnapshotCache snapshotCache;
+  private final CacheInvalidationBus cacheInvalidationBus;
+
+  // records changed within transactions started by executeInTransaction, evicted from cache once transaction is completed
+  private final Map<ReactiveClassicGenericQueryExecutor, List<Record>> transactionChanges = new ConcurrentHashMap<>();
 
-  @Autowired
   public RecordDaoImpl(final PostgresClientFactory postgresClientFactory) {
+    this(postgresClientFactory, new RecordCache());
+  }
+
+  public RecordDaoImpl(final PostgresClientFactory postgresClientFactory, final RecordCache recordCache) {
+    this(postgresClientFactory, recordCache, new SnapshotCache());
+  }
+
+  private RecordDaoImpl(final PostgresClientFactory postgresClientFactory, final RecordCache recordCache,
+                        final SnapshotCache snapshotCache) {
+    this(postgresClientFactory, recordCache, snapshotCache, new CacheInvalidationBus(recordCache, snapshotCache));
+  }
+
+  @Autowired
+  public RecordDaoImpl(final PostgresClientFactory postgresClientFactory, final RecordCache recordCache,
+                       final SnapshotCache snapshotCache, final CacheInvalidationBus cacheInvalidationBus) {
     this.postgresClientFactory = postgresClientFactory;
+    this.recordCache = recordCache;
+    this.snapshotCache = snapshotCache;
+    this.cacheInvalidationBus = cacheInvalidationBus;
   }
 
   @Override
   public <T> Future<T> executeInTransaction(Function<ReactiveClassicGenericQueryExecutor, Future<T>> action, String tenantId) {
-    return getQueryExecutor(tenantId).transaction(action);
+    if (!recordCache.isEnabled()) {
+      return getQueryExecutor(tenantId).transaction(action);
+    }
+    AtomicReference<ReactiveClassicGenericQueryExecutor> transaction = new AtomicReference<>();
+    return getQueryExecutor(tenantId).transaction(txQE -> {
+      transaction.set(txQE);
+      transactionChanges.put(txQE, Collections.synchronizedList(new ArrayList<>()));
+      return action.apply(txQE);
+    }).onComplete(ar -> Optional.ofNullable(transaction.get())
+      .map(transactionChanges::remove)
+      .ifPresent(changedRecords -> cacheInvalidationBus.invalidateRecords(tenantId, changedRecords)));
   }
 
   @Override
   public Future<RecordCollection> getRecords(Condition condition, Collection<OrderField<?>> orderFields, int offset, int limit, String tenantId) {
+    return getRecords(condition, orderFields, offset, limit, TotalRecordsMode.EXACT, tenantId);
+  }
+
+  @Override
+  public Future<RecordCollection> getRecords(Condition condition, Collection<OrderField<?>> orderFields, int offset, int limit,
+                                             TotalRecordsMode totalRecordsMode, String tenantId) {
     return getQueryExecutor(tenantId).transaction(txQE -> {
       RecordCollection recordCollection = new RecordCollection();
       recordCollection.withRecords(new ArrayList<>());
       return CompositeFuture.all(
         RecordDaoUtil.streamByCondition(txQE, condition, orderFields, offset, limit)
-          .compose(stream -> CompositeFuture.all(stream
-            .map(pr -> lookupAssociatedRecords(txQE, pr, true)
-            .map(r -> addToList(recordCollection.getRecords(), r)))
-            .collect(Collectors.toList()))),
-        RecordDaoUtil.countByCondition(txQE, condition)
+          .compose(stream -> lookupAssociatedRecords(txQE, stream.collect(Collectors.toList()), true))
+          .map(recordCollection::withRecords),
+        RecordDaoUtil.countByCondition(txQE, condition, totalRecordsMode)
           .map(totalRecords -> addTotalRecords(recordCollection, totalRecords))
       ).map(res -> recordCollection);
     });
@@ -93,7 +180,8 @@ public class RecordDaoImpl implements RecordDao {
 
   @Override
   public Future<Optional<Record>> getRecordById(String id, String tenantId) {
-    return getQueryExecutor(tenantId).transaction(txQE -> getRecordById(txQE, id));
+    return recordCache.get(tenantId, toCacheKey(id),
+      () -> getQueryExecutor(tenantId).transaction(txQE -> getRecordById(txQE, id)));
   }
 
   @Override
@@ -129,24 +217,95 @@ public class RecordDaoImpl implements RecordDao {
 
   @Override
   public Future<Record> saveRecord(Record record, String tenantId) {
-    return getQueryExecutor(tenantId).transaction(txQE -> saveRecord(txQE, record));
+    return getQueryExecutor(tenantId).transaction(txQE -> saveRecord(txQE, record))
+      .onSuccess(savedRecord -> cacheInvalidationBus.invalidateRecords(tenantId, Collections.singletonList(record)));
   }
 
   @Override
   public Future<Record> saveRecord(ReactiveClassicGenericQueryExecutor txQE, Record record) {
+    registerChanges(txQE, record);
     return insertOrUpdateRecord(txQE, record);
   }
 
+  @Override
+  public Future<RecordsBatchResponse> saveRecords(RecordCollection recordCollection, String tenantId) {
+    return getQueryExecutor(tenantId).transaction(txQE -> {
+      RecordsBatchResponse response = new RecordsBatchResponse();
+      // records of the collection are left unchanged, since they are saved one by one if the batch fails
+      List<Record> records = new ArrayList<>();
+      return findSnapshots(txQE, recordCollection.getRecords(), tenantId)
+        .compose(snapshots -> {
+          recordCollection.getRecords().forEach(record -> {
+            Snapshot snapshot = snapshots.get(record.getSnapshotId());
+            if (Objects.isNull(snapshot)) {
+              response.getErrorMessages().add(String.format(SNAPSHOT_NOT_FOUND_TEMPLATE, record.getSnapshotId()));
+            } else if (Objects.isNull(snapshot.getProcessingStartedDate())) {
+              response.getErrorMessages().add(String.format(SNAPSHOT_NOT_STARTED_MESSAGE_TEMPLATE, snapshot.getStatus()));
+            } else {
+              records.add(copyRecord(record));
+            }
+          });
+          return calculateGenerations(txQE, snapshots, records);
+        })
+        .map(v -> supersedeRecordsWithinBatch(records))
+        .compose(v -> markPreviousRecordsAsOld(txQE, records))
+        .compose(v -> insertRecords(txQE, records))
+        .map(savedRecords -> {
+          response.getRecords().addAll(savedRecords);
+          return response.withTotalRecords(savedRecords.size());
+        });
+    }).onSuccess(response -> cacheInvalidationBus.invalidateRecords(tenantId, response.getRecords()));
+  }
+
+  @Override
+  public Future<ParsedRecordsBatchResponse> updateParsedRecords(RecordCollection recordCollection, String tenantId) {
+    Map<Record, String> errorMessages = new IdentityHashMap<>();
+    List<Record> validRecords = new ArrayList<>();
+    recordCollection.getRecords().forEach(record -> {
+      String errorMessage = validateParsedRecordUpdate(record);
+      if (Objects.isNull(errorMessage)) {
+        validRecords.add(record);
+      } else {
+        errorMessages.put(record, errorMessage);
+      }
+    });
+    return getQueryExecutor(tenantId).transaction(txQE -> updateParsedRecords(txQE, validRecords, errorMessages))
+      .onSuccess(v -> cacheInvalidationBus.invalidateRecords(tenantId, validRecords))
+      .map(v -> {
+        ParsedRecordsBatchResponse response = new ParsedRecordsBatchResponse();
+        recordCollection.getRecords().forEach(record -> {
+          if (errorMessages.containsKey(record)) {
+            response.getErrorMessages().add(errorMessages.get(record));
+          } else {
+            response.getParsedRecords().add(record.getParsedRecord());
+          }
+        });
+        return response.withTotalRecords(response.getParsedRecords().size());
+      });
+  }
+
   @Override
   public Future<Record> updateRecord(Record record, String tenantId) {
     return getQueryExecutor(tenantId).transaction(txQE -> getRecordById(txQE, record.getId())
       .compose(optionalRecord -> optionalRecord
         .map(r -> saveRecord(txQE, record))
-        .orElse(Future.failedFuture(new NotFoundException(String.format("Record with id '%s' was not found", record.getId()))))));
+        .orElse(Future.failedFuture(new NotFoundException(String.format("Record with id '%s' was not found", record.getId()))))))
+      .onSuccess(updatedRecord -> cacheInvalidationBus.invalidateRecords(tenantId, Collections.singletonList(record)));
   }
 
   @Override
   public Future<SourceRecordCollection> getSourceRecords(Condition condition, Collection<OrderField<?>> orderFields, int offset, int limit, String tenantId) {
+    return getSourceRecords(condition, orderFields, offset, limit, TotalRecordsMode.EXACT, tenantId);
+  }
+
+  @Override
+  public Future<SourceRecordCollection> getSourceRecords(Condition condition, Collection<OrderField<?>> orderFields, int offset, int limit,
+                                                         TotalRecordsMode totalRecordsMode, String tenantId) {
+    if (totalRecordsMode != TotalRecordsMode.EXACT) {
+      Condition sourceRecordCondition = condition.and(RECORDS_LB.LEADER_RECORD_STATUS.isNotNull());
+      return getQueryExecutor(tenantId).transaction(txQE ->
+        findSourceRecords(txQE, sourceRecordCondition, trueCondition(), orderFields, offset, limit, totalRecordsMode));
+    }
     // NOTE: currently only record type available is MARC
     // having a dedicated table per record type has some complications
     // if a new record type is added, will have two options to continue using single query to fetch source records
@@ -172,13 +331,85 @@ public class RecordDaoImpl implements RecordDao {
         .orderBy(orderFields)
         .offset(offset)
         .limit(limit)))
-      .select()
+      .select(table(cte2).asterisk(), ParsedRecordDaoUtil.getRawContentField(recordType), field(name(COUNT)))
         .from(table(cte2))
         .innerJoin(table(prt)).on(recordIdField.eq(parsedRecordIdField))
         .rightJoin(dsl.selectCount().from(table(cte1))).on(trueCondition())
     )).map(this::toSourceRecordCollection);
   }
 
+  @Override
+  public Future<SourceRecordCollection> getSourceRecords(Condition condition, String afterId, int limit, TotalRecordsMode totalRecordsMode,
+                                                         String tenantId) {
+    Condition sourceRecordCondition = condition.and(RECORDS_LB.LEADER_RECORD_STATUS.isNotNull());
+    Condition keysetCondition = Objects.nonNull(afterId) ? RECORDS_LB.ID.greaterThan(UUID.fromString(afterId)) : trueCondition();
+    return getQueryExecutor(tenantId).transaction(txQE -> findSourceRecords(txQE, sourceRecordCondition, keysetCondition,
+      Collections.singletonList(RECORDS_LB.ID), 0, limit, totalRecordsMode));
+  }
+
+  @Override
+  public Future<Void> streamSourceRecords(Condition condition, Collection<OrderField<?>> orderFields, int offset, int limit,
+                                          String tenantId, WriteStream<SourceRecord> writeStream) {
+    RecordType recordType = RecordType.MARC;
+    Name prt = name(recordType.getTableName());
+    Field<UUID> parsedRecordIdField = field(TABLE_FIELD_TEMPLATE, UUID.class, prt, name(ID));
+    // bind values are rendered as postgres positional parameters $1, $2, ...
+    DSLContext dsl = DSL.using(PostgresClientFactory.configuration.derive(new Settings()
+      .withParamType(ParamType.NAMED)
+      .withRenderNamedParamPrefix("$")));
+    Query query = dsl.select(RECORDS_LB.asterisk(), ParsedRecordDaoUtil.getRawContentField(recordType))
+      .from(RECORDS_LB)
+      .innerJoin(table(prt)).on(RECORDS_LB.ID.eq(parsedRecordIdField))
+      .where(condition.and(RECORDS_LB.LEADER_RECORD_STATUS.isNotNull()))
+      .orderBy(orderFields)
+      .offset(offset)
+      .limit(limit);
+    String sql = dsl.render(query);
+    Tuple bindValues = Tuple.tuple();
+    // enum values are bound by their literal as postgres client does not know jOOQ enum types
+    query.getBindValues().forEach(value -> bindValues.addValue(value instanceof EnumType ? ((EnumType) value).getLiteral() : value));
+    return postgresClientFactory.withConnection(tenantId, connection -> {
+      Promise<Void> promise = Promise.promise();
+      // database cursor behind row stream exists only within transaction
+      Transaction transaction = connection.begin();
+      // row stream and write stream may both fail, transaction is completed only once
+      AtomicBoolean completed = new AtomicBoolean();
+      Handler<Throwable> failureHandler = e -> {
+        if (completed.compareAndSet(false, true)) {
+          transaction.rollback(rollbackAr -> {
+            if (rollbackAr.failed()) {
+              LOG.warn("Failed to rollback source records stream transaction", rollbackAr.cause());
+            }
+            promise.fail(e);
+          });
+        }
+      };
+      transaction.prepare(sql, preparedAr -> {
+        if (preparedAr.failed()) {
+          failureHandler.handle(preparedAr.cause());
+          return;
+        }
+        RowStream<Row> rowStream = preparedAr.result().createStream(STREAM_FETCH_SIZE, bindValues);
+        writeStream.exceptionHandler(e -> {
+          rowStream.close();
+          failureHandler.handle(e);
+        });
+        rowStream.exceptionHandler(failureHandler).endHandler(v -> {
+          if (completed.compareAndSet(false, true)) {
+            transaction.commit(promise);
+          }
+        }).handler(row -> {
+          writeStream.write(toSourceRecord(row));
+          if (writeStream.writeQueueFull()) {
+            rowStream.pause();
+            writeStream.drainHandler(drained -> rowStream.resume());
+          }
+        });
+      });
+      return promise.future();
+    });
+  }
+
   @Override
   public Future<SourceRecordCollection> getSourceRecords(List<String> externalIds, ExternalIdType externalIdType, Boolean deleted, String tenantId) {
     Condition condition = RecordDaoUtil.getExternalIdCondition(externalIds, externalIdType)
@@ -197,7 +428,7 @@ public class RecordDaoImpl implements RecordDao {
       .with(cte2.as(dsl.select()
         .from(RECORDS_LB)
         .where(condition.and(RECORDS_LB.LEADER_RECORD_STATUS.isNotNull()))))
-      .select()
+      .select(table(cte2).asterisk(), ParsedRecordDaoUtil.getRawContentField(recordType), field(name(COUNT)))
         .from(table(cte2))
         .innerJoin(table(prt)).on(recordIdField.eq(parsedRecordIdField))
         .rightJoin(dsl.selectCount().from(table(cte1))).on(trueCondition())
@@ -206,10 +437,8 @@ public class RecordDaoImpl implements RecordDao {
 
   @Override
   public Future<Optional<SourceRecord>> getSourceRecordById(String id, String tenantId) {
-    Condition condition = RECORDS_LB.MATCHED_ID.eq(UUID.fromString(id))
-      .and(RECORDS_LB.STATE.eq(RecordState.ACTUAL))
-      .and(RECORDS_LB.LEADER_RECORD_STATUS.isNotNull());
-    return getSourceRecordByCondition(condition, tenantId);
+    // source record id is matched id of the record
+    return getSourceRecordByExternalId(id, ExternalIdType.RECORD, tenantId);
   }
 
   @Override
@@ -217,48 +446,157 @@ public class RecordDaoImpl implements RecordDao {
     Condition condition = RecordDaoUtil.getExternalIdCondition(externalId, externalIdType)
       .and(RECORDS_LB.STATE.eq(RecordState.ACTUAL))
       .and(RECORDS_LB.LEADER_RECORD_STATUS.isNotNull());
-    return getSourceRecordByCondition(condition, tenantId);
+    return recordCache.get(tenantId, toCacheKey(SOURCE_RECORD_KEY_PREFIX + externalIdType, externalId),
+      () -> getRecordWithParsedRecordByCondition(condition, tenantId))
+        .map(optionalRecord -> optionalRecord.map(RecordDaoUtil::toSourceRecord));
   }
 
   @Override
   public Future<Optional<SourceRecord>> getSourceRecordByCondition(Condition condition, String tenantId) {
-    return getQueryExecutor(tenantId)
-      .transaction(txQE -> txQE.findOneRow(dsl -> dsl.selectFrom(RECORDS_LB)
-        .where(condition))
-          .map(RecordDaoUtil::toOptionalRecord)
-      .compose(optionalRecord -> {
-        if (optionalRecord.isPresent()) {
-          return lookupAssociatedRecords(txQE, optionalRecord.get(), false)
-            .map(RecordDaoUtil::toSourceRecord)
-            .map(sourceRecord -> {
-              if (Objects.nonNull(sourceRecord.getParsedRecord())) {
-                return Optional.of(sourceRecord);
-              }
-              return Optional.empty();
-            });
-        }
-        return Future.succeededFuture(Optional.empty());
-      }));
+    return getRecordWithParsedRecordByCondition(condition, tenantId)
+      .map(optionalRecord -> optionalRecord.map(RecordDaoUtil::toSourceRecord));
   }
 
   @Override
-  public Future<Integer> calculateGeneration(Record record, String tenantId) {
-    return getQueryExecutor(tenantId).transaction(txQE -> calculateGeneration(txQE, record));
+  public Future<Integer> supersedePreviousRecords(ReactiveClassicGenericQueryExecutor txQE, Record record, Date processingStartedDate) {
+    registerChanges(txQE, record);
+    OffsetDateTime processingStartedDateTime = Objects.nonNull(processingStartedDate)
+      ? processingStartedDate.toInstant().atOffset(ZoneOffset.UTC) : null;
+    return txQE.findOneRow(dsl -> dsl.select(DSL.function(SUPERSEDE_RECORD_FUNCTION, Integer.class,
+        DSL.val(UUID.fromString(record.getId())),
+        DSL.val(UUID.fromString(record.getMatchedId())),
+        DSL.val(processingStartedDateTime, OffsetDateTime.class),
+        DSL.val(record.getGeneration(), Integer.class)).as(RECORDS_LB.GENERATION.getName())))
+          .map(row -> row.getInteger(RECORDS_LB.GENERATION.getName()));
   }
 
   @Override
-  public Future<Integer> calculateGeneration(ReactiveClassicGenericQueryExecutor txQE, Record record) {
-    return txQE.query(dsl -> dsl.select(max(RECORDS_LB.GENERATION).as(RECORDS_LB.GENERATION))
+  public Future<Integer> markRecordsAsOldByInstanceId(String instanceId, String snapshotId, String tenantId) {
+    return getQueryExecutor(tenantId).execute(dsl -> dsl.update(RECORDS_LB)
+      .set(RECORDS_LB.STATE, RecordState.OLD)
+      .where(RECORDS_LB.INSTANCE_ID.eq(UUID.fromString(instanceId))
+        .and(RECORDS_LB.SNAPSHOT_ID.notEqual(UUID.fromString(snapshotId)))))
+      .onSuccess(updated -> cacheInvalidationBus.invalidate(tenantId, CacheEntityType.RECORD, Collections.singletonList(instanceId)));
+  }
+
+  @Override
+  public Future<Integer> markRecordsAsOldByInstanceIds(List<String> instanceIds, String snapshotId, String tenantId) {
+    List<UUID> ids = instanceIds.stream().map(UUID::fromString).collect(Collectors.toList());
+    return getQueryExecutor(tenantId).execute(dsl -> dsl.update(RECORDS_LB)
+      .set(RECORDS_LB.STATE, RecordState.OLD)
+      .where(RECORDS_LB.INSTANCE_ID.in(ids)
+        .and(RECORDS_LB.SNAPSHOT_ID.notEqual(UUID.fromString(snapshotId)))))
+      .onSuccess(updated -> cacheInvalidationBus.invalidate(tenantId, CacheEntityType.RECORD, instanceIds));
+  }
+
+  @Override
+  public Future<Map<String, List<String>>> getRecordIdsByMatchField(MatchField matchField, Collection<String> values, String tenantId) {
+    if (values.isEmpty()) {
+      return Future.succeededFuture(Collections.emptyMap());
+    }
+    return RecordDaoUtil.findIdsByMatchField(getQueryExecutor(tenantId), matchField, values);
+  }
+
+  @Override
+  public Future<List<String>> getInstanceIdsBySnapshotId(String snapshotId, String afterInstanceId, int limit, String tenantId) {
+    Condition condition = RECORDS_LB.SNAPSHOT_ID.eq(UUID.fromString(snapshotId))
+      .and(RECORDS_LB.INSTANCE_ID.isNotNull());
+    Condition pageCondition = Objects.nonNull(afterInstanceId)
+      ? condition.and(RECORDS_LB.INSTANCE_ID.greaterThan(UUID.fromString(afterInstanceId)))
+      : condition;
+    return getQueryExecutor(tenantId).findManyRow(dsl -> dsl.selectDistinct(RECORDS_LB.INSTANCE_ID)
+      .from(RECORDS_LB)
+      .where(pageCondition)
+      .orderBy(RECORDS_LB.INSTANCE_ID)
+      .limit(limit))
+        .map(rows -> rows.stream()
+          .map(row -> row.getUUID(RECORDS_LB.INSTANCE_ID.getName()).toString())
+          .collect(Collectors.toList()));
+  }
+
+  private Future<Void> calculateGenerations(ReactiveClassicGenericQueryExecutor txQE, Map<String, Snapshot> snapshots,
+                                            List<Record> records) {
+    Map<String, List<Record>> recordsBySnapshotId = records.stream()
+      .filter(record -> Objects.isNull(record.getGeneration()))
+      .collect(Collectors.groupingBy(Record::getSnapshotId, LinkedHashMap::new, Collectors.toList()));
+    Future<Void> future = Future.succeededFuture();
+    for (Map.Entry<String, List<Record>> entry : recordsBySnapshotId.entrySet()) {
+      Snapshot snapshot = snapshots.get(entry.getKey());
+      future = future.compose(v -> calculateGenerations(txQE, snapshot.getProcessingStartedDate(), entry.getValue()));
+    }
+    return future;
+  }
+
+  private Future<Void> calculateGenerations(ReactiveClassicGenericQueryExecutor txQE, Date processingStartedDate, List<Record> records) {
+    List<UUID> matchedIds = records.stream()
+      .map(record -> UUID.fromString(record.getMatchedId()))
+      .distinct()
+      .collect(Collectors.toList());
+    return txQE.findManyRow(dsl -> dsl.select(RECORDS_LB.MATCHED_ID, max(RECORDS_LB.GENERATION).as(RECORDS_LB.GENERATION))
       .from(RECORDS_LB.innerJoin(SNAPSHOTS_LB).on(RECORDS_LB.SNAPSHOT_ID.eq(SNAPSHOTS_LB.ID)))
-      .where(RECORDS_LB.MATCHED_ID.eq(UUID.fromString(record.getMatchedId()))
-        .and(SNAPSHOTS_LB.STATUS.eq(JobExecutionStatus.COMMITTED))
-        .and(SNAPSHOTS_LB.UPDATED_DATE.lessThan(dsl.select(SNAPSHOTS_LB.PROCESSING_STARTED_DATE)
-          .from(SNAPSHOTS_LB)
-          .where(SNAPSHOTS_LB.ID.eq(UUID.fromString(record.getSnapshotId())))))))
-            .map(res -> {
-              Integer generation = res.get(RECORDS_LB.GENERATION);
-              return Objects.nonNull(generation) ? ++generation : 0;
-            });
+      .where(RECORDS_LB.MATCHED_ID.in(matchedIds)
+        .and(committedBefore(processingStartedDate)))
+      .groupBy(RECORDS_LB.MATCHED_ID))
+        .map(rows -> {
+          Map<String, Integer> generations = new HashMap<>();
+          rows.forEach(row -> generations.put(row.getUUID(RECORDS_LB.MATCHED_ID.getName()).toString(),
+            row.getInteger(RECORDS_LB.GENERATION.getName())));
+          // records of the batch with the same matchedId follow each other as next generations, in order of the batch
+          records.forEach(record -> {
+            Integer generation = generations.get(record.getMatchedId());
+            int nextGeneration = Objects.nonNull(generation) ? generation + 1 : 0;
+            generations.put(record.getMatchedId(), nextGeneration);
+            record.withGeneration(nextGeneration);
+          });
+          return null;
+        });
+  }
+
+  /**
+   * Marks ACTUAL or DELETED records of the batch superseded by a later record of the batch with the same matchedId
+   * as OLD, as saving them one by one would do
+   */
+  private Void supersedeRecordsWithinBatch(List<Record> records) {
+    Map<String, Record> latestRecords = new HashMap<>();
+    records.forEach(record -> {
+      Record superseded = latestRecords.put(record.getMatchedId(), record);
+      if (Objects.nonNull(superseded)
+        && (superseded.getState() == Record.State.ACTUAL || superseded.getState() == Record.State.DELETED)) {
+        superseded.withState(Record.State.OLD);
+      }
+    });
+    return null;
+  }
+
+  /**
+   * Previous generations of a record are records of snapshots committed before processing of its snapshot started,
+   * processing started date of the snapshot is passed as a value instead of a correlated subquery
+   */
+  private Condition committedBefore(Date processingStartedDate) {
+    if (Objects.isNull(processingStartedDate)) {
+      return DSL.falseCondition();
+    }
+    return SNAPSHOTS_LB.STATUS.eq(JobExecutionStatus.COMMITTED)
+      .and(SNAPSHOTS_LB.UPDATED_DATE.lessThan(processingStartedDate.toInstant().atOffset(ZoneOffset.UTC)));
+  }
+
+  private Future<Integer> markPreviousRecordsAsOld(ReactiveClassicGenericQueryExecutor txQE, List<Record> records) {
+    List<UUID> matchedIds = records.stream()
+      .filter(record -> record.getGeneration() > 0)
+      .map(record -> UUID.fromString(record.getMatchedId()))
+      .distinct()
+      .collect(Collectors.toList());
+    if (matchedIds.isEmpty()) {
+      return Future.succeededFuture(0);
+    }
+    List<UUID> ids = records.stream()
+      .map(record -> UUID.fromString(record.getId()))
+      .collect(Collectors.toList());
+    return txQE.execute(dsl -> dsl.update(RECORDS_LB)
+      .set(RECORDS_LB.STATE, RecordState.OLD)
+      .where(RECORDS_LB.MATCHED_ID.in(matchedIds)
+        .and(RECORDS_LB.STATE.in(RecordState.ACTUAL, RecordState.DELETED))
+        .and(RECORDS_LB.ID.notIn(ids))));
   }
 
   @Override
@@ -266,14 +604,15 @@ public class RecordDaoImpl implements RecordDao {
     return getQueryExecutor(tenantId).transaction(txQE -> CompositeFuture.all(
       updateExternalIdsForRecord(txQE, record),
       ParsedRecordDaoUtil.update(txQE, record.getParsedRecord(), ParsedRecordDaoUtil.toRecordType(record))
-    ).map(res -> record.getParsedRecord()));
+    ).map(res -> record.getParsedRecord()))
+      .onSuccess(parsedRecord -> cacheInvalidationBus.invalidateRecords(tenantId, Collections.singletonList(record)));
   }
 
   @Override
   public Future<Optional<Record>> getRecordByExternalId(String externalId, ExternalIdType externalIdType,
       String tenantId) {
-    return getQueryExecutor(tenantId)
-      .transaction(txQE -> getRecordByExternalId(txQE, externalId, externalIdType));
+    return recordCache.get(tenantId, toCacheKey(externalIdType.toString(), externalId), () -> getQueryExecutor(tenantId)
+      .transaction(txQE -> getRecordByExternalId(txQE, externalId, externalIdType)));
   }
 
   @Override
@@ -292,11 +631,14 @@ public class RecordDaoImpl implements RecordDao {
 
   @Override
   public Future<Record> saveUpdatedRecord(Record newRecord, Record oldRecord, String tenantId) {
-    return getQueryExecutor(tenantId).transaction(txQE -> saveUpdatedRecord(txQE, newRecord, oldRecord));
+    return getQueryExecutor(tenantId).transaction(txQE -> saveUpdatedRecord(txQE, newRecord, oldRecord))
+      .onSuccess(savedRecord -> cacheInvalidationBus.invalidateRecords(tenantId, Arrays.asList(newRecord, oldRecord)));
   }
 
   @Override
   public Future<Record> saveUpdatedRecord(ReactiveClassicGenericQueryExecutor txQE, Record newRecord, Record oldRecord) {
+    registerChanges(txQE, newRecord);
+    registerChanges(txQE, oldRecord);
     return insertOrUpdateRecord(txQE, oldRecord).compose(r -> insertOrUpdateRecord(txQE, newRecord));
   }
 
@@ -307,21 +649,60 @@ public class RecordDaoImpl implements RecordDao {
       .compose(optionalRecord -> optionalRecord
         .map(record -> RecordDaoUtil.update(txQE, record.withAdditionalInfo(record.getAdditionalInfo().withSuppressDiscovery(suppress))))
       .orElse(Future.failedFuture(new NotFoundException(String.format("Record with %s id: %s was not found", idType, id))))))
+        .onSuccess(updated -> cacheInvalidationBus.invalidate(tenantId, CacheEntityType.RECORD, Collections.singletonList(id)))
         .map(u -> true);
   }
 
   @Override
   public Future<Boolean> deleteRecordsBySnapshotId(String snapshotId, String tenantId) {
-    return SnapshotDaoUtil.delete(getQueryExecutor(tenantId), snapshotId);
+    return SnapshotDaoUtil.delete(getQueryExecutor(tenantId), snapshotId)
+      .onComplete(ar -> {
+        cacheInvalidationBus.invalidate(tenantId, CacheEntityType.SNAPSHOT, Collections.singletonList(snapshotId));
+        cacheInvalidationBus.invalidateSnapshotRecords(tenantId, snapshotId);
+      });
+  }
+
+  @Override
+  public Future<Integer> deleteRecordsChunkBySnapshotId(String snapshotId, int chunkSize, String tenantId) {
+    return getQueryExecutor(tenantId).execute(dsl -> dsl.deleteFrom(RECORDS_LB)
+      .where(RECORDS_LB.ID.in(dsl.select(RECORDS_LB.ID)
+        .from(RECORDS_LB)
+        .where(RECORDS_LB.SNAPSHOT_ID.eq(UUID.fromString(snapshotId)))
+        .limit(chunkSize))))
+      .onComplete(ar -> cacheInvalidationBus.invalidateSnapshotRecords(tenantId, snapshotId));
   }
 
   private ReactiveClassicGenericQueryExecutor getQueryExecutor(String tenantId) {
     return postgresClientFactory.getQueryExecutor(tenantId);
   }
 
-  private Record addToList(List<Record> records, Record record) {
-    records.add(record);
-    return record;
+  private Future<Optional<Record>> getRecordWithParsedRecordByCondition(Condition condition, String tenantId) {
+    return getQueryExecutor(tenantId)
+      .transaction(txQE -> txQE.findOneRow(dsl -> dsl.selectFrom(RECORDS_LB)
+        .where(condition))
+          .map(RecordDaoUtil::toOptionalRecord)
+      .compose(optionalRecord -> {
+        if (optionalRecord.isPresent()) {
+          return lookupAssociatedRecords(txQE, optionalRecord.get(), false)
+            .map(record -> Objects.nonNull(record.getParsedRecord()) ? Optional.of(record) : Optional.<Record>empty());
+        }
+        return Future.succeededFuture(Optional.empty());
+      }));
+  }
+
+  private void registerChanges(ReactiveClassicGenericQueryExecutor txQE, Record record) {
+    List<Record> changedRecords = transactionChanges.get(txQE);
+    if (Objects.nonNull(changedRecords)) {
+      changedRecords.add(record);
+    }
+  }
+
+  private String toCacheKey(String id) {
+    return id.toLowerCase();
+  }
+
+  private String toCacheKey(String idType, String id) {
+    return idType + ":" + id.toLowerCase();
   }
 
   private RecordCollection addTotalRecords(RecordCollection recordCollection, Integer totalRecords) {
@@ -365,6 +746,36 @@ public class RecordDaoImpl implements RecordDao {
     return CompositeFuture.all(futures).map(res -> record);
   }
 
+  private Future<List<Record>> lookupAssociatedRecords(ReactiveClassicGenericQueryExecutor txQE, List<Record> records, boolean includeErrorRecord) {
+    if (records.isEmpty()) {
+      return Future.succeededFuture(records);
+    }
+    List<UUID> ids = records.stream()
+      .map(record -> UUID.fromString(record.getId()))
+      .collect(Collectors.toList());
+    @SuppressWarnings("squid:S3740")
+    List<Future> futures = new ArrayList<>();
+    futures.add(RawRecordDaoUtil.findByIds(txQE, ids).map(rawRecords -> {
+      records.forEach(record -> Optional.ofNullable(rawRecords.get(record.getId())).ifPresent(record::withRawRecord));
+      return records;
+    }));
+    Map<RecordType, List<UUID>> idsByRecordType = records.stream()
+      .collect(Collectors.groupingBy(ParsedRecordDaoUtil::toRecordType,
+        Collectors.mapping(record -> UUID.fromString(record.getId()), Collectors.toList())));
+    idsByRecordType.forEach((recordType, recordTypeIds) ->
+      futures.add(ParsedRecordDaoUtil.findByIds(txQE, recordTypeIds, recordType).map(parsedRecords -> {
+        records.forEach(record -> Optional.ofNullable(parsedRecords.get(record.getId())).ifPresent(record::withParsedRecord));
+        return records;
+      })));
+    if (includeErrorRecord) {
+      futures.add(ErrorRecordDaoUtil.findByIds(txQE, ids).map(errorRecords -> {
+        records.forEach(record -> Optional.ofNullable(errorRecords.get(record.getId())).ifPresent(record::withErrorRecord));
+        return records;
+      }));
+    }
+    return CompositeFuture.all(futures).map(res -> records);
+  }
+
   private Future<Record> insertOrUpdateRecord(ReactiveClassicGenericQueryExecutor txQE, Record record) {
     return RawRecordDaoUtil.save(txQE, record.getRawRecord())
       .compose(rawRecord -> {
@@ -393,24 +804,233 @@ public class RecordDaoImpl implements RecordDao {
       });
   }
 
+  private Future<List<Record>> insertRecords(ReactiveClassicGenericQueryExecutor txQE, List<Record> records) {
+    if (records.isEmpty()) {
+      return Future.succeededFuture(Collections.emptyList());
+    }
+    List<Record> recordsWithParsedRecord = records.stream()
+      .filter(record -> Objects.nonNull(record.getParsedRecord()))
+      .filter(this::validateParsedRecord)
+      .collect(Collectors.toList());
+    List<ErrorRecord> errorRecords = records.stream()
+      .map(Record::getErrorRecord)
+      .filter(Objects::nonNull)
+      .collect(Collectors.toList());
+    Map<String, Record> savedRecords = new HashMap<>();
+    return executeInChunks(records.stream().map(Record::getRawRecord).filter(Objects::nonNull).collect(Collectors.toList()),
+        chunk -> RawRecordDaoUtil.saveAll(txQE, chunk))
+      .compose(v -> {
+        Future<Void> future = Future.succeededFuture();
+        Map<RecordType, List<ParsedRecord>> parsedRecordsByType = recordsWithParsedRecord.stream()
+          .collect(Collectors.groupingBy(ParsedRecordDaoUtil::toRecordType, LinkedHashMap::new,
+            Collectors.mapping(Record::getParsedRecord, Collectors.toList())));
+        for (Map.Entry<RecordType, List<ParsedRecord>> entry : parsedRecordsByType.entrySet()) {
+          future = future.compose(ar -> executeInChunks(entry.getValue(), chunk -> ParsedRecordDaoUtil.saveAll(txQE, chunk, entry.getKey())));
+        }
+        return future;
+      })
+      .compose(v -> executeInChunks(errorRecords, chunk -> ErrorRecordDaoUtil.saveAll(txQE, chunk)))
+      .compose(v -> executeInChunks(records, chunk -> RecordDaoUtil.saveAll(txQE, chunk)
+        .map(saved -> {
+          saved.forEach(savedRecord -> savedRecords.put(savedRecord.getId(), savedRecord));
+          return saved;
+        })))
+      .map(v -> records.stream()
+        .map(record -> savedRecords.get(record.getId())
+          .withRawRecord(record.getRawRecord())
+          .withParsedRecord(record.getParsedRecord())
+          .withErrorRecord(record.getErrorRecord()))
+        .collect(Collectors.toList()));
+  }
+
+  private <T> Future<Void> executeInChunks(List<T> items, Function<List<T>, Future<?>> action) {
+    Future<Void> future = Future.succeededFuture();
+    for (List<T> chunk : Lists.partition(items, BATCH_CHUNK_SIZE)) {
+      future = future.compose(v -> action.apply(chunk).mapEmpty());
+    }
+    return future;
+  }
+
+  private Future<Map<String, Snapshot>> findSnapshots(ReactiveClassicGenericQueryExecutor txQE, List<Record> records,
+                                                      String tenantId) {
+    List<String> snapshotIds = records.stream()
+      .map(Record::getSnapshotId)
+      .filter(Objects::nonNull)
+      .distinct()
+      .collect(Collectors.toList());
+    Map<String, Snapshot> snapshots = new HashMap<>();
+    Future<Void> future = Future.succeededFuture();
+    for (String snapshotId : snapshotIds) {
+      future = future.compose(v -> snapshotCache.get(tenantId, snapshotId, () -> SnapshotDaoUtil.findById(txQE, snapshotId))
+        .map(optionalSnapshot -> {
+          optionalSnapshot.ifPresent(snapshot -> snapshots.put(snapshotId, snapshot));
+          return null;
+        }));
+    }
+    return future.map(snapshots);
+  }
+
+  /**
+   * Copies record, so that generation, state and parsed or error record replacement set on save are not set
+   * on the given record. Raw, parsed and error records are shared, saving them only normalizes parsed content
+   */
+  private Record copyRecord(Record record) {
+    return new Record()
+      .withId(record.getId())
+      .withSnapshotId(record.getSnapshotId())
+      .withMatchedId(record.getMatchedId())
+      .withGeneration(record.getGeneration())
+      .withRecordType(record.getRecordType())
+      .withState(record.getState())
+      .withOrder(record.getOrder())
+      .withLeaderRecordStatus(record.getLeaderRecordStatus())
+      .withRawRecord(record.getRawRecord())
+      .withParsedRecord(record.getParsedRecord())
+      .withErrorRecord(record.getErrorRecord())
+      .withAdditionalInfo(record.getAdditionalInfo())
+      .withExternalIdsHolder(record.getExternalIdsHolder())
+      .withMetadata(record.getMetadata());
+  }
+
   private Future<ParsedRecord> insertOrUpdateParsedRecord(ReactiveClassicGenericQueryExecutor txQE, Record record) {
+    if (validateParsedRecord(record)) {
+      return ParsedRecordDaoUtil.save(txQE, record.getParsedRecord(), ParsedRecordDaoUtil.toRecordType(record));
+    }
+    return Future.succeededFuture(null);
+  }
+
+  /**
+   * Reads MARC record of the record's {@link ParsedRecord} and fills its leader record status.
+   * If parsed record content cannot be read, parsed record is replaced with {@link ErrorRecord}.
+   * Formatted content is not persisted, so it is not rendered on save but on demand only.
+   *
+   * @param record record with parsed record
+   * @return true if parsed record is still present on the record
+   */
+  private boolean validateParsedRecord(Record record) {
     try {
-      String content = ParsedRecordDaoUtil.normalizeContent(record.getParsedRecord());
-      record.getParsedRecord().setFormattedContent(MarcUtil.marcJsonToTxtMarc(content));
-      return ParsedRecordDaoUtil.save(txQE, record.getParsedRecord(), ParsedRecordDaoUtil.toRecordType(record))
-        .map(parsedRecord -> {
-          record.withLeaderRecordStatus(ParsedRecordDaoUtil.getLeaderStatus(record.getParsedRecord()));
-          return parsedRecord;
-        });
+      MarcUtil.validateMarcJson(ParsedRecordDaoUtil.normalizeContent(record.getParsedRecord()));
+      record.withLeaderRecordStatus(ParsedRecordDaoUtil.getLeaderStatus(record.getParsedRecord()));
+      return true;
     } catch (Exception e) {
-      LOG.error("Couldn't format MARC record", e);
+      LOG.error("Couldn't read MARC record", e);
       record.withErrorRecord(new ErrorRecord()
         .withId(record.getId())
         .withDescription(e.getMessage())
         .withContent(record.getParsedRecord().getContent()));
       record.withParsedRecord(null)
         .withLeaderRecordStatus(null);
-      return Future.succeededFuture(null);
+      return false;
+    }
+  }
+
+  /**
+   * Checks existence of records and parsed records with a query per table, then updates external ids and metadata
+   * of all found records with a single statement and parsed records with a single statement per record type.
+   * Records which are not found are added to error messages
+   */
+  private Future<Void> updateParsedRecords(ReactiveClassicGenericQueryExecutor txQE, List<Record> records,
+                                           Map<Record, String> errorMessages) {
+    if (records.isEmpty()) {
+      return Future.succeededFuture();
+    }
+    Map<RecordType, List<Record>> recordsByType = records.stream()
+      .collect(Collectors.groupingBy(ParsedRecordDaoUtil::toRecordType, LinkedHashMap::new, Collectors.toList()));
+    List<UUID> recordIds = records.stream()
+      .map(record -> UUID.fromString(record.getId()))
+      .collect(Collectors.toList());
+    return RecordDaoUtil.findExistingIdsForUpdate(txQE, recordIds)
+      .compose(existingRecordIds -> {
+        Future<Void> future = Future.succeededFuture();
+        for (Map.Entry<RecordType, List<Record>> entry : recordsByType.entrySet()) {
+          List<UUID> parsedRecordIds = entry.getValue().stream()
+            .map(record -> UUID.fromString(record.getParsedRecord().getId()))
+            .collect(Collectors.toList());
+          future = future.compose(v -> ParsedRecordDaoUtil.findExistingIds(txQE, parsedRecordIds, entry.getKey())
+            .map(existingParsedRecordIds -> {
+              entry.getValue().forEach(record -> {
+                String parsedRecordId = record.getParsedRecord().getId();
+                if (!existingRecordIds.contains(UUID.fromString(record.getId()).toString())) {
+                  errorMessages.put(record, String.format(RECORD_NOT_FOUND_TEMPLATE, record.getId()));
+                } else if (!existingParsedRecordIds.contains(UUID.fromString(parsedRecordId).toString())) {
+                  errorMessages.put(record, String.format(PARSED_RECORD_NOT_FOUND_TEMPLATE, parsedRecordId));
+                }
+              });
+              return null;
+            }));
+        }
+        return future;
+      })
+      .compose(v -> {
+        List<Record> foundRecords = records.stream()
+          .filter(record -> !errorMessages.containsKey(record))
+          .collect(Collectors.toList());
+        if (foundRecords.isEmpty()) {
+          return Future.succeededFuture();
+        }
+        Future<Void> future = RecordDaoUtil.updateExternalIdsAndMetadata(txQE, foundRecords).mapEmpty();
+        for (Map.Entry<RecordType, List<Record>> entry : recordsByType.entrySet()) {
+          List<ParsedRecord> parsedRecords = entry.getValue().stream()
+            .filter(record -> !errorMessages.containsKey(record))
+            .map(Record::getParsedRecord)
+            .collect(Collectors.toList());
+          if (!parsedRecords.isEmpty()) {
+            future = future.compose(ar -> ParsedRecordDaoUtil.updateAll(txQE, parsedRecords, entry.getKey()).mapEmpty());
+          }
+        }
+        return future;
+      });
+  }
+
+  /**
+   * Validates ids of record and parsed record, ids of record which are updated with it, and normalizes parsed record
+   * content, so that a single invalid record can not fail the transaction of the whole batch
+   *
+   * @return error message, null if record is valid
+   */
+  private String validateParsedRecordUpdate(Record record) {
+    if (Objects.isNull(record.getParsedRecord())) {
+      return String.format(PARSED_RECORD_IS_MISSING_TEMPLATE, record.getId());
+    }
+    for (String id : Arrays.asList(record.getId(), record.getParsedRecord().getId())) {
+      if (!isValidUUID(id)) {
+        return String.format(INVALID_UUID_TEMPLATE, id);
+      }
+    }
+    List<String> optionalIds = new ArrayList<>();
+    Arrays.asList(record.getSnapshotId(), record.getMatchedId()).stream()
+      .filter(StringUtils::isNotEmpty)
+      .forEach(optionalIds::add);
+    if (Objects.nonNull(record.getExternalIdsHolder()) && StringUtils.isNotEmpty(record.getExternalIdsHolder().getInstanceId())) {
+      optionalIds.add(record.getExternalIdsHolder().getInstanceId());
+    }
+    if (Objects.nonNull(record.getMetadata())) {
+      Arrays.asList(record.getMetadata().getCreatedByUserId(), record.getMetadata().getUpdatedByUserId()).stream()
+        .filter(Objects::nonNull)
+        .forEach(optionalIds::add);
+    }
+    for (String id : optionalIds) {
+      if (!isValidUUID(id)) {
+        return String.format(INVALID_UUID_TEMPLATE, id);
+      }
+    }
+    try {
+      ParsedRecordDaoUtil.withNormalizedContent(record.getParsedRecord());
+      return null;
+    } catch (Exception e) {
+      return e.getMessage();
+    }
+  }
+
+  private boolean isValidUUID(String id) {
+    if (Objects.isNull(id)) {
+      return false;
+    }
+    try {
+      UUID.fromString(id);
+      return true;
+    } catch (IllegalArgumentException e) {
+      return false;
     }
   }
 
@@ -432,12 +1052,42 @@ public class RecordDaoImpl implements RecordDao {
       });
   }
 
+  private Future<SourceRecordCollection> findSourceRecords(ReactiveClassicGenericQueryExecutor txQE, Condition condition,
+      Condition keysetCondition, Collection<OrderField<?>> orderFields, int offset, int limit, TotalRecordsMode totalRecordsMode) {
+    RecordType recordType = RecordType.MARC;
+    Name prt = name(recordType.getTableName());
+    Field<UUID> parsedRecordIdField = field(TABLE_FIELD_TEMPLATE, UUID.class, prt, name(ID));
+    SourceRecordCollection sourceRecordCollection = new SourceRecordCollection();
+    return CompositeFuture.all(
+      txQE.findManyRow(dsl -> dsl.select(RECORDS_LB.asterisk(), ParsedRecordDaoUtil.getRawContentField(recordType))
+        .from(RECORDS_LB)
+        .innerJoin(table(prt)).on(RECORDS_LB.ID.eq(parsedRecordIdField))
+        .where(condition.and(keysetCondition))
+        .orderBy(orderFields)
+        .offset(offset)
+        .limit(limit))
+          .map(rows -> sourceRecordCollection.withSourceRecords(rows.stream()
+            .map(this::toSourceRecord)
+            .collect(Collectors.toList()))),
+      RecordDaoUtil.countByCondition(txQE, condition, totalRecordsMode)
+        .map(sourceRecordCollection::withTotalRecords)
+    ).map(res -> sourceRecordCollection);
+  }
+
+  /**
+   * Source record collections are read only, parsed record content is selected
+   * as text and passed to the response without parsing
+   */
+  private SourceRecord toSourceRecord(Row row) {
+    return RecordDaoUtil.toSourceRecord(RecordDaoUtil.toRecord(row))
+      .withParsedRecord(ParsedRecordDaoUtil.toRawParsedRecord(row));
+  }
+
   private SourceRecordCollection toSourceRecordCollection(QueryResult result) {
     SourceRecordCollection sourceRecordCollection = new SourceRecordCollection();
       List<SourceRecord> sourceRecords = result.stream().map(res -> asRow(res.unwrap())).map(row -> {
         sourceRecordCollection.setTotalRecords(row.getInteger(COUNT));
-        return RecordDaoUtil.toSourceRecord(RecordDaoUtil.toRecord(row))
-          .withParsedRecord(ParsedRecordDaoUtil.toParsedRecord(row));
+        return toSourceRecord(row);
       }).collect(Collectors.toList());
       if (Objects.nonNull(sourceRecords.get(0).getRecordId())) {
         sourceRecordCollection.withSourceRecords(sourceRecords);
@@ -5,6 +5,7 @@ import java.util.Optional;
 
 import org.folio.rest.jaxrs.model.Snapshot;
 import org.folio.rest.jaxrs.model.SnapshotCollection;
+import org.folio.rest.jaxrs.model.SnapshotDeletion;
 import org.jooq.Condition;
 import org.jooq.OrderField;
 
@@ -16,7 +17,8 @@ import io.vertx.core.Future;
 public interface SnapshotDao {
 
   /**
-   * Searches for {@link Snapshot} by {@link Condition} and ordered by collection of {@link OrderField} with offset and limit
+   * Searches for {@link Snapshot} by {@link Condition} and ordered by collection of {@link OrderField} with offset and limit.
+   * Snapshots which deletion is in progress are not returned
    * 
    * @param condition   query where condition
    * @param orderFields fields to order by
@@ -29,7 +31,7 @@ public interface SnapshotDao {
       int offset, int limit, String tenantId);
 
   /**
-   * Searches for {@link Snapshot} by id
+   * Searches for {@link Snapshot} by id. Snapshot which deletion is in progress is not returned
    *
    * @param id       Snapshot id
    * @param tenantId tenant id
@@ -64,4 +66,42 @@ public interface SnapshotDao {
    */
   Future<Boolean> deleteSnapshot(String id, String tenantId);
 
-}
\ No newline at end of file
+  /**
+   * Searches for {@link SnapshotDeletion} by snapshot id
+   *
+   * @param snapshotId snapshot id
+   * @param tenantId   tenant id
+   * @return future with optional {@link SnapshotDeletion}
+   */
+  Future<Optional<SnapshotDeletion>> getSnapshotDeletionById(String snapshotId, String tenantId);
+
+  /**
+   * Saves {@link SnapshotDeletion} to database
+   *
+   * @param snapshotDeletion {@link SnapshotDeletion} to save
+   * @param tenantId         tenant id
+   * @return future with saved entity
+   */
+  Future<SnapshotDeletion> saveSnapshotDeletion(SnapshotDeletion snapshotDeletion, String tenantId);
+
+  /**
+   * Saves {@link SnapshotDeletion} in progress unless other deletion of the snapshot is in progress.
+   * Deletion in progress which is not updated within SNAPSHOT_DELETION_TIMEOUT_MS is considered abandoned
+   * and is replaced, so that it is continued
+   *
+   * @param snapshotDeletion {@link SnapshotDeletion} in progress
+   * @param tenantId         tenant id
+   * @return future with saved entity, or empty optional if other deletion of the snapshot is in progress
+   */
+  Future<Optional<SnapshotDeletion>> startSnapshotDeletion(SnapshotDeletion snapshotDeletion, String tenantId);
+
+  /**
+   * Marks {@link SnapshotDeletion} in progress as alive, so that it is not considered abandoned
+   *
+   * @param snapshotId snapshot id
+   * @param tenantId   tenant id
+   * @return future with true if deletion is in progress
+   */
+  Future<Boolean> refreshSnapshotDeletion(String snapshotId, String tenantId);
+
+}
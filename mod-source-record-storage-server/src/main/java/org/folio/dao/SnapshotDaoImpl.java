@@ -1,12 +1,21 @@
 package org.folio.dao;
 
+import static org.folio.rest.jooq.Tables.SNAPSHOTS_LB;
+
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
 
+import org.folio.dao.cache.CacheEntityType;
+import org.folio.dao.cache.CacheInvalidationBus;
 import org.folio.dao.util.SnapshotDaoUtil;
+import org.folio.dao.util.SnapshotDeletionDaoUtil;
 import org.folio.rest.jaxrs.model.Snapshot;
 import org.folio.rest.jaxrs.model.SnapshotCollection;
+import org.folio.rest.jaxrs.model.SnapshotDeletion;
 import org.jooq.Condition;
 import org.jooq.OrderField;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,21 +29,28 @@ import io.vertx.core.Future;
 public class SnapshotDaoImpl implements SnapshotDao {
 
   private final PostgresClientFactory postgresClientFactory;
+  private final CacheInvalidationBus cacheInvalidationBus;
 
-  @Autowired
   public SnapshotDaoImpl(final PostgresClientFactory postgresClientFactory) {
+    this(postgresClientFactory, new CacheInvalidationBus());
+  }
+
+  @Autowired
+  public SnapshotDaoImpl(final PostgresClientFactory postgresClientFactory, final CacheInvalidationBus cacheInvalidationBus) {
     this.postgresClientFactory = postgresClientFactory;
+    this.cacheInvalidationBus = cacheInvalidationBus;
   }
 
   @Override
   public Future<SnapshotCollection> getSnapshots(Condition condition, Collection<OrderField<?>> orderFields,
       int offset, int limit, String tenantId) {
+    Condition visibleCondition = condition.and(SnapshotDeletionDaoUtil.filterSnapshotNotBeingDeleted());
     return getQueryExecutor(tenantId).transaction(txQE -> {
       SnapshotCollection snapshotCollection = new SnapshotCollection();
       return CompositeFuture.all(
-        SnapshotDaoUtil.findByCondition(txQE, condition, orderFields, offset, limit)
+        SnapshotDaoUtil.findByCondition(txQE, visibleCondition, orderFields, offset, limit)
           .map(snapshots -> addSnapshots(snapshotCollection, snapshots)),
-        SnapshotDaoUtil.countByCondition(txQE, condition)
+        SnapshotDaoUtil.countByCondition(txQE, visibleCondition)
           .map(totalRecords -> addTotalRecords(snapshotCollection,totalRecords))
       ).map(res -> snapshotCollection);
     });
@@ -42,22 +58,59 @@ public class SnapshotDaoImpl implements SnapshotDao {
 
   @Override
   public Future<Optional<Snapshot>> getSnapshotById(String id, String tenantId) {
-    return SnapshotDaoUtil.findById(getQueryExecutor(tenantId), id);
+    return SnapshotDaoUtil.findByCondition(getQueryExecutor(tenantId), SNAPSHOTS_LB.ID.eq(UUID.fromString(id))
+      .and(SnapshotDeletionDaoUtil.filterSnapshotNotBeingDeleted()));
   }
 
   @Override
   public Future<Snapshot> saveSnapshot(Snapshot snapshot, String tenantId) {
-    return SnapshotDaoUtil.save(getQueryExecutor(tenantId), snapshot);
+    return SnapshotDaoUtil.save(getQueryExecutor(tenantId), snapshot)
+      .onSuccess(savedSnapshot -> invalidateSnapshot(tenantId, snapshot.getJobExecutionId()));
   }
 
   @Override
   public Future<Snapshot> updateSnapshot(Snapshot snapshot, String tenantId) {
-    return SnapshotDaoUtil.update(getQueryExecutor(tenantId), snapshot);
+    return SnapshotDaoUtil.update(getQueryExecutor(tenantId), snapshot)
+      .onSuccess(updatedSnapshot -> invalidateSnapshot(tenantId, snapshot.getJobExecutionId()));
   }
 
   @Override
   public Future<Boolean> deleteSnapshot(String id, String tenantId) {
-    return SnapshotDaoUtil.delete(getQueryExecutor(tenantId), id);
+    return SnapshotDaoUtil.delete(getQueryExecutor(tenantId), id)
+      .onComplete(ar -> {
+        invalidateSnapshot(tenantId, id);
+        // records of the snapshot are deleted by cascade
+        cacheInvalidationBus.invalidateSnapshotRecords(tenantId, id);
+      });
+  }
+
+  @Override
+  public Future<Optional<SnapshotDeletion>> getSnapshotDeletionById(String snapshotId, String tenantId) {
+    return SnapshotDeletionDaoUtil.findById(getQueryExecutor(tenantId), snapshotId);
+  }
+
+  @Override
+  public Future<SnapshotDeletion> saveSnapshotDeletion(SnapshotDeletion snapshotDeletion, String tenantId) {
+    // snapshot being deleted is hidden from snapshot lookups
+    return SnapshotDeletionDaoUtil.save(getQueryExecutor(tenantId), snapshotDeletion)
+      .onSuccess(savedDeletion -> invalidateSnapshot(tenantId, snapshotDeletion.getJobExecutionId()));
+  }
+
+  @Override
+  public Future<Optional<SnapshotDeletion>> startSnapshotDeletion(SnapshotDeletion snapshotDeletion, String tenantId) {
+    return SnapshotDeletionDaoUtil.start(getQueryExecutor(tenantId), snapshotDeletion)
+      .onSuccess(startedDeletion -> invalidateSnapshot(tenantId, snapshotDeletion.getJobExecutionId()));
+  }
+
+  @Override
+  public Future<Boolean> refreshSnapshotDeletion(String snapshotId, String tenantId) {
+    return SnapshotDeletionDaoUtil.touch(getQueryExecutor(tenantId), snapshotId);
+  }
+
+  private void invalidateSnapshot(String tenantId, String snapshotId) {
+    if (Objects.nonNull(snapshotId)) {
+      cacheInvalidationBus.invalidate(tenantId, CacheEntityType.SNAPSHOT, Collections.singletonList(snapshotId));
+    }
   }
 
   private ReactiveClassicGenericQueryExecutor getQueryExecutor(String tenantId) {
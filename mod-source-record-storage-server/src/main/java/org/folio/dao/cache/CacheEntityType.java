@@ -0,0 +1,23 @@
+package org.folio.dao.cache;
+
+/**
+ * Type of entities changed by module instance, invalidation events of each type carry ids of changed entities
+ */
+public enum CacheEntityType {
+
+  /**
+   * Records, ids are record ids, matched ids or instance ids
+   */
+  RECORD,
+
+  /**
+   * Records of snapshots, ids are snapshot ids
+   */
+  SNAPSHOT_RECORDS,
+
+  /**
+   * Snapshots, ids are snapshot ids
+   */
+  SNAPSHOT
+
+}
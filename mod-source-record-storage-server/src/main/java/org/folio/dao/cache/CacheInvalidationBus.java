@@ -0,0 +1,152 @@
+package org.folio.dao.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+import org.folio.rest.jaxrs.model.Record;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Applies changes of records and snapshots to local caches and publishes them on the event bus, so that
+ * other module instances of a clustered Vert.x evict their entries as well. Events of this instance are applied
+ * synchronously and ignored when received from the event bus. Events are published only if any of local caches
+ * depends on entities of their type, so caches are expected to be configured the same way on all module instances
+ */
+@Component
+public class CacheInvalidationBus {
+
+  private static final Logger LOG = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+  public static final String ADDRESS = "srs.cache.invalidation";
+
+  private static final String INSTANCE_ID = "instanceId";
+  private static final String TENANT_ID = "tenantId";
+  private static final String ENTITY_TYPE = "entityType";
+  private static final String IDS = "ids";
+
+  private final Vertx vertx;
+  private final List<CacheInvalidationListener> listeners;
+  private final Set<CacheEntityType> enabledEntityTypes = EnumSet.noneOf(CacheEntityType.class);
+  private final String instanceId = UUID.randomUUID().toString();
+
+  /**
+   * Creates invalidation bus publishing changes on the event bus of given Vert.x instance
+   *
+   * @param vertx     vertx
+   * @param listeners local caches
+   */
+  @Autowired
+  public CacheInvalidationBus(Vertx vertx, List<CacheInvalidationListener> listeners) {
+    this.vertx = vertx;
+    this.listeners = listeners;
+    enableEntityTypes();
+    if (!enabledEntityTypes.isEmpty()) {
+      vertx.eventBus().<JsonObject>consumer(ADDRESS, message -> handle(message.body()));
+    }
+  }
+
+  /**
+   * Creates local invalidation bus applying changes to given caches only, e.g. for single module instance
+   *
+   * @param listeners local caches
+   */
+  public CacheInvalidationBus(CacheInvalidationListener... listeners) {
+    this.vertx = null;
+    this.listeners = Arrays.asList(listeners);
+    enableEntityTypes();
+  }
+
+  /**
+   * Evicts cached entries of changed entities on all module instances
+   *
+   * @param tenantId   tenant id
+   * @param entityType type of changed entities
+   * @param ids        ids of changed entities
+   */
+  public void invalidate(String tenantId, CacheEntityType entityType, Collection<String> ids) {
+    if (!enabledEntityTypes.contains(entityType) || ids.isEmpty()) {
+      return;
+    }
+    apply(tenantId, entityType, ids);
+    if (Objects.nonNull(vertx)) {
+      vertx.eventBus().publish(ADDRESS, new JsonObject()
+        .put(INSTANCE_ID, instanceId)
+        .put(TENANT_ID, tenantId)
+        .put(ENTITY_TYPE, entityType.name())
+        .put(IDS, new JsonArray(new ArrayList<>(ids))));
+    }
+  }
+
+  /**
+   * Evicts cached entries of changed records, their previous and next generations on all module instances
+   *
+   * @param tenantId tenant id
+   * @param records  changed records
+   */
+  public void invalidateRecords(String tenantId, Collection<Record> records) {
+    if (!enabledEntityTypes.contains(CacheEntityType.RECORD)) {
+      return;
+    }
+    Set<String> ids = new HashSet<>();
+    records.forEach(record -> {
+      ids.add(record.getId());
+      ids.add(record.getMatchedId());
+      if (Objects.nonNull(record.getExternalIdsHolder())) {
+        ids.add(record.getExternalIdsHolder().getInstanceId());
+      }
+    });
+    ids.remove(null);
+    invalidate(tenantId, CacheEntityType.RECORD, ids);
+  }
+
+  /**
+   * Evicts cached records of the snapshot on all module instances, e.g. when records of the snapshot are deleted
+   *
+   * @param tenantId   tenant id
+   * @param snapshotId snapshot id
+   */
+  public void invalidateSnapshotRecords(String tenantId, String snapshotId) {
+    invalidate(tenantId, CacheEntityType.SNAPSHOT_RECORDS, Collections.singletonList(snapshotId));
+  }
+
+  private void enableEntityTypes() {
+    for (CacheEntityType entityType : CacheEntityType.values()) {
+      if (listeners.stream().anyMatch(listener -> listener.isEnabled(entityType))) {
+        enabledEntityTypes.add(entityType);
+      }
+    }
+  }
+
+  private void handle(JsonObject event) {
+    if (instanceId.equals(event.getString(INSTANCE_ID))) {
+      return;
+    }
+    try {
+      List<String> ids = new ArrayList<>();
+      event.getJsonArray(IDS).forEach(id -> ids.add((String) id));
+      apply(event.getString(TENANT_ID), CacheEntityType.valueOf(event.getString(ENTITY_TYPE)), ids);
+    } catch (RuntimeException e) {
+      LOG.error("Failed to apply cache invalidation event {}", e, event);
+    }
+  }
+
+  private void apply(String tenantId, CacheEntityType entityType, Collection<String> ids) {
+    listeners.forEach(listener -> listener.invalidate(tenantId, entityType, ids));
+  }
+
+}
@@ -0,0 +1,26 @@
+package org.folio.dao.cache;
+
+import java.util.Collection;
+
+/**
+ * Local cache evicting its entries on changes made by this or other module instances
+ */
+public interface CacheInvalidationListener {
+
+  /**
+   * @param entityType type of changed entities
+   * @return true if cached entries depend on entities of given type, invalidation events of the type are not published
+   * when none of local caches depends on them
+   */
+  boolean isEnabled(CacheEntityType entityType);
+
+  /**
+   * Evicts entries of changed entities
+   *
+   * @param tenantId   tenant id
+   * @param entityType type of changed entities
+   * @param ids        ids of changed entities
+   */
+  void invalidate(String tenantId, CacheEntityType entityType, Collection<String> ids);
+
+}
@@ -0,0 +1,183 @@
+package org.folio.dao.cache;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.folio.metrics.MetricsUtil;
+import org.folio.rest.jaxrs.model.Record;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Tags;
+import io.vertx.core.Future;
+import io.vertx.core.json.Json;
+
+/**
+ * Optional per-tenant cache of ACTUAL records assembled with raw and parsed records, used by lookups of a single record
+ * by id or external id. Cache is enabled when RECORDS_CACHE_MAX_SIZE is positive, entries expire RECORDS_CACHE_TTL_MS
+ * after they are cached. Entries are evicted on changes of records with the same id, matched id or instance id
+ * and on deletion of records of a snapshot, published by {@link CacheInvalidationBus}. Records are kept as json,
+ * so each lookup returns a new instance
+ */
+@Component
+public class RecordCache implements CacheInvalidationListener {
+
+  private static final long MAX_SIZE = Long.parseLong(System.getProperty("RECORDS_CACHE_MAX_SIZE", "0"));
+  private static final long TTL = Long.parseLong(System.getProperty("RECORDS_CACHE_TTL_MS", "60000"));
+  private static final String HIT = "hit";
+  private static final String MISS = "miss";
+
+  private final long maxSize;
+  private final long ttl;
+  private final Map<String, TenantCache> tenantCaches = new ConcurrentHashMap<>();
+
+  public RecordCache() {
+    this(MAX_SIZE, TTL);
+  }
+
+  /**
+   * @param maxSize maximum number of cached records per tenant, cache is disabled if not positive
+   * @param ttl     time in milliseconds after which cached record expires
+   */
+  public RecordCache(long maxSize, long ttl) {
+    this.maxSize = maxSize;
+    this.ttl = ttl;
+  }
+
+  /**
+   * @return true if records are cached
+   */
+  public boolean isEnabled() {
+    return maxSize > 0;
+  }
+
+  @Override
+  public boolean isEnabled(CacheEntityType entityType) {
+    return isEnabled() && entityType != CacheEntityType.SNAPSHOT;
+  }
+
+  /**
+   * Get record by key from cache of the tenant. On cache miss record is loaded and cached if its state is ACTUAL,
+   * record is not cached if records of the tenant are changed while it is loaded
+   *
+   * @param tenantId tenant id
+   * @param key      lookup key, e.g. id prefixed with its type
+   * @param loader   loads record from the database
+   * @return future with optional record
+   */
+  public Future<Optional<Record>> get(String tenantId, String key, Supplier<Future<Optional<Record>>> loader) {
+    if (!isEnabled()) {
+      return loader.get();
+    }
+    TenantCache tenantCache = tenantCaches.computeIfAbsent(tenantId, TenantCache::new);
+    CachedRecord cachedRecord = tenantCache.entries.getIfPresent(key);
+    if (Objects.nonNull(cachedRecord)) {
+      tenantCache.hits.increment();
+      return Future.succeededFuture(Optional.of(Json.decodeValue(cachedRecord.json, Record.class)));
+    }
+    tenantCache.misses.increment();
+    long version = tenantCache.getVersion();
+    return loader.get().map(optionalRecord -> {
+      optionalRecord
+        .filter(record -> record.getState() == Record.State.ACTUAL)
+        .ifPresent(record -> tenantCache.put(key, new CachedRecord(record), version));
+      return optionalRecord;
+    });
+  }
+
+  /**
+   * Evicts cached records having one of given ids as id, matched id or instance id,
+   * or cached records of given snapshots
+   *
+   * @param tenantId   tenant id
+   * @param entityType type of changed entities
+   * @param ids        ids of changed entities
+   */
+  @Override
+  public void invalidate(String tenantId, CacheEntityType entityType, Collection<String> ids) {
+    TenantCache tenantCache = tenantCaches.get(tenantId);
+    if (Objects.isNull(tenantCache) || !isEnabled(entityType)) {
+      return;
+    }
+    Set<String> idSet = new HashSet<>();
+    ids.stream().filter(Objects::nonNull).forEach(id -> idSet.add(id.toLowerCase()));
+    if (entityType == CacheEntityType.SNAPSHOT_RECORDS) {
+      tenantCache.invalidate(cachedRecord -> idSet.contains(cachedRecord.snapshotId));
+    } else {
+      tenantCache.invalidate(cachedRecord -> idSet.contains(cachedRecord.id) || idSet.contains(cachedRecord.matchedId)
+        || idSet.contains(cachedRecord.instanceId));
+    }
+  }
+
+  private class TenantCache {
+
+    private final Cache<String, CachedRecord> entries = CacheBuilder.newBuilder()
+      .maximumSize(maxSize)
+      .expireAfterWrite(ttl, TimeUnit.MILLISECONDS)
+      .build();
+    private final Counter hits;
+    private final Counter misses;
+    // incremented on each invalidation, records loaded before invalidation are not cached
+    private long version;
+
+    private TenantCache(String tenantId) {
+      Tags tags = MetricsUtil.tenantTags(tenantId);
+      hits = Counter.builder(MetricsUtil.RECORDS_CACHE_COUNTER)
+        .tags(tags.and(MetricsUtil.OUTCOME_TAG, HIT))
+        .description("Lookups of records in records cache")
+        .register(MetricsUtil.getRegistry());
+      misses = Counter.builder(MetricsUtil.RECORDS_CACHE_COUNTER)
+        .tags(tags.and(MetricsUtil.OUTCOME_TAG, MISS))
+        .description("Lookups of records in records cache")
+        .register(MetricsUtil.getRegistry());
+    }
+
+    private synchronized long getVersion() {
+      return version;
+    }
+
+    private synchronized void put(String key, CachedRecord cachedRecord, long loadedVersion) {
+      if (version == loadedVersion) {
+        entries.put(key, cachedRecord);
+      }
+    }
+
+    private synchronized void invalidate(Predicate<CachedRecord> predicate) {
+      version++;
+      entries.asMap().values().removeIf(predicate);
+    }
+  }
+
+  private static class CachedRecord {
+
+    private final String id;
+    private final String matchedId;
+    private final String instanceId;
+    private final String snapshotId;
+    private final String json;
+
+    private CachedRecord(Record record) {
+      id = toLowerCase(record.getId());
+      matchedId = toLowerCase(record.getMatchedId());
+      instanceId = Objects.nonNull(record.getExternalIdsHolder()) ? toLowerCase(record.getExternalIdsHolder().getInstanceId()) : null;
+      snapshotId = toLowerCase(record.getSnapshotId());
+      json = Json.encode(record);
+    }
+
+    private static String toLowerCase(String id) {
+      return Objects.nonNull(id) ? id.toLowerCase() : null;
+    }
+  }
+
+}
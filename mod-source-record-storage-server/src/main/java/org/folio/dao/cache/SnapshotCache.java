@@ -0,0 +1,115 @@
+package org.folio.dao.cache;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.folio.rest.jaxrs.model.Snapshot;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.Json;
+
+/**
+ * Short-lived per-tenant cache of snapshots looked up for each saved record, e.g. to check processing started date.
+ * Only snapshots with processing started date are cached, entries expire SNAPSHOTS_CACHE_TTL_MS after they are cached
+ * and are evicted on changes of snapshots published by {@link CacheInvalidationBus}. Cache is disabled
+ * if SNAPSHOTS_CACHE_MAX_SIZE is not positive. Snapshots are kept as json, so each lookup returns a new instance
+ */
+@Component
+public class SnapshotCache implements CacheInvalidationListener {
+
+  private static final long MAX_SIZE = Long.parseLong(System.getProperty("SNAPSHOTS_CACHE_MAX_SIZE", "100"));
+  private static final long TTL = Long.parseLong(System.getProperty("SNAPSHOTS_CACHE_TTL_MS", "10000"));
+
+  private final long maxSize;
+  private final long ttl;
+  private final Map<String, TenantCache> tenantCaches = new ConcurrentHashMap<>();
+
+  public SnapshotCache() {
+    this(MAX_SIZE, TTL);
+  }
+
+  /**
+   * @param maxSize maximum number of cached snapshots per tenant, cache is disabled if not positive
+   * @param ttl     time in milliseconds after which cached snapshot expires
+   */
+  public SnapshotCache(long maxSize, long ttl) {
+    this.maxSize = maxSize;
+    this.ttl = ttl;
+  }
+
+  @Override
+  public boolean isEnabled(CacheEntityType entityType) {
+    return maxSize > 0 && entityType == CacheEntityType.SNAPSHOT;
+  }
+
+  /**
+   * Get snapshot by id from cache of the tenant. On cache miss snapshot is loaded and cached if its processing
+   * started date is set, snapshot is not cached if snapshots of the tenant are changed while it is loaded
+   *
+   * @param tenantId   tenant id
+   * @param snapshotId snapshot id
+   * @param loader     loads snapshot from the database
+   * @return future with optional snapshot
+   */
+  public Future<Optional<Snapshot>> get(String tenantId, String snapshotId, Supplier<Future<Optional<Snapshot>>> loader) {
+    if (maxSize <= 0 || Objects.isNull(snapshotId)) {
+      return loader.get();
+    }
+    TenantCache tenantCache = tenantCaches.computeIfAbsent(tenantId, id -> new TenantCache());
+    String key = snapshotId.toLowerCase();
+    String json = tenantCache.entries.getIfPresent(key);
+    if (Objects.nonNull(json)) {
+      return Future.succeededFuture(Optional.of(Json.decodeValue(json, Snapshot.class)));
+    }
+    long version = tenantCache.getVersion();
+    return loader.get().map(optionalSnapshot -> {
+      optionalSnapshot
+        .filter(snapshot -> Objects.nonNull(snapshot.getProcessingStartedDate()))
+        .ifPresent(snapshot -> tenantCache.put(key, Json.encode(snapshot), version));
+      return optionalSnapshot;
+    });
+  }
+
+  @Override
+  public void invalidate(String tenantId, CacheEntityType entityType, Collection<String> ids) {
+    TenantCache tenantCache = tenantCaches.get(tenantId);
+    if (Objects.nonNull(tenantCache) && isEnabled(entityType)) {
+      tenantCache.invalidate(ids);
+    }
+  }
+
+  private class TenantCache {
+
+    private final Cache<String, String> entries = CacheBuilder.newBuilder()
+      .maximumSize(maxSize)
+      .expireAfterWrite(ttl, TimeUnit.MILLISECONDS)
+      .build();
+    // incremented on each invalidation, snapshots loaded before invalidation are not cached
+    private long version;
+
+    private synchronized long getVersion() {
+      return version;
+    }
+
+    private synchronized void put(String key, String json, long loadedVersion) {
+      if (version == loadedVersion) {
+        entries.put(key, json);
+      }
+    }
+
+    private synchronized void invalidate(Collection<String> ids) {
+      version++;
+      ids.stream().filter(Objects::nonNull).forEach(id -> entries.invalidate(id.toLowerCase()));
+    }
+  }
+
+}
@@ -1,16 +1,23 @@
 package org.folio.dao.util;
 
 import static org.folio.rest.jooq.Tables.ERROR_RECORDS_LB;
+import static org.jooq.impl.DSL.field;
+import static org.jooq.impl.DSL.name;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.folio.rest.jaxrs.model.ErrorRecord;
 import org.folio.rest.jooq.tables.mappers.RowMappers;
 import org.folio.rest.jooq.tables.pojos.ErrorRecordsLb;
 import org.folio.rest.jooq.tables.records.ErrorRecordsLbRecord;
+import org.jooq.InsertValuesStep3;
 
 import io.github.jklingsporn.vertx.jooq.classic.reactivepg.ReactiveClassicGenericQueryExecutor;
 import io.vertx.core.Future;
@@ -23,6 +30,8 @@ import io.vertx.sqlclient.RowSet;
  */
 public final class ErrorRecordDaoUtil {
 
+  private static final String EXCLUDED = "excluded";
+
   private ErrorRecordDaoUtil() { }
 
   /**
@@ -38,6 +47,21 @@ public final class ErrorRecordDaoUtil {
         .map(ErrorRecordDaoUtil::toOptionalErrorRecord);
   }
 
+  /**
+   * Searches for {@link ErrorRecord}s by ids with a single query using {@link ReactiveClassicGenericQueryExecutor}
+   *
+   * @param queryExecutor query executor
+   * @param ids           ids
+   * @return future with {@link Map} of ErrorRecord by id
+   */
+  public static Future<Map<String, ErrorRecord>> findByIds(ReactiveClassicGenericQueryExecutor queryExecutor, List<UUID> ids) {
+    return queryExecutor.findManyRow(dsl -> dsl.selectFrom(ERROR_RECORDS_LB)
+      .where(ERROR_RECORDS_LB.ID.in(ids)))
+        .map(rows -> rows.stream()
+          .map(ErrorRecordDaoUtil::toErrorRecord)
+          .collect(Collectors.toMap(ErrorRecord::getId, Function.identity())));
+  }
+
   /**
    * Saves {@link ErrorRecord} to the db using {@link ReactiveClassicGenericQueryExecutor}
    * 
@@ -55,6 +79,29 @@ public final class ErrorRecordDaoUtil {
         .map(ErrorRecordDaoUtil::toSingleErrorRecord);
   }
 
+  /**
+   * Saves {@link List} of {@link ErrorRecord} to the db with a single multi-row statement
+   * using {@link ReactiveClassicGenericQueryExecutor}
+   *
+   * @param queryExecutor query executor
+   * @param errorRecords  list of error records
+   * @return future with number of saved ErrorRecord
+   */
+  public static Future<Integer> saveAll(ReactiveClassicGenericQueryExecutor queryExecutor, List<ErrorRecord> errorRecords) {
+    return queryExecutor.execute(dsl -> {
+      InsertValuesStep3<ErrorRecordsLbRecord, UUID, String, String> insertValuesStep = dsl.insertInto(ERROR_RECORDS_LB,
+        ERROR_RECORDS_LB.ID, ERROR_RECORDS_LB.CONTENT, ERROR_RECORDS_LB.DESCRIPTION);
+      for (ErrorRecord errorRecord : errorRecords) {
+        ErrorRecordsLbRecord dbRecord = toDatabaseErrorRecord(errorRecord);
+        insertValuesStep = insertValuesStep.values(dbRecord.getId(), dbRecord.getContent(), dbRecord.getDescription());
+      }
+      return insertValuesStep.onConflict(ERROR_RECORDS_LB.ID)
+        .doUpdate()
+        .set(ERROR_RECORDS_LB.CONTENT, field(name(EXCLUDED, ERROR_RECORDS_LB.CONTENT.getName()), String.class))
+        .set(ERROR_RECORDS_LB.DESCRIPTION, field(name(EXCLUDED, ERROR_RECORDS_LB.DESCRIPTION.getName()), String.class));
+    });
+  }
+
   /**
    * Convert database query result {@link Row} to {@link ErrorRecord}
    * 
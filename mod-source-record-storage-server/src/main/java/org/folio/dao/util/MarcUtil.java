@@ -73,6 +73,16 @@ public class MarcUtil {
     return recordToTxtMarc(record);
   }
 
+  /**
+   * Reads MARC json without converting it, to check that it is a readable MARC record
+   *
+   * @param marcJson MARC json
+   * @throws IOException
+   */
+  public static void validateMarcJson(String marcJson) throws IOException {
+    marcJsonToRecord(marcJson);
+  }
+
   private static Record rawMarcToRecord(String rawMarc) throws IOException {
     try (InputStream in = new ByteArrayInputStream(rawMarc.getBytes(DEFAULT_CHARSET))) {
       final MarcStreamReader reader = new MarcStreamReader(in, DEFAULT_CHARSET.name());
@@ -0,0 +1,139 @@
+package org.folio.dao.util;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * MARC field of existing records supported by MARC-MARC matching. Values of 999ff$s, 999ff$i and 001 fields
+ * are stored in records_lb columns, values of $a subfields of standard identifier fields 010, 020, 022, 024 and 035
+ * are stored in marc_match_keys_lb table, which is filled by database trigger on save of parsed record
+ */
+public final class MatchField {
+
+  /**
+   * Maximum length of indexed subfield value, longer values are not stored in marc_match_keys_lb table
+   */
+  public static final int MAX_INDEXED_VALUE_LENGTH = 500;
+
+  public static final MatchField MATCHED_ID = new MatchField("999", "f", "f", "s", true, false);
+  public static final MatchField INSTANCE_ID = new MatchField("999", "f", "f", "i", true, false);
+  public static final MatchField INSTANCE_HRID = new MatchField("001", "", "", "", false, false);
+
+  private static final List<MatchField> COLUMN_FIELDS = Arrays.asList(MATCHED_ID, INSTANCE_ID, INSTANCE_HRID);
+  // must be the same as fields indexed by get_marc_match_keys database function
+  private static final List<MatchField> INDEXED_FIELDS = Arrays.asList(
+    new MatchField("010", "", "", "a", false, true),
+    new MatchField("020", "", "", "a", false, true),
+    new MatchField("022", "", "", "a", false, true),
+    new MatchField("024", "", "", "a", false, true),
+    new MatchField("035", "", "", "a", false, true));
+
+  private final String tag;
+  private final String indicator1;
+  private final String indicator2;
+  private final String subfield;
+  private final boolean uuid;
+  private final boolean indexed;
+
+  private MatchField(String tag, String indicator1, String indicator2, String subfield, boolean uuid, boolean indexed) {
+    this.tag = tag;
+    this.indicator1 = indicator1;
+    this.indicator2 = indicator2;
+    this.subfield = subfield;
+    this.uuid = uuid;
+    this.indexed = indexed;
+  }
+
+  /**
+   * Get match field by MARC field of existing records. Indicators are not taken into account for indexed data fields
+   *
+   * @param tag        field tag, e.g. 035
+   * @param indicator1 first indicator
+   * @param indicator2 second indicator
+   * @param subfield   subfield code
+   * @return optional match field, empty if field is not supported
+   */
+  public static Optional<MatchField> fromMarcField(String tag, String indicator1, String indicator2, String subfield) {
+    MatchField field = new MatchField(StringUtils.trimToEmpty(tag), StringUtils.trimToEmpty(indicator1),
+      StringUtils.trimToEmpty(indicator2), StringUtils.trimToEmpty(subfield), false, false);
+    Optional<MatchField> columnField = COLUMN_FIELDS.stream()
+      .filter(columnMatchField -> columnMatchField.tag.equals(field.tag) && columnMatchField.subfield.equals(field.subfield)
+        && columnMatchField.indicator1.equals(field.indicator1) && columnMatchField.indicator2.equals(field.indicator2))
+      .findFirst();
+    if (columnField.isPresent()) {
+      return columnField;
+    }
+    return INDEXED_FIELDS.stream()
+      .filter(indexedField -> indexedField.tag.equals(field.tag) && indexedField.subfield.equals(field.subfield))
+      .findFirst();
+  }
+
+  public String getTag() {
+    return tag;
+  }
+
+  public String getSubfield() {
+    return subfield;
+  }
+
+  /**
+   * @return true if values of the field are stored in marc_match_keys_lb table rather than in records_lb column
+   */
+  public boolean isIndexed() {
+    return indexed;
+  }
+
+  /**
+   * Normalizes value of the field to the form stored in the database, e.g. lower case UUID
+   * or value of indexed subfield without leading and trailing spaces
+   *
+   * @param value value from incoming record
+   * @return normalized value, null if value is empty or can not be stored in the field
+   */
+  public String normalize(String value) {
+    if (StringUtils.isEmpty(value)) {
+      return null;
+    }
+    if (indexed) {
+      String stripped = StringUtils.strip(value, " ");
+      return stripped.isEmpty() || stripped.length() > MAX_INDEXED_VALUE_LENGTH ? null : stripped;
+    }
+    if (!uuid) {
+      return value;
+    }
+    try {
+      return UUID.fromString(value).toString();
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    MatchField that = (MatchField) o;
+    return uuid == that.uuid && indexed == that.indexed && tag.equals(that.tag) && subfield.equals(that.subfield)
+      && indicator1.equals(that.indicator1) && indicator2.equals(that.indicator2);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(tag, indicator1, indicator2, subfield, uuid, indexed);
+  }
+
+  @Override
+  public String toString() {
+    return tag + indicator1 + indicator2 + subfield;
+  }
+
+}
@@ -1,5 +1,6 @@
 package org.folio.dao.util;
 
+import com.fasterxml.jackson.databind.util.RawValue;
 import io.github.jklingsporn.vertx.jooq.classic.reactivepg.ReactiveClassicGenericQueryExecutor;
 import io.github.jklingsporn.vertx.jooq.shared.postgres.JSONBToJsonObjectConverter;
 import io.vertx.core.Future;
@@ -9,12 +10,19 @@ import org.folio.rest.jaxrs.model.ErrorRecord;
 import org.folio.rest.jaxrs.model.ParsedRecord;
 import org.folio.rest.jaxrs.model.Record;
 import org.jooq.Field;
+import org.jooq.InsertValuesStep2;
+import org.jooq.impl.DSL;
 import org.jooq.impl.SQLDataType;
 
 import javax.ws.rs.NotFoundException;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static org.jooq.impl.DSL.field;
 import static org.jooq.impl.DSL.name;
@@ -28,6 +36,11 @@ public final class ParsedRecordDaoUtil {
   private static final String ID = "id";
   private static final String CONTENT = "content";
   private static final String LEADER = "leader";
+  private static final String EXCLUDED = "excluded";
+  private static final String TEXT_CAST_TEMPLATE = "{0}::text";
+  private static final String JSONB_CAST_TEMPLATE = "{0}::jsonb";
+  private static final String VALUES = "v";
+  private static final String UNNEST_IDS_CONTENTS_TEMPLATE = "unnest({0}, {1}) as v(id, content)";
 
   private ParsedRecordDaoUtil() {
   }
@@ -51,6 +64,27 @@ public final class ParsedRecordDaoUtil {
       .map(ParsedRecordDaoUtil::toOptionalParsedRecord);
   }
 
+  /**
+   * Searches for {@link ParsedRecord}s by ids with a single query using {@link ReactiveClassicGenericQueryExecutor}
+   *
+   * @param queryExecutor query executor
+   * @param ids           ids
+   * @param recordType    record type to find
+   * @return future with {@link Map} of ParsedRecord by id
+   */
+  public static Future<Map<String, ParsedRecord>> findByIds(ReactiveClassicGenericQueryExecutor queryExecutor,
+                                                            List<UUID> ids, RecordType recordType) {
+    String tableName = recordType.getTableName();
+    Field<UUID> idField = field(name(ID), UUID.class);
+    Field<JsonObject> contentField = field(name(CONTENT), SQLDataType.JSONB.asConvertedDataType(new JSONBToJsonObjectConverter()));
+    return queryExecutor.findManyRow(dsl -> dsl.select(idField, contentField)
+      .from(table(name(tableName)))
+      .where(idField.in(ids)))
+      .map(rows -> rows.stream()
+        .map(ParsedRecordDaoUtil::toParsedRecord)
+        .collect(Collectors.toMap(ParsedRecord::getId, Function.identity())));
+  }
+
   /**
    * Saves {@link ParsedRecord} to the db table defined by {@link RecordType} using
    * {@link ReactiveClassicGenericQueryExecutor}
@@ -78,6 +112,34 @@ public final class ParsedRecordDaoUtil {
         .withContent(content.getMap()));
   }
 
+  /**
+   * Saves {@link List} of {@link ParsedRecord} to the db table defined by {@link RecordType}
+   * with a single multi-row statement using {@link ReactiveClassicGenericQueryExecutor}
+   *
+   * @param queryExecutor query executor
+   * @param parsedRecords list of parsed records
+   * @param recordType    record type to save
+   * @return future with number of saved ParsedRecord
+   */
+  public static Future<Integer> saveAll(ReactiveClassicGenericQueryExecutor queryExecutor,
+                                        List<ParsedRecord> parsedRecords, RecordType recordType) {
+    String tableName = recordType.getTableName();
+    Field<UUID> idField = field(name(ID), UUID.class);
+    Field<JsonObject> contentField = field(name(CONTENT), SQLDataType.JSONB.asConvertedDataType(new JSONBToJsonObjectConverter()));
+    Field<JsonObject> excludedContentField = field(name(EXCLUDED, CONTENT), contentField.getDataType());
+    return queryExecutor.execute(dsl -> {
+      InsertValuesStep2<org.jooq.Record, UUID, JsonObject> insertValuesStep = dsl.insertInto(table(name(tableName)), idField, contentField);
+      for (ParsedRecord parsedRecord : parsedRecords) {
+        JsonObject content = normalize(parsedRecord.getContent());
+        parsedRecord.withContent(content.getMap());
+        insertValuesStep = insertValuesStep.values(UUID.fromString(parsedRecord.getId()), content);
+      }
+      return insertValuesStep.onConflict(idField)
+        .doUpdate()
+        .set(contentField, excludedContentField);
+    });
+  }
+
   /**
    * Updates {@link ParsedRecord} to the db table defined by {@link RecordType} using
    * {@link ReactiveClassicGenericQueryExecutor}
@@ -107,6 +169,53 @@ public final class ParsedRecordDaoUtil {
       });
   }
 
+  /**
+   * Searches for ids of existing {@link ParsedRecord}s with a single query using {@link ReactiveClassicGenericQueryExecutor}
+   *
+   * @param queryExecutor query executor
+   * @param ids           ids
+   * @param recordType    record type to find
+   * @return future with {@link Set} of existing ids
+   */
+  public static Future<Set<String>> findExistingIds(ReactiveClassicGenericQueryExecutor queryExecutor,
+                                                    List<UUID> ids, RecordType recordType) {
+    String tableName = recordType.getTableName();
+    Field<UUID> idField = field(name(ID), UUID.class);
+    return queryExecutor.findManyRow(dsl -> dsl.select(idField)
+      .from(table(name(tableName)))
+      .where(idField.eq(DSL.any(ids.toArray(new UUID[0])))))
+      .map(rows -> rows.stream()
+        .map(row -> row.getUUID(ID).toString())
+        .collect(Collectors.toSet()));
+  }
+
+  /**
+   * Updates content of {@link List} of {@link ParsedRecord} in the db table defined by {@link RecordType}
+   * with a single statement joining unnested arrays of ids and contents using {@link ReactiveClassicGenericQueryExecutor}.
+   * Content of parsed records is expected to be normalized by {@link #withNormalizedContent(ParsedRecord)}
+   *
+   * @param queryExecutor query executor
+   * @param parsedRecords list of parsed records
+   * @param recordType    record type to update
+   * @return future with number of updated ParsedRecord
+   */
+  public static Future<Integer> updateAll(ReactiveClassicGenericQueryExecutor queryExecutor,
+                                          List<ParsedRecord> parsedRecords, RecordType recordType) {
+    String tableName = recordType.getTableName();
+    Field<UUID> idField = field(name(tableName, ID), UUID.class);
+    Field<JsonObject> contentField = field(name(CONTENT), SQLDataType.JSONB.asConvertedDataType(new JSONBToJsonObjectConverter()));
+    UUID[] ids = new UUID[parsedRecords.size()];
+    String[] contents = new String[parsedRecords.size()];
+    for (int i = 0; i < parsedRecords.size(); i++) {
+      ids[i] = UUID.fromString(parsedRecords.get(i).getId());
+      contents[i] = normalize(parsedRecords.get(i).getContent()).encode();
+    }
+    return queryExecutor.execute(dsl -> dsl.update(table(name(tableName)))
+      .set(contentField, field(JSONB_CAST_TEMPLATE, contentField.getDataType(), field(name(VALUES, CONTENT))))
+      .from(table(UNNEST_IDS_CONTENTS_TEMPLATE, DSL.val(ids), DSL.val(contents)))
+      .where(idField.eq(field(name(VALUES, ID), UUID.class))));
+  }
+
   /**
    * Convert database query result {@link Row} to {@link ParsedRecord}
    *
@@ -126,6 +235,39 @@ public final class ParsedRecordDaoUtil {
     return parsedRecord;
   }
 
+  /**
+   * Get content field of the db table defined by {@link RecordType} selected as text. Vert.x pg client
+   * does not parse text columns, which allows to pass content to the response without deserialization
+   *
+   * @param recordType record type
+   * @return content field casted to text
+   * @see #toRawParsedRecord(Row)
+   */
+  public static Field<String> getRawContentField(RecordType recordType) {
+    return field(TEXT_CAST_TEMPLATE, String.class, field(name(recordType.getTableName(), CONTENT))).as(CONTENT);
+  }
+
+  /**
+   * Convert database query result {@link Row} with content selected by {@link #getRawContentField(RecordType)}
+   * to {@link ParsedRecord}. Content is kept as {@link RawValue} and written to the response json as is,
+   * so parsed record must be used for read only purposes
+   *
+   * @param row query result row
+   * @return ParsedRecord with raw content
+   */
+  public static ParsedRecord toRawParsedRecord(Row row) {
+    ParsedRecord parsedRecord = new ParsedRecord();
+    UUID id = row.getUUID(ID);
+    if (Objects.nonNull(id)) {
+      parsedRecord.withId(id.toString());
+    }
+    String content = row.getString(CONTENT);
+    if (Objects.nonNull(content)) {
+      parsedRecord.withContent(new RawValue(content));
+    }
+    return parsedRecord;
+  }
+
   /**
    * Convert database query result {@link Row} to {@link Optional} {@link ErrorRecord}
    *
@@ -146,6 +288,16 @@ public final class ParsedRecordDaoUtil {
     return normalize(parsedRecord.getContent()).encode();
   }
 
+  /**
+   * Normalize content of {@link ParsedRecord} to {@link Map}, content of type {@link String} is parsed
+   *
+   * @param parsedRecord parsed record
+   * @return parsed record with normalized content
+   */
+  public static ParsedRecord withNormalizedContent(ParsedRecord parsedRecord) {
+    return parsedRecord.withContent(normalize(parsedRecord.getContent()).getMap());
+  }
+
   /**
    * Extract MARC Leader status 05 from {@link ParsedRecord} content.
    *
@@ -176,9 +328,13 @@ public final class ParsedRecordDaoUtil {
     return RecordType.MARC;
   }
 
+  @SuppressWarnings("unchecked")
   private static JsonObject normalize(Object content) {
-    return (content instanceof String)
-      ? new JsonObject((String) content)
+    if (content instanceof String) {
+      return new JsonObject((String) content);
+    }
+    return (content instanceof Map)
+      ? new JsonObject((Map<String, Object>) content)
       : JsonObject.mapFrom(content);
   }
 
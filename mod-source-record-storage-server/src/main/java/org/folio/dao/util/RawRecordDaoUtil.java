@@ -1,16 +1,23 @@
 package org.folio.dao.util;
 
 import static org.folio.rest.jooq.Tables.RAW_RECORDS_LB;
+import static org.jooq.impl.DSL.field;
+import static org.jooq.impl.DSL.name;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.folio.rest.jaxrs.model.RawRecord;
 import org.folio.rest.jooq.tables.mappers.RowMappers;
 import org.folio.rest.jooq.tables.pojos.RawRecordsLb;
 import org.folio.rest.jooq.tables.records.RawRecordsLbRecord;
+import org.jooq.InsertValuesStep2;
 
 import io.github.jklingsporn.vertx.jooq.classic.reactivepg.ReactiveClassicGenericQueryExecutor;
 import io.vertx.core.Future;
@@ -22,6 +29,8 @@ import io.vertx.sqlclient.RowSet;
  */
 public final class RawRecordDaoUtil {
 
+  private static final String EXCLUDED = "excluded";
+
   private RawRecordDaoUtil() { }
 
   /**
@@ -37,6 +46,21 @@ public final class RawRecordDaoUtil {
         .map(RawRecordDaoUtil::toOptionalRawRecord);
   }
 
+  /**
+   * Searches for {@link RawRecord}s by ids with a single query using {@link ReactiveClassicGenericQueryExecutor}
+   *
+   * @param queryExecutor query executor
+   * @param ids           ids
+   * @return future with {@link Map} of RawRecord by id
+   */
+  public static Future<Map<String, RawRecord>> findByIds(ReactiveClassicGenericQueryExecutor queryExecutor, List<UUID> ids) {
+    return queryExecutor.findManyRow(dsl -> dsl.selectFrom(RAW_RECORDS_LB)
+      .where(RAW_RECORDS_LB.ID.in(ids)))
+        .map(rows -> rows.stream()
+          .map(RawRecordDaoUtil::toRawRecord)
+          .collect(Collectors.toMap(RawRecord::getId, Function.identity())));
+  }
+
   /**
    * Saves {@link RawRecord} to the db using {@link ReactiveClassicGenericQueryExecutor}
    * 
@@ -54,6 +78,28 @@ public final class RawRecordDaoUtil {
         .map(RawRecordDaoUtil::toSingleRawRecord);
   }
 
+  /**
+   * Saves {@link List} of {@link RawRecord} to the db with a single multi-row statement
+   * using {@link ReactiveClassicGenericQueryExecutor}
+   *
+   * @param queryExecutor query executor
+   * @param rawRecords    list of raw records
+   * @return future with number of saved RawRecord
+   */
+  public static Future<Integer> saveAll(ReactiveClassicGenericQueryExecutor queryExecutor, List<RawRecord> rawRecords) {
+    return queryExecutor.execute(dsl -> {
+      InsertValuesStep2<RawRecordsLbRecord, UUID, String> insertValuesStep = dsl.insertInto(RAW_RECORDS_LB,
+        RAW_RECORDS_LB.ID, RAW_RECORDS_LB.CONTENT);
+      for (RawRecord rawRecord : rawRecords) {
+        RawRecordsLbRecord dbRecord = toDatabaseRawRecord(rawRecord);
+        insertValuesStep = insertValuesStep.values(dbRecord.getId(), dbRecord.getContent());
+      }
+      return insertValuesStep.onConflict(RAW_RECORDS_LB.ID)
+        .doUpdate()
+        .set(RAW_RECORDS_LB.CONTENT, field(name(EXCLUDED, RAW_RECORDS_LB.CONTENT.getName()), String.class));
+    });
+  }
+
   /**
    * Convert database query result {@link Row} to {@link RawRecord}
    * 
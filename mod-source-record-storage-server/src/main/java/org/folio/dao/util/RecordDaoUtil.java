@@ -2,18 +2,24 @@ package org.folio.dao.util;
 
 import static com.google.common.base.CaseFormat.LOWER_CAMEL;
 import static com.google.common.base.CaseFormat.LOWER_UNDERSCORE;
+import static org.folio.rest.jooq.Tables.MARC_MATCH_KEYS_LB;
 import static org.folio.rest.jooq.Tables.RECORDS_LB;
 
+import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.ws.rs.BadRequestException;
 import javax.ws.rs.NotFoundException;
@@ -31,12 +37,16 @@ import org.folio.rest.jooq.tables.mappers.RowMappers;
 import org.folio.rest.jooq.tables.pojos.RecordsLb;
 import org.folio.rest.jooq.tables.records.RecordsLbRecord;
 import org.jooq.Condition;
+import org.jooq.Field;
+import org.jooq.InsertSetStep;
+import org.jooq.InsertValuesStepN;
 import org.jooq.OrderField;
 import org.jooq.SortOrder;
 import org.jooq.impl.DSL;
 
 import io.github.jklingsporn.vertx.jooq.classic.reactivepg.ReactiveClassicGenericQueryExecutor;
 import io.vertx.core.Future;
+import io.vertx.core.json.JsonArray;
 import io.vertx.sqlclient.Row;
 import io.vertx.sqlclient.RowSet;
 
@@ -46,6 +56,13 @@ import io.vertx.sqlclient.RowSet;
 public final class RecordDaoUtil {
 
   private static final String COMMA = ",";
+  private static final String EXCLUDED = "excluded";
+  private static final String EXPLAIN_TEMPLATE = "EXPLAIN (FORMAT JSON) {0}";
+  private static final String PLAN = "Plan";
+  private static final String PLAN_ROWS = "Plan Rows";
+  private static final String VALUES = "v";
+  private static final String UNNEST_EXTERNAL_IDS_METADATA_TEMPLATE = "unnest({0}, {1}, {2}, {3}, {4}, {5}, {6}) "
+    + "as v(id, instance_id, instance_hrid, created_by_user_id, created_date, updated_by_user_id, updated_date)";
 
   private static final List<String> DELETED_LEADER_RECORD_STATUS = Arrays.asList("d", "s", "x");
 
@@ -73,6 +90,47 @@ public final class RecordDaoUtil {
     return RECORDS_LB.field(LOWER_CAMEL.to(LOWER_UNDERSCORE, externalIdType.getExternalIdField()), UUID.class).in(toUUIDs(externalIds));
   }
 
+  /**
+   * Searches for ids of records matching any of normalized values of {@link MatchField} with a single array parameter
+   * using {@link ReactiveClassicGenericQueryExecutor}. Values of indexed fields are searched in marc_match_keys_lb table.
+   * Only ACTUAL records are matched by matched id and by indexed fields
+   *
+   * @param queryExecutor query executor
+   * @param matchField    match field
+   * @param values        values normalized by {@link MatchField#normalize(String)}
+   * @return future with record ids grouped by matched value
+   */
+  public static Future<Map<String, List<String>>> findIdsByMatchField(ReactiveClassicGenericQueryExecutor queryExecutor,
+      MatchField matchField, Collection<String> values) {
+    if (matchField.isIndexed()) {
+      return queryExecutor.findManyRow(dsl -> dsl.select(MARC_MATCH_KEYS_LB.MARC_ID, MARC_MATCH_KEYS_LB.MATCH_VALUE)
+        .from(MARC_MATCH_KEYS_LB)
+        .innerJoin(RECORDS_LB).on(RECORDS_LB.ID.eq(MARC_MATCH_KEYS_LB.MARC_ID))
+        .where(MARC_MATCH_KEYS_LB.TAG.eq(matchField.getTag())
+          .and(MARC_MATCH_KEYS_LB.SUBFIELD.eq(matchField.getSubfield()))
+          .and(MARC_MATCH_KEYS_LB.MATCH_VALUE.eq(DSL.any(values.toArray(new String[0]))))
+          .and(RECORDS_LB.STATE.eq(RecordState.ACTUAL))))
+        .map(RecordDaoUtil::toIdsByMatchedValue);
+    }
+    Condition condition;
+    Field<?> column;
+    if (MatchField.MATCHED_ID.equals(matchField)) {
+      column = RECORDS_LB.MATCHED_ID;
+      condition = RECORDS_LB.MATCHED_ID.eq(DSL.any(values.stream().map(UUID::fromString).toArray(UUID[]::new)))
+        .and(RECORDS_LB.STATE.eq(RecordState.ACTUAL));
+    } else if (MatchField.INSTANCE_ID.equals(matchField)) {
+      column = RECORDS_LB.INSTANCE_ID;
+      condition = RECORDS_LB.INSTANCE_ID.eq(DSL.any(values.stream().map(UUID::fromString).toArray(UUID[]::new)));
+    } else {
+      column = RECORDS_LB.INSTANCE_HRID;
+      condition = RECORDS_LB.INSTANCE_HRID.eq(DSL.any(values.toArray(new String[0])));
+    }
+    return queryExecutor.findManyRow(dsl -> dsl.select(RECORDS_LB.ID, column)
+      .from(RECORDS_LB)
+      .where(condition))
+        .map(RecordDaoUtil::toIdsByMatchedValue);
+  }
+
   /**
    * Searches for {@link Record} by {@link Condition} and ordered by collection of {@link OrderField} with offset and limit
    * using {@link ReactiveClassicGenericQueryExecutor}
@@ -109,6 +167,39 @@ public final class RecordDaoUtil {
         .map(row -> row.getInteger(0));
   }
 
+  /**
+   * Estimate number of records matching {@link Condition} by query planner, without scanning the rows
+   *
+   * @param queryExecutor query executor
+   * @param condition     condition
+   * @return future with estimated count
+   */
+  public static Future<Integer> estimateByCondition(ReactiveClassicGenericQueryExecutor queryExecutor, Condition condition) {
+    return queryExecutor.findOneRow(dsl -> dsl.resultQuery(EXPLAIN_TEMPLATE, dsl.selectFrom(RECORDS_LB)
+      .where(condition)))
+        .map(RecordDaoUtil::toPlanRows);
+  }
+
+  /**
+   * Count query by {@link Condition} using {@link TotalRecordsMode}
+   *
+   * @param queryExecutor    query executor
+   * @param condition        condition
+   * @param totalRecordsMode total records mode
+   * @return future with count, null for {@link TotalRecordsMode#NONE}
+   */
+  public static Future<Integer> countByCondition(ReactiveClassicGenericQueryExecutor queryExecutor, Condition condition,
+      TotalRecordsMode totalRecordsMode) {
+    switch (totalRecordsMode) {
+      case ESTIMATED:
+        return estimateByCondition(queryExecutor, condition);
+      case NONE:
+        return Future.succeededFuture(null);
+      default:
+        return countByCondition(queryExecutor, condition);
+    }
+  }
+
  /**
    * Searches for {@link Record} by {@link Condition} using {@link ReactiveClassicGenericQueryExecutor}
    *
@@ -154,6 +245,34 @@ public final class RecordDaoUtil {
         .map(RecordDaoUtil::toSingleRecord);
   }
 
+  /**
+   * Saves {@link List} of {@link Record} to the db with a single multi-row statement
+   * using {@link ReactiveClassicGenericQueryExecutor}
+   *
+   * @param queryExecutor query executor
+   * @param records       list of records
+   * @return future with saved List of Record
+   */
+  public static Future<List<Record>> saveAll(ReactiveClassicGenericQueryExecutor queryExecutor, List<Record> records) {
+    Map<Field<?>, Field<?>> onConflictUpdates = new HashMap<>();
+    for (Field<?> field : RECORDS_LB.fields()) {
+      if (!field.equals(RECORDS_LB.ID)) {
+        onConflictUpdates.put(field, excluded(field));
+      }
+    }
+    return queryExecutor.executeAny(dsl -> {
+      InsertSetStep<RecordsLbRecord> insertSetStep = dsl.insertInto(RECORDS_LB);
+      InsertValuesStepN<RecordsLbRecord> insertValuesStepN = null;
+      for (Record record : records) {
+        insertValuesStepN = insertSetStep.values(toDatabaseRecord(record).intoArray());
+      }
+      return insertValuesStepN.onConflict(RECORDS_LB.ID)
+        .doUpdate()
+        .set(onConflictUpdates)
+        .returning();
+    }).map(RecordDaoUtil::toRecords);
+  }
+
   /**
    * Updates {@link Record} to the db using {@link ReactiveClassicGenericQueryExecutor}
    *
@@ -176,6 +295,63 @@ public final class RecordDaoUtil {
         });
   }
 
+  /**
+   * Searches for ids of existing {@link Record}s with a single query using {@link ReactiveClassicGenericQueryExecutor},
+   * found records are locked for update until the end of transaction
+   *
+   * @param queryExecutor query executor
+   * @param ids           ids
+   * @return future with {@link Set} of existing ids
+   */
+  public static Future<Set<String>> findExistingIdsForUpdate(ReactiveClassicGenericQueryExecutor queryExecutor, List<UUID> ids) {
+    return queryExecutor.findManyRow(dsl -> dsl.select(RECORDS_LB.ID)
+      .from(RECORDS_LB)
+      .where(RECORDS_LB.ID.eq(DSL.any(ids.toArray(new UUID[0]))))
+      .forUpdate())
+        .map(rows -> rows.stream()
+          .map(row -> row.getUUID(RECORDS_LB.ID.getName()).toString())
+          .collect(Collectors.toSet()));
+  }
+
+  /**
+   * Updates external ids and metadata of {@link List} of {@link Record} with a single statement joining unnested arrays
+   * of values using {@link ReactiveClassicGenericQueryExecutor}. Persisted values are kept where record has no value
+   *
+   * @param queryExecutor query executor
+   * @param records       records to update
+   * @return future with number of updated Record
+   */
+  public static Future<Integer> updateExternalIdsAndMetadata(ReactiveClassicGenericQueryExecutor queryExecutor, List<Record> records) {
+    int size = records.size();
+    UUID[] ids = new UUID[size];
+    UUID[] instanceIds = new UUID[size];
+    String[] instanceHrids = new String[size];
+    UUID[] createdByUserIds = new UUID[size];
+    OffsetDateTime[] createdDates = new OffsetDateTime[size];
+    UUID[] updatedByUserIds = new UUID[size];
+    OffsetDateTime[] updatedDates = new OffsetDateTime[size];
+    for (int i = 0; i < size; i++) {
+      RecordsLbRecord dbRecord = toDatabaseRecord(records.get(i));
+      ids[i] = dbRecord.getId();
+      instanceIds[i] = dbRecord.getInstanceId();
+      instanceHrids[i] = dbRecord.getInstanceHrid();
+      createdByUserIds[i] = dbRecord.getCreatedByUserId();
+      createdDates[i] = dbRecord.getCreatedDate();
+      updatedByUserIds[i] = dbRecord.getUpdatedByUserId();
+      updatedDates[i] = dbRecord.getUpdatedDate();
+    }
+    return queryExecutor.execute(dsl -> dsl.update(RECORDS_LB)
+      .set(RECORDS_LB.INSTANCE_ID, valueOrPersisted(RECORDS_LB.INSTANCE_ID))
+      .set(RECORDS_LB.INSTANCE_HRID, valueOrPersisted(RECORDS_LB.INSTANCE_HRID))
+      .set(RECORDS_LB.CREATED_BY_USER_ID, valueOrPersisted(RECORDS_LB.CREATED_BY_USER_ID))
+      .set(RECORDS_LB.CREATED_DATE, valueOrPersisted(RECORDS_LB.CREATED_DATE))
+      .set(RECORDS_LB.UPDATED_BY_USER_ID, valueOrPersisted(RECORDS_LB.UPDATED_BY_USER_ID))
+      .set(RECORDS_LB.UPDATED_DATE, valueOrPersisted(RECORDS_LB.UPDATED_DATE))
+      .from(DSL.table(UNNEST_EXTERNAL_IDS_METADATA_TEMPLATE, DSL.val(ids), DSL.val(instanceIds), DSL.val(instanceHrids),
+        DSL.val(createdByUserIds), DSL.val(createdDates), DSL.val(updatedByUserIds), DSL.val(updatedDates)))
+      .where(RECORDS_LB.ID.eq(DSL.field(DSL.name(VALUES, RECORDS_LB.ID.getName()), UUID.class))));
+  }
+
   /**
    * Convert {@link Record} to {@link SourceRecord}
    *
@@ -513,10 +689,53 @@ public final class RecordDaoUtil {
     }
   }
 
+  /**
+   * Convert string to {@link TotalRecordsMode}
+   *
+   * @param totalRecordsMode total records mode as string, case insensitive
+   * @param defaultMode      mode to use if total records mode is not specified or unknown
+   * @return total records mode
+   */
+  public static TotalRecordsMode toTotalRecordsMode(String totalRecordsMode, TotalRecordsMode defaultMode) {
+    if (StringUtils.isEmpty(totalRecordsMode)) {
+      return defaultMode;
+    }
+    try {
+      return TotalRecordsMode.valueOf(totalRecordsMode.toUpperCase());
+    } catch (IllegalArgumentException e) {
+      return defaultMode;
+    }
+  }
+
+  private static Integer toPlanRows(Row row) {
+    Object queryPlan = row.getValue(0);
+    JsonArray plans = queryPlan instanceof JsonArray ? (JsonArray) queryPlan : new JsonArray(queryPlan.toString());
+    return plans.getJsonObject(0).getJsonObject(PLAN).getLong(PLAN_ROWS).intValue();
+  }
+
+  private static Map<String, List<String>> toIdsByMatchedValue(List<Row> rows) {
+    return rows.stream().collect(Collectors.groupingBy(row -> row.getValue(1).toString(),
+      Collectors.mapping(row -> row.getUUID(0).toString(), Collectors.toList())));
+  }
+
   private static Record toSingleRecord(RowSet<Row> rows) {
     return toRecord(rows.iterator().next());
   }
 
+  private static List<Record> toRecords(RowSet<Row> rows) {
+    return StreamSupport.stream(rows.spliterator(), false)
+      .map(RecordDaoUtil::toRecord)
+      .collect(Collectors.toList());
+  }
+
+  private static <T> Field<T> valueOrPersisted(Field<T> field) {
+    return DSL.coalesce(DSL.field(DSL.name(VALUES, field.getName()), field.getDataType()), field);
+  }
+
+  private static <T> Field<T> excluded(Field<T> field) {
+    return DSL.field(DSL.name(EXCLUDED, field.getName()), field.getDataType());
+  }
+
   private static Optional<Record> toSingleOptionalRecord(RowSet<Row> rows) {
     return rows.rowCount() == 1 ? Optional.of(toRecord(rows.iterator().next())) : Optional.empty();
   }
@@ -0,0 +1,193 @@
+package org.folio.dao.util;
+
+import static org.folio.rest.jooq.Tables.SNAPSHOTS_LB;
+import static org.folio.rest.jooq.Tables.SNAPSHOT_DELETIONS_LB;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.folio.rest.jaxrs.model.SnapshotDeletion;
+import org.folio.rest.jaxrs.model.SnapshotDeletion.Status;
+import org.folio.rest.jooq.enums.SnapshotDeletionStatus;
+import org.folio.rest.jooq.tables.mappers.RowMappers;
+import org.folio.rest.jooq.tables.pojos.SnapshotDeletionsLb;
+import org.folio.rest.jooq.tables.records.SnapshotDeletionsLbRecord;
+import org.jooq.Condition;
+import org.jooq.Field;
+import org.jooq.impl.DSL;
+
+import io.github.jklingsporn.vertx.jooq.classic.reactivepg.ReactiveClassicGenericQueryExecutor;
+import io.vertx.core.Future;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+
+/**
+ * Utility class for managing {@link SnapshotDeletion}
+ */
+public final class SnapshotDeletionDaoUtil {
+
+  /**
+   * Time in milliseconds after which deletion in progress is considered abandoned if it is not updated,
+   * e.g. since module instance running it was stopped. Abandoned deletion can be started again
+   */
+  public static final long DELETION_TIMEOUT = Long.parseLong(System.getProperty("SNAPSHOT_DELETION_TIMEOUT_MS", "120000"));
+
+  private SnapshotDeletionDaoUtil() { }
+
+  /**
+   * Searches for {@link SnapshotDeletion} by snapshot id using {@link ReactiveClassicGenericQueryExecutor}
+   *
+   * @param queryExecutor query executor
+   * @param snapshotId    snapshot id
+   * @return future with optional SnapshotDeletion
+   */
+  public static Future<Optional<SnapshotDeletion>> findById(ReactiveClassicGenericQueryExecutor queryExecutor, String snapshotId) {
+    return queryExecutor.findOneRow(dsl -> dsl.selectFrom(SNAPSHOT_DELETIONS_LB)
+      .where(SNAPSHOT_DELETIONS_LB.SNAPSHOT_ID.eq(UUID.fromString(snapshotId))))
+        .map(SnapshotDeletionDaoUtil::toOptionalSnapshotDeletion);
+  }
+
+  /**
+   * Saves {@link SnapshotDeletion} to the db using {@link ReactiveClassicGenericQueryExecutor}
+   *
+   * @param queryExecutor    query executor
+   * @param snapshotDeletion snapshot deletion
+   * @return future with updated SnapshotDeletion
+   */
+  public static Future<SnapshotDeletion> save(ReactiveClassicGenericQueryExecutor queryExecutor, SnapshotDeletion snapshotDeletion) {
+    SnapshotDeletionsLbRecord dbRecord = toDatabaseRecord(snapshotDeletion);
+    return queryExecutor.executeAny(dsl -> dsl.insertInto(SNAPSHOT_DELETIONS_LB)
+      .set(dbRecord)
+      .set(SNAPSHOT_DELETIONS_LB.UPDATED_DATE, DSL.currentOffsetDateTime())
+      .onDuplicateKeyUpdate()
+      .set(dbRecord)
+      .set(SNAPSHOT_DELETIONS_LB.UPDATED_DATE, DSL.currentOffsetDateTime())
+      .returning())
+        .map(SnapshotDeletionDaoUtil::toSingleSnapshotDeletion);
+  }
+
+  /**
+   * Saves {@link SnapshotDeletion} in progress with a single statement unless other deletion of the snapshot
+   * is in progress and not abandoned, using {@link ReactiveClassicGenericQueryExecutor}. Number of deleted records
+   * of abandoned deletion is kept, since the deletion is continued
+   *
+   * @param queryExecutor    query executor
+   * @param snapshotDeletion snapshot deletion in progress
+   * @return future with saved SnapshotDeletion, or empty optional if other deletion is in progress
+   */
+  public static Future<Optional<SnapshotDeletion>> start(ReactiveClassicGenericQueryExecutor queryExecutor, SnapshotDeletion snapshotDeletion) {
+    SnapshotDeletionsLbRecord dbRecord = toDatabaseRecord(snapshotDeletion);
+    return queryExecutor.executeAny(dsl -> dsl.insertInto(SNAPSHOT_DELETIONS_LB)
+      .set(dbRecord)
+      .set(SNAPSHOT_DELETIONS_LB.UPDATED_DATE, DSL.currentOffsetDateTime())
+      .onConflict(SNAPSHOT_DELETIONS_LB.SNAPSHOT_ID)
+      .doUpdate()
+      .set(SNAPSHOT_DELETIONS_LB.STATUS, dbRecord.getStatus())
+      .set(SNAPSHOT_DELETIONS_LB.DELETED_RECORDS, DSL.when(SNAPSHOT_DELETIONS_LB.STATUS.eq(SnapshotDeletionStatus.IN_PROGRESS),
+        SNAPSHOT_DELETIONS_LB.DELETED_RECORDS).otherwise(dbRecord.getDeletedRecords()))
+      .set(SNAPSHOT_DELETIONS_LB.ERROR_MESSAGE, (String) null)
+      .set(SNAPSHOT_DELETIONS_LB.STARTED_DATE, dbRecord.getStartedDate())
+      .set(SNAPSHOT_DELETIONS_LB.COMPLETED_DATE, (OffsetDateTime) null)
+      .set(SNAPSHOT_DELETIONS_LB.UPDATED_DATE, DSL.currentOffsetDateTime())
+      .where(SNAPSHOT_DELETIONS_LB.STATUS.notEqual(SnapshotDeletionStatus.IN_PROGRESS).or(isAbandoned()))
+      .returning())
+        .map(rows -> rows.size() > 0 ? Optional.of(toSingleSnapshotDeletion(rows)) : Optional.<SnapshotDeletion>empty());
+  }
+
+  /**
+   * Updates date of {@link SnapshotDeletion} in progress, so that it is not considered abandoned,
+   * using {@link ReactiveClassicGenericQueryExecutor}
+   *
+   * @param queryExecutor query executor
+   * @param snapshotId    snapshot id
+   * @return future with true if deletion in progress is updated
+   */
+  public static Future<Boolean> touch(ReactiveClassicGenericQueryExecutor queryExecutor, String snapshotId) {
+    return queryExecutor.execute(dsl -> dsl.update(SNAPSHOT_DELETIONS_LB)
+      .set(SNAPSHOT_DELETIONS_LB.UPDATED_DATE, DSL.currentOffsetDateTime())
+      .where(SNAPSHOT_DELETIONS_LB.SNAPSHOT_ID.eq(UUID.fromString(snapshotId))
+        .and(SNAPSHOT_DELETIONS_LB.STATUS.eq(SnapshotDeletionStatus.IN_PROGRESS))))
+          .map(res -> res == 1);
+  }
+
+  /**
+   * Get {@link Condition} to exclude snapshots which deletion is in progress and not abandoned
+   *
+   * @return condition
+   */
+  public static Condition filterSnapshotNotBeingDeleted() {
+    return SNAPSHOTS_LB.ID.notIn(DSL.select(SNAPSHOT_DELETIONS_LB.SNAPSHOT_ID)
+      .from(SNAPSHOT_DELETIONS_LB)
+      .where(SNAPSHOT_DELETIONS_LB.STATUS.eq(SnapshotDeletionStatus.IN_PROGRESS)
+        .andNot(isAbandoned())));
+  }
+
+  private static Condition isAbandoned() {
+    Field<OffsetDateTime> abandonedBefore = DSL.field("{0} - {1} * interval '1 millisecond'", OffsetDateTime.class,
+      DSL.currentOffsetDateTime(), DSL.val(DELETION_TIMEOUT));
+    return SNAPSHOT_DELETIONS_LB.UPDATED_DATE.isNull()
+      .or(SNAPSHOT_DELETIONS_LB.UPDATED_DATE.lessThan(abandonedBefore));
+  }
+
+  /**
+   * Convert database query result {@link Row} to {@link SnapshotDeletion}
+   *
+   * @param row query result row
+   * @return SnapshotDeletion
+   */
+  public static SnapshotDeletion toSnapshotDeletion(Row row) {
+    SnapshotDeletionsLb pojo = RowMappers.getSnapshotDeletionsLbMapper().apply(row);
+    SnapshotDeletion snapshotDeletion = new SnapshotDeletion()
+      .withJobExecutionId(pojo.getSnapshotId().toString())
+      .withStatus(Status.fromValue(pojo.getStatus().toString()))
+      .withDeletedRecords(pojo.getDeletedRecords())
+      .withErrorMessage(pojo.getErrorMessage());
+    if (Objects.nonNull(pojo.getStartedDate())) {
+      snapshotDeletion.withStartedDate(Date.from(pojo.getStartedDate().toInstant()));
+    }
+    if (Objects.nonNull(pojo.getCompletedDate())) {
+      snapshotDeletion.withCompletedDate(Date.from(pojo.getCompletedDate().toInstant()));
+    }
+    return snapshotDeletion;
+  }
+
+  /**
+   * Convert database query result {@link Row} to {@link Optional} {@link SnapshotDeletion}
+   *
+   * @param row query result row
+   * @return optional SnapshotDeletion
+   */
+  public static Optional<SnapshotDeletion> toOptionalSnapshotDeletion(Row row) {
+    return Objects.nonNull(row) ? Optional.of(toSnapshotDeletion(row)) : Optional.empty();
+  }
+
+  /**
+   * Convert {@link SnapshotDeletion} to database record {@link SnapshotDeletionsLbRecord}
+   *
+   * @param snapshotDeletion snapshot deletion
+   * @return SnapshotDeletionsLbRecord
+   */
+  public static SnapshotDeletionsLbRecord toDatabaseRecord(SnapshotDeletion snapshotDeletion) {
+    SnapshotDeletionsLbRecord dbRecord = new SnapshotDeletionsLbRecord();
+    dbRecord.setSnapshotId(UUID.fromString(snapshotDeletion.getJobExecutionId()));
+    dbRecord.setStatus(SnapshotDeletionStatus.valueOf(snapshotDeletion.getStatus().toString()));
+    dbRecord.setDeletedRecords(Objects.nonNull(snapshotDeletion.getDeletedRecords()) ? snapshotDeletion.getDeletedRecords() : 0);
+    dbRecord.setErrorMessage(snapshotDeletion.getErrorMessage());
+    if (Objects.nonNull(snapshotDeletion.getStartedDate())) {
+      dbRecord.setStartedDate(snapshotDeletion.getStartedDate().toInstant().atOffset(ZoneOffset.UTC));
+    }
+    if (Objects.nonNull(snapshotDeletion.getCompletedDate())) {
+      dbRecord.setCompletedDate(snapshotDeletion.getCompletedDate().toInstant().atOffset(ZoneOffset.UTC));
+    }
+    return dbRecord;
+  }
+
+  private static SnapshotDeletion toSingleSnapshotDeletion(RowSet<Row> rows) {
+    return toSnapshotDeletion(rows.iterator().next());
+  }
+
+}
@@ -0,0 +1,15 @@
+package org.folio.dao.util;
+
+/**
+ * Strategy of calculating total records of a search
+ */
+public enum TotalRecordsMode {
+
+  // count(*) over all matching rows
+  EXACT,
+  // number of rows estimated by query planner
+  ESTIMATED,
+  // total records are not calculated
+  NONE
+
+}
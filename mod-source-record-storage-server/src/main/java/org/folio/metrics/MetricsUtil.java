@@ -0,0 +1,120 @@
+package org.folio.metrics;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import org.apache.commons.lang3.StringUtils;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import io.vertx.core.Future;
+
+/**
+ * Utility class holding module meter registry and timing asynchronous operations.
+ * Metrics are exposed in Prometheus format via /source-storage/metrics endpoint
+ */
+public final class MetricsUtil {
+
+  public static final String DAO_TIMER = "srs.dao.operation";
+  public static final String EVENT_HANDLER_TIMER = "srs.event.handler";
+  public static final String EVENT_PUBLISH_TIMER = "srs.event.publish";
+  public static final String POOL_IN_FLIGHT_GAUGE = "srs.db.pool.in.flight";
+  public static final String POOL_ACQUIRED_COUNTER = "srs.db.pool.acquired";
+  public static final String POOL_SATURATED_COUNTER = "srs.db.pool.saturated";
+  public static final String POOL_ACQUIRE_TIMER = "srs.db.pool.acquire";
+  public static final String DB_OPERATIONS_QUEUED_GAUGE = "srs.db.operations.queued";
+  public static final String DB_OPERATIONS_IN_FLIGHT_GAUGE = "srs.db.operations.in.flight";
+  public static final String RECORDS_CACHE_COUNTER = "srs.records.cache.lookups";
+
+  public static final String TENANT_TAG = "tenant";
+  public static final String OUTCOME_TAG = "outcome";
+  public static final String NO_TENANT = "none";
+
+  private static final String SUCCESS = "success";
+  private static final String FAILURE = "failure";
+
+  private static final PrometheusMeterRegistry REGISTRY = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+
+  private MetricsUtil() { }
+
+  /**
+   * Get meter registry of the module
+   *
+   * @return meter registry
+   */
+  public static PrometheusMeterRegistry getRegistry() {
+    return REGISTRY;
+  }
+
+  /**
+   * Get all metrics of the module in Prometheus text format
+   *
+   * @return metrics in Prometheus text format
+   */
+  public static String scrape() {
+    return REGISTRY.scrape();
+  }
+
+  /**
+   * Get tags with tenant id
+   *
+   * @param tenantId tenant id, {@link #NO_TENANT} is used if empty
+   * @return tags
+   */
+  public static Tags tenantTags(String tenantId) {
+    return Tags.of(TENANT_TAG, StringUtils.isNotEmpty(tenantId) ? tenantId : NO_TENANT);
+  }
+
+  /**
+   * Times asynchronous operation, timer is tagged with outcome of the operation
+   *
+   * @param name      timer name
+   * @param tags      timer tags
+   * @param operation operation to time
+   * @param <T>       result type
+   * @return future of the operation
+   */
+  public static <T> Future<T> time(String name, Tags tags, Supplier<Future<T>> operation) {
+    Timer.Sample sample = Timer.start(REGISTRY);
+    try {
+      return operation.get().onComplete(ar -> stop(sample, name, tags, ar.succeeded()));
+    } catch (RuntimeException e) {
+      stop(sample, name, tags, false);
+      throw e;
+    }
+  }
+
+  /**
+   * Times asynchronous operation represented by {@link CompletableFuture}, timer is tagged with outcome of the operation
+   *
+   * @param name      timer name
+   * @param tags      timer tags
+   * @param operation operation to time
+   * @param <T>       result type
+   * @return future of the operation
+   */
+  public static <T> CompletableFuture<T> timeCompletable(String name, Tags tags, Supplier<CompletableFuture<T>> operation) {
+    Timer.Sample sample = Timer.start(REGISTRY);
+    try {
+      return operation.get().whenComplete((result, throwable) -> stop(sample, name, tags, throwable == null));
+    } catch (RuntimeException e) {
+      stop(sample, name, tags, false);
+      throw e;
+    }
+  }
+
+  /**
+   * Stops timer sample, tagging it with outcome of the operation
+   *
+   * @param sample    started sample
+   * @param name      timer name
+   * @param tags      timer tags
+   * @param succeeded whether operation succeeded
+   */
+  public static void stop(Timer.Sample sample, String name, Tags tags, boolean succeeded) {
+    sample.stop(REGISTRY.timer(name, tags.and(OUTCOME_TAG, succeeded ? SUCCESS : FAILURE)));
+  }
+
+}
@@ -0,0 +1,97 @@
+package org.folio.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.List;
+
+import org.folio.dao.PostgresClientFactory;
+import org.folio.dao.RecordDao;
+import org.folio.dao.SnapshotDao;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import io.github.jklingsporn.vertx.jooq.classic.reactivepg.ReactiveClassicGenericQueryExecutor;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.Future;
+
+/**
+ * Wraps {@link RecordDao} and {@link SnapshotDao} beans into proxies timing every method.
+ * Timers are tagged with dao, method, tenant and outcome. Tenant id is the last string argument of methods
+ * not executed within a transaction, methods taking {@link ReactiveClassicGenericQueryExecutor} are tagged with tenant
+ * of the query executor
+ */
+@Component
+public class TimedDaoPostProcessor implements BeanPostProcessor {
+
+  private static final List<Class<?>> TIMED_DAOS = Arrays.asList(RecordDao.class, SnapshotDao.class);
+
+  @Override
+  public Object postProcessAfterInitialization(Object bean, String beanName) {
+    for (Class<?> dao : TIMED_DAOS) {
+      if (dao.isInstance(bean)) {
+        return Proxy.newProxyInstance(dao.getClassLoader(), new Class<?>[] {dao}, new TimingHandler(dao, bean));
+      }
+    }
+    return bean;
+  }
+
+  private static class TimingHandler implements InvocationHandler {
+
+    private final String daoName;
+    private final Object target;
+
+    private TimingHandler(Class<?> dao, Object target) {
+      this.daoName = dao.getSimpleName();
+      this.target = target;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      if (method.getDeclaringClass() == Object.class) {
+        return invokeTarget(method, args);
+      }
+      Tags tags = MetricsUtil.tenantTags(getTenantId(args)).and("dao", daoName, "method", method.getName());
+      Timer.Sample sample = Timer.start(MetricsUtil.getRegistry());
+      Object result;
+      try {
+        result = invokeTarget(method, args);
+      } catch (Throwable e) {
+        MetricsUtil.stop(sample, MetricsUtil.DAO_TIMER, tags, false);
+        throw e;
+      }
+      if (result instanceof Future) {
+        return ((Future<?>) result).onComplete(ar -> MetricsUtil.stop(sample, MetricsUtil.DAO_TIMER, tags, ar.succeeded()));
+      }
+      MetricsUtil.stop(sample, MetricsUtil.DAO_TIMER, tags, true);
+      return result;
+    }
+
+    private Object invokeTarget(Method method, Object[] args) throws Throwable {
+      try {
+        return method.invoke(target, args);
+      } catch (InvocationTargetException e) {
+        throw e.getCause();
+      }
+    }
+
+    private String getTenantId(Object[] args) {
+      if (args == null || args.length == 0) {
+        return null;
+      }
+      if (args[0] instanceof ReactiveClassicGenericQueryExecutor) {
+        return PostgresClientFactory.getTenantId((ReactiveClassicGenericQueryExecutor) args[0]);
+      }
+      for (int i = args.length - 1; i >= 0; i--) {
+        if (args[i] instanceof String) {
+          return (String) args[i];
+        }
+      }
+      return null;
+    }
+  }
+
+}
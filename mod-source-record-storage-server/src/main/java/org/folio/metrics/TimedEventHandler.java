@@ -0,0 +1,45 @@
+package org.folio.metrics;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.folio.DataImportEventPayload;
+import org.folio.processing.events.services.handler.EventHandler;
+
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * {@link EventHandler} decorator timing handling of events by the delegate handler.
+ * Timer is tagged with handler class, tenant and outcome
+ */
+public class TimedEventHandler implements EventHandler {
+
+  private final EventHandler delegate;
+  private final String handlerName;
+
+  public TimedEventHandler(EventHandler delegate) {
+    this.delegate = delegate;
+    this.handlerName = delegate.getClass().getSimpleName();
+  }
+
+  @Override
+  public CompletableFuture<DataImportEventPayload> handle(DataImportEventPayload dataImportEventPayload) {
+    Tags tags = MetricsUtil.tenantTags(dataImportEventPayload.getTenant()).and("handler", handlerName);
+    return MetricsUtil.timeCompletable(MetricsUtil.EVENT_HANDLER_TIMER, tags, () -> delegate.handle(dataImportEventPayload));
+  }
+
+  @Override
+  public boolean isEligible(DataImportEventPayload dataImportEventPayload) {
+    return delegate.isEligible(dataImportEventPayload);
+  }
+
+  @Override
+  public boolean isPostProcessingNeeded() {
+    return delegate.isPostProcessingNeeded();
+  }
+
+  @Override
+  public String getPostProcessingInitializationEventType() {
+    return delegate.getPostProcessingInitializationEventType();
+  }
+
+}
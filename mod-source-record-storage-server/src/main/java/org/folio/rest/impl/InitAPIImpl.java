@@ -1,6 +1,7 @@
 package org.folio.rest.impl;
 
 import org.folio.config.ApplicationConfig;
+import org.folio.metrics.TimedEventHandler;
 import org.folio.processing.events.EventManager;
 import org.folio.rest.resource.interfaces.InitAPI;
 import org.folio.services.handlers.InstancePostProcessingEventHandler;
@@ -43,8 +44,8 @@ public class InitAPIImpl implements InitAPI {
   }
 
   private void registerEventHandlers() {
-    EventManager.registerEventHandler(instancePostProcessingEventHandler);
-    EventManager.registerEventHandler(modifyRecordEventHandler);
-    EventManager.registerEventHandler(marcBibliographicMatchEventHandler);
+    EventManager.registerEventHandler(new TimedEventHandler(instancePostProcessingEventHandler));
+    EventManager.registerEventHandler(new TimedEventHandler(modifyRecordEventHandler));
+    EventManager.registerEventHandler(new TimedEventHandler(marcBibliographicMatchEventHandler));
   }
 }
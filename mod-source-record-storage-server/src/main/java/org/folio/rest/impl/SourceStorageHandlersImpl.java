@@ -9,10 +9,10 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import org.folio.DataImportEventPayload;
-import org.folio.processing.events.EventManager;
 import org.folio.processing.events.utils.ZIPArchiver;
 import org.folio.rest.jaxrs.resource.SourceStorageHandlers;
 import org.folio.rest.util.OkapiConnectionParams;
+import org.folio.services.DataImportEventIngestionService;
 import org.folio.services.UpdateRecordEventHandlingService;
 import org.folio.spring.SpringContextUtil;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,6 +26,8 @@ public class SourceStorageHandlersImpl implements SourceStorageHandlers {
 
   @Autowired
   private UpdateRecordEventHandlingService updateRecordEventHandlingService;
+  @Autowired
+  private DataImportEventIngestionService dataImportEventIngestionService;
 
   public SourceStorageHandlersImpl(Vertx vertx, String tenantId) { //NOSONAR
     SpringContextUtil.autowireDependencies(this, Vertx.currentContext());
@@ -40,7 +42,7 @@ public class SourceStorageHandlersImpl implements SourceStorageHandlers {
         asyncResultHandler.handle(Future.succeededFuture(PostSourceStorageHandlersDataImportResponse.respond204()));
         // response status doesn't depend on event handling result
         DataImportEventPayload eventPayload = new JsonObject(ZIPArchiver.unzip(entity)).mapTo(DataImportEventPayload.class);
-        EventManager.handleEvent(eventPayload);
+        dataImportEventIngestionService.ingest(eventPayload);
       } catch (Exception e) {
         LOG.error("Error of data import event handling");
       }
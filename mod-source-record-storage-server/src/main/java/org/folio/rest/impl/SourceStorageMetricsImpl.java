@@ -0,0 +1,32 @@
+package org.folio.rest.impl;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import org.folio.metrics.MetricsUtil;
+import org.folio.rest.jaxrs.resource.SourceStorageMetrics;
+
+import javax.ws.rs.core.Response;
+import java.util.Map;
+
+public class SourceStorageMetricsImpl implements SourceStorageMetrics {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SourceStorageMetricsImpl.class);
+
+  @Override
+  public void getSourceStorageMetrics(Map<String, String> okapiHeaders,
+                                      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+    vertxContext.runOnContext(v -> {
+      try {
+        asyncResultHandler.handle(Future.succeededFuture(GetSourceStorageMetricsResponse.respond200WithTextPlain(MetricsUtil.scrape())));
+      } catch (Exception e) {
+        LOG.error("Failed to get module metrics", e);
+        asyncResultHandler.handle(Future.succeededFuture(GetSourceStorageMetricsResponse.respond500WithTextPlain(e.getMessage())));
+      }
+    });
+  }
+
+}
@@ -5,6 +5,7 @@ import static org.folio.rest.impl.ModTenantAPI.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import javax.ws.rs.core.Response;
 
@@ -17,6 +18,7 @@ import org.folio.rest.jaxrs.model.TestMarcRecordsCollection;
 import org.folio.rest.jaxrs.resource.SourceStoragePopulateTestMarcRecords;
 import org.folio.rest.tools.utils.TenantTool;
 import org.folio.services.RecordService;
+import org.folio.services.util.TenantOperationLimiter;
 import org.folio.spring.SpringContextUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -35,6 +37,8 @@ public class SourceStoragePopulateTestMarcRecordsImpl implements SourceStoragePo
 
   @Autowired
   private RecordService recordService;
+  @Autowired
+  private TenantOperationLimiter operationLimiter;
 
   private final String tenantId;
 
@@ -48,9 +52,7 @@ public class SourceStoragePopulateTestMarcRecordsImpl implements SourceStoragePo
       Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
     vertxContext.runOnContext(v -> {
       if (vertxContext.get(LOAD_SAMPLE_PARAMETER) != null && (Boolean) vertxContext.get(LOAD_SAMPLE_PARAMETER)) {
-        @SuppressWarnings("squid:S3740")
-        List<Future> futures = new ArrayList<>();
-        entity.getRawRecords().stream()
+        List<Record> records = entity.getRawRecords().stream()
           .map(rawRecord -> {
             Record record = new Record()
               .withId(rawRecord.getId())
@@ -66,7 +68,10 @@ public class SourceStoragePopulateTestMarcRecordsImpl implements SourceStoragePo
             }
             return record;
           })
-          .forEach(marcRecord -> futures.add(recordService.saveRecord(marcRecord, tenantId)));
+          .collect(Collectors.toList());
+        @SuppressWarnings("squid:S3740")
+        List<Future> futures = new ArrayList<>(operationLimiter.executeAll(tenantId, records,
+          marcRecord -> recordService.saveRecord(marcRecord, tenantId)));
 
         CompositeFuture.all(futures).onComplete(result -> {
           if (result.succeeded()) {
@@ -3,6 +3,7 @@ package org.folio.rest.impl;
 import static org.folio.dao.util.RecordDaoUtil.filterRecordBySnapshotId;
 import static org.folio.dao.util.RecordDaoUtil.filterRecordByState;
 import static org.folio.dao.util.RecordDaoUtil.toRecordOrderFields;
+import static org.folio.dao.util.RecordDaoUtil.toTotalRecordsMode;
 
 import java.util.List;
 import java.util.Map;
@@ -10,6 +11,7 @@ import java.util.Map;
 import javax.ws.rs.NotFoundException;
 import javax.ws.rs.core.Response;
 
+import org.folio.dao.util.TotalRecordsMode;
 import org.folio.dataimport.util.ExceptionHelper;
 import org.folio.rest.jaxrs.model.Record;
 import org.folio.rest.jaxrs.model.Record.State;
@@ -61,14 +63,15 @@ public class SourceStorageRecordsImpl implements SourceStorageRecords {
   }
 
   @Override
-  public void getSourceStorageRecords(String snapshotId, String state, List<String> orderBy, int offset, int limit,
-      String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler,
+  public void getSourceStorageRecords(String snapshotId, String state, List<String> orderBy, String totalRecords, int offset,
+      int limit, String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler,
       Context vertxContext) {
     vertxContext.runOnContext(v -> {
       try {
         Condition condition = filterRecordBySnapshotId(snapshotId).and(filterRecordByState(state));
         List<OrderField<?>> orderFields = toRecordOrderFields(orderBy);
-        recordService.getRecords(condition, orderFields, offset, limit, tenantId)
+        TotalRecordsMode totalRecordsMode = toTotalRecordsMode(totalRecords, TotalRecordsMode.EXACT);
+        recordService.getRecords(condition, orderFields, offset, limit, totalRecordsMode, tenantId)
           .map(GetSourceStorageRecordsResponse::respond200WithApplicationJson).map(Response.class::cast)
           .otherwise(ExceptionHelper::mapExceptionToResponse).onComplete(asyncResultHandler);
       } catch (Exception e) {
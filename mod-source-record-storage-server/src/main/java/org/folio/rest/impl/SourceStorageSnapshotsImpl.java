@@ -10,6 +10,7 @@ import io.vertx.core.logging.LoggerFactory;
 import org.folio.dataimport.util.ExceptionHelper;
 import org.folio.dataimport.util.OkapiConnectionParams;
 import org.folio.rest.jaxrs.model.Snapshot;
+import org.folio.rest.jaxrs.model.SnapshotDeletion;
 import org.folio.rest.jaxrs.resource.SourceStorageSnapshots;
 import org.folio.rest.tools.utils.TenantTool;
 import org.folio.services.SnapshotRemovalService;
@@ -137,4 +138,42 @@ public class SourceStorageSnapshotsImpl implements SourceStorageSnapshots {
     });
   }
 
+  @Override
+  public void postSourceStorageSnapshotsDeletionByJobExecutionId(String jobExecutionId, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+    vertxContext.runOnContext(v -> {
+      try {
+        snapshotRemovalService.startSnapshotDeletion(jobExecutionId, new OkapiConnectionParams(okapiHeaders, vertxContext.owner()))
+          .map(optionalDeletion -> optionalDeletion.orElseThrow(() ->
+            new NotFoundException(String.format(NOT_FOUND_MESSAGE, Snapshot.class.getSimpleName(), jobExecutionId))))
+          .map(PostSourceStorageSnapshotsDeletionByJobExecutionIdResponse::respond202WithApplicationJson)
+          .map(Response.class::cast)
+          .otherwise(ExceptionHelper::mapExceptionToResponse)
+          .onComplete(asyncResultHandler);
+      } catch (Exception e) {
+        LOG.error("Failed to start deletion of snapshot {}", e, jobExecutionId);
+        asyncResultHandler.handle(Future.succeededFuture(ExceptionHelper.mapExceptionToResponse(e)));
+      }
+    });
+  }
+
+  @Override
+  public void getSourceStorageSnapshotsDeletionByJobExecutionId(String jobExecutionId, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+    vertxContext.runOnContext(v -> {
+      try {
+        snapshotRemovalService.getSnapshotDeletion(jobExecutionId, tenantId)
+          .map(optionalDeletion -> optionalDeletion.orElseThrow(() ->
+            new NotFoundException(String.format(NOT_FOUND_MESSAGE, SnapshotDeletion.class.getSimpleName(), jobExecutionId))))
+          .map(GetSourceStorageSnapshotsDeletionByJobExecutionIdResponse::respond200WithApplicationJson)
+          .map(Response.class::cast)
+          .otherwise(ExceptionHelper::mapExceptionToResponse)
+          .onComplete(asyncResultHandler);
+      } catch (Exception e) {
+        LOG.error("Failed to get deletion of snapshot {}", e, jobExecutionId);
+        asyncResultHandler.handle(Future.succeededFuture(ExceptionHelper.mapExceptionToResponse(e)));
+      }
+    });
+  }
+
 }
@@ -10,19 +10,24 @@ import static org.folio.dao.util.RecordDaoUtil.filterRecordBySuppressFromDiscove
 import static org.folio.dao.util.RecordDaoUtil.filterRecordByType;
 import static org.folio.dao.util.RecordDaoUtil.filterRecordByUpdatedDateRange;
 import static org.folio.dao.util.RecordDaoUtil.toRecordOrderFields;
+import static org.folio.dao.util.RecordDaoUtil.toTotalRecordsMode;
 
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import javax.ws.rs.NotFoundException;
 import javax.ws.rs.core.Response;
 
+import org.folio.dao.util.TotalRecordsMode;
 import org.folio.dataimport.util.ExceptionHelper;
 import org.folio.rest.jaxrs.model.SourceRecord;
+import org.folio.rest.jaxrs.model.SourceRecordCollection;
 import org.folio.rest.jaxrs.resource.SourceStorageSourceRecords;
 import org.folio.rest.tools.utils.TenantTool;
 import org.folio.services.RecordService;
+import org.folio.services.util.CursorUtil;
 import org.folio.spring.SpringContextUtil;
 import org.jooq.Condition;
 import org.jooq.OrderField;
@@ -41,6 +46,7 @@ public class SourceStorageSourceRecordsImpl implements SourceStorageSourceRecord
   private static final Logger LOG = LoggerFactory.getLogger(SourceStorageSourceRecordsImpl.class);
 
   private static final String NOT_FOUND_MESSAGE = "%s with id '%s' was not found";
+  private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
   @Autowired
   private RecordService recordService;
@@ -55,7 +61,7 @@ public class SourceStorageSourceRecordsImpl implements SourceStorageSourceRecord
   @Override
   public void getSourceStorageSourceRecords(String recordId, String snapshotId, String instanceId, String instanceHrid, String recordType,
       Boolean suppressFromDiscovery, Boolean deleted, String leaderRecordStatus, Date updatedAfter, Date updatedBefore,
-      List<String> orderBy, int offset, int limit, Map<String, String> okapiHeaders,
+      List<String> orderBy, String cursor, String totalRecords, int offset, int limit, Map<String, String> okapiHeaders,
       Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
     // NOTE: if and when a new record type is introduced and a parsed record table is added,
     // will need to add a record type query parameter
@@ -70,8 +76,18 @@ public class SourceStorageSourceRecordsImpl implements SourceStorageSourceRecord
           .and(filterRecordByDeleted(deleted))
           .and(filterRecordByLeaderRecordStatus(leaderRecordStatus))
           .and(filterRecordByUpdatedDateRange(updatedAfter, updatedBefore));
+        if (Objects.nonNull(cursor)) {
+          // counting on each page defeats keyset pagination, so total records are omitted unless requested
+          TotalRecordsMode totalRecordsMode = toTotalRecordsMode(totalRecords, TotalRecordsMode.NONE);
+          recordService.getSourceRecords(condition, cursor, limit, totalRecordsMode, tenantId)
+            .map(sourceRecordCollection -> withNextCursor(sourceRecordCollection, limit))
+            .otherwise(ExceptionHelper::mapExceptionToResponse)
+            .onComplete(asyncResultHandler);
+          return;
+        }
         List<OrderField<?>> orderFields = toRecordOrderFields(orderBy);
-        recordService.getSourceRecords(condition, orderFields, offset, limit, tenantId)
+        TotalRecordsMode totalRecordsMode = toTotalRecordsMode(totalRecords, TotalRecordsMode.EXACT);
+        recordService.getSourceRecords(condition, orderFields, offset, limit, totalRecordsMode, tenantId)
           .map(GetSourceStorageSourceRecordsResponse::respond200WithApplicationJson)
           .map(Response.class::cast)
           .otherwise(ExceptionHelper::mapExceptionToResponse)
@@ -83,6 +99,19 @@ public class SourceStorageSourceRecordsImpl implements SourceStorageSourceRecord
     });
   }
 
+  private Response withNextCursor(SourceRecordCollection sourceRecordCollection, int limit) {
+    Response response = GetSourceStorageSourceRecordsResponse.respond200WithApplicationJson(sourceRecordCollection);
+    List<SourceRecord> sourceRecords = sourceRecordCollection.getSourceRecords();
+    if (sourceRecords.size() < limit) {
+      return response;
+    }
+    // parsed record shares id with record, source record id is matched id
+    String lastId = sourceRecords.get(sourceRecords.size() - 1).getParsedRecord().getId();
+    return Response.fromResponse(response)
+      .header(NEXT_CURSOR_HEADER, CursorUtil.toCursor(lastId))
+      .build();
+  }
+
   @Override
   public void postSourceStorageSourceRecords(String idType, Boolean deleted, List<String> entity, Map<String, String> okapiHeaders,
       Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
@@ -0,0 +1,178 @@
+package org.folio.rest.impl;
+
+import static org.folio.dao.util.RecordDaoUtil.filterRecordByDeleted;
+import static org.folio.dao.util.RecordDaoUtil.filterRecordByInstanceHrid;
+import static org.folio.dao.util.RecordDaoUtil.filterRecordByInstanceId;
+import static org.folio.dao.util.RecordDaoUtil.filterRecordByLeaderRecordStatus;
+import static org.folio.dao.util.RecordDaoUtil.filterRecordByRecordId;
+import static org.folio.dao.util.RecordDaoUtil.filterRecordBySnapshotId;
+import static org.folio.dao.util.RecordDaoUtil.filterRecordBySuppressFromDiscovery;
+import static org.folio.dao.util.RecordDaoUtil.filterRecordByType;
+import static org.folio.dao.util.RecordDaoUtil.filterRecordByUpdatedDateRange;
+import static org.folio.dao.util.RecordDaoUtil.toRecordOrderFields;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import javax.ws.rs.core.Response;
+
+import org.folio.dataimport.util.ExceptionHelper;
+import org.folio.rest.jaxrs.model.SourceRecord;
+import org.folio.rest.jaxrs.resource.SourceStorageStream;
+import org.folio.rest.tools.utils.TenantTool;
+import org.folio.services.RecordService;
+import org.folio.spring.SpringContextUtil;
+import org.jooq.Condition;
+import org.jooq.OrderField;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.Json;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import io.vertx.core.streams.WriteStream;
+import io.vertx.ext.web.RoutingContext;
+
+public class SourceStorageStreamImpl implements SourceStorageStream {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SourceStorageStreamImpl.class);
+
+  private static final String NDJSON_CONTENT_TYPE = "application/x-ndjson";
+  private static final String TEXT_CONTENT_TYPE = "text/plain";
+
+  @Autowired
+  private RecordService recordService;
+
+  private final String tenantId;
+
+  public SourceStorageStreamImpl(Vertx vertx, String tenantId) { //NOSONAR
+    SpringContextUtil.autowireDependencies(this, Vertx.currentContext());
+    this.tenantId = TenantTool.calculateTenantId(tenantId);
+  }
+
+  /*
+   * Source records are written directly to the response as they are read from database cursor,
+   * so the result is never built in memory and async result handler is not used.
+   */
+  @Override
+  public void getSourceStorageStreamSourceRecords(String recordId, String snapshotId, String instanceId, String instanceHrid,
+      String recordType, Boolean suppressFromDiscovery, Boolean deleted, String leaderRecordStatus, Date updatedAfter,
+      Date updatedBefore, List<String> orderBy, int offset, int limit, RoutingContext routingContext,
+      Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+    vertxContext.runOnContext(v -> {
+      HttpServerResponse response = routingContext.response();
+      try {
+        Condition condition = filterRecordByRecordId(recordId)
+          .and(filterRecordBySnapshotId(snapshotId))
+          .and(filterRecordByInstanceId(instanceId))
+          .and(filterRecordByInstanceHrid(instanceHrid))
+          .and(filterRecordByType(recordType))
+          .and(filterRecordBySuppressFromDiscovery(suppressFromDiscovery))
+          .and(filterRecordByDeleted(deleted))
+          .and(filterRecordByLeaderRecordStatus(leaderRecordStatus))
+          .and(filterRecordByUpdatedDateRange(updatedAfter, updatedBefore));
+        List<OrderField<?>> orderFields = toRecordOrderFields(orderBy);
+        response.setChunked(true)
+          .putHeader(HttpHeaders.CONTENT_TYPE, NDJSON_CONTENT_TYPE);
+        recordService.streamSourceRecords(condition, orderFields, offset, limit, tenantId, new SourceRecordWriteStream(response))
+          .onComplete(ar -> {
+            if (ar.succeeded()) {
+              response.end();
+            } else {
+              handleFailure(response, ar.cause());
+            }
+          });
+      } catch (Exception e) {
+        handleFailure(response, e);
+      }
+    });
+  }
+
+  private void handleFailure(HttpServerResponse response, Throwable cause) {
+    LOG.error("Failed to stream source records", cause);
+    if (response.closed() || response.ended()) {
+      return;
+    }
+    if (response.headWritten()) {
+      // part of the result is already sent, client must see the stream as interrupted
+      response.close();
+      return;
+    }
+    Response errorResponse = ExceptionHelper.mapExceptionToResponse(cause);
+    response.setChunked(false)
+      .setStatusCode(errorResponse.getStatus())
+      .putHeader(HttpHeaders.CONTENT_TYPE, TEXT_CONTENT_TYPE)
+      .end(String.valueOf(errorResponse.getEntity()));
+  }
+
+  /**
+   * Writes {@link SourceRecord}s to http response as newline delimited JSON
+   */
+  private static class SourceRecordWriteStream implements WriteStream<SourceRecord> {
+
+    private final HttpServerResponse response;
+
+    private SourceRecordWriteStream(HttpServerResponse response) {
+      this.response = response;
+    }
+
+    @Override
+    public WriteStream<SourceRecord> exceptionHandler(Handler<Throwable> handler) {
+      response.exceptionHandler(handler);
+      response.closeHandler(v -> handler.handle(new IllegalStateException("Connection was closed by client")));
+      return this;
+    }
+
+    @Override
+    public WriteStream<SourceRecord> write(SourceRecord sourceRecord) {
+      response.write(toLine(sourceRecord));
+      return this;
+    }
+
+    @Override
+    public WriteStream<SourceRecord> write(SourceRecord sourceRecord, Handler<AsyncResult<Void>> handler) {
+      response.write(toLine(sourceRecord), handler);
+      return this;
+    }
+
+    @Override
+    public void end() {
+      response.end();
+    }
+
+    @Override
+    public void end(Handler<AsyncResult<Void>> handler) {
+      response.end(handler);
+    }
+
+    @Override
+    public WriteStream<SourceRecord> setWriteQueueMaxSize(int maxSize) {
+      response.setWriteQueueMaxSize(maxSize);
+      return this;
+    }
+
+    @Override
+    public boolean writeQueueFull() {
+      return response.writeQueueFull();
+    }
+
+    @Override
+    public WriteStream<SourceRecord> drainHandler(Handler<Void> handler) {
+      response.drainHandler(handler);
+      return this;
+    }
+
+    private Buffer toLine(SourceRecord sourceRecord) {
+      return Json.encodeToBuffer(sourceRecord).appendString("\n");
+    }
+
+  }
+
+}
@@ -0,0 +1,19 @@
+package org.folio.services;
+
+import org.folio.DataImportEventPayload;
+
+/**
+ * Ingestion stage of data import events received from mod-pubsub
+ */
+public interface DataImportEventIngestionService {
+
+  /**
+   * Buffers data import event with other events of the same tenant and event type. Buffered events are prepared
+   * by {@link org.folio.services.handlers.BatchEventHandler}s as a batch and then handled one by one
+   * by {@link org.folio.processing.events.EventManager}
+   *
+   * @param eventPayload data import event payload
+   */
+  void ingest(DataImportEventPayload eventPayload);
+
+}
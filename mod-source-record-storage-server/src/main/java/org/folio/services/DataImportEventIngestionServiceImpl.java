@@ -0,0 +1,116 @@
+package org.folio.services;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.folio.DataImportEventPayload;
+import org.folio.processing.events.EventManager;
+import org.folio.services.handlers.BatchEventHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Buffers data import events per tenant and event type until {@link #BATCH_SIZE} events are received
+ * or {@link #BATCH_DELAY} milliseconds have passed since the first event of the batch
+ */
+@Service
+public class DataImportEventIngestionServiceImpl implements DataImportEventIngestionService {
+
+  private static final Logger LOG = LoggerFactory.getLogger(DataImportEventIngestionServiceImpl.class);
+
+  private static final int BATCH_SIZE = Integer.parseInt(System.getProperty("DATA_IMPORT_BATCH_SIZE", "50"));
+  private static final long BATCH_DELAY = Long.parseLong(System.getProperty("DATA_IMPORT_BATCH_DELAY_MS", "10"));
+
+  private final Vertx vertx;
+  private final List<BatchEventHandler> batchEventHandlers;
+  private final Map<String, EventBatch> batches = new HashMap<>();
+
+  @Autowired
+  public DataImportEventIngestionServiceImpl(Vertx vertx, List<BatchEventHandler> batchEventHandlers) {
+    this.vertx = vertx;
+    this.batchEventHandlers = batchEventHandlers;
+  }
+
+  @Override
+  public void ingest(DataImportEventPayload eventPayload) {
+    if (BATCH_SIZE <= 1) {
+      handleEvent(eventPayload);
+      return;
+    }
+    String key = eventPayload.getTenant() + ":" + eventPayload.getEventType();
+    List<DataImportEventPayload> fullBatch = null;
+    synchronized (batches) {
+      EventBatch batch = batches.get(key);
+      if (batch == null) {
+        EventBatch newBatch = new EventBatch();
+        newBatch.timerId = vertx.setTimer(BATCH_DELAY, timerId -> flush(key, newBatch));
+        batches.put(key, newBatch);
+        batch = newBatch;
+      }
+      batch.eventPayloads.add(eventPayload);
+      if (batch.eventPayloads.size() >= BATCH_SIZE) {
+        batches.remove(key);
+        vertx.cancelTimer(batch.timerId);
+        fullBatch = batch.eventPayloads;
+      }
+    }
+    if (fullBatch != null) {
+      handleBatch(fullBatch);
+    }
+  }
+
+  private void flush(String key, EventBatch batch) {
+    synchronized (batches) {
+      if (!batches.remove(key, batch)) {
+        // batch is already handled since it became full
+        return;
+      }
+    }
+    handleBatch(batch.eventPayloads);
+  }
+
+  @SuppressWarnings("squid:S3740")
+  private void handleBatch(List<DataImportEventPayload> eventPayloads) {
+    List<Future> preparations = batchEventHandlers.stream()
+      .map(handler -> prepareBatch(handler, eventPayloads))
+      .collect(Collectors.toList());
+    CompositeFuture.join(preparations).onComplete(ar -> {
+      if (ar.failed()) {
+        LOG.warn("Failed to prepare batch of {} events, not prepared events are handled one by one", ar.cause(), eventPayloads.size());
+      }
+      eventPayloads.forEach(this::handleEvent);
+    });
+  }
+
+  private Future<Void> prepareBatch(BatchEventHandler handler, List<DataImportEventPayload> eventPayloads) {
+    try {
+      return handler.prepareBatch(eventPayloads);
+    } catch (Exception e) {
+      return Future.failedFuture(e);
+    }
+  }
+
+  private void handleEvent(DataImportEventPayload eventPayload) {
+    try {
+      EventManager.handleEvent(eventPayload);
+    } catch (Exception e) {
+      LOG.error("Error of data import event handling", e);
+    }
+  }
+
+  private static class EventBatch {
+
+    private final List<DataImportEventPayload> eventPayloads = new ArrayList<>();
+    private long timerId;
+  }
+
+}
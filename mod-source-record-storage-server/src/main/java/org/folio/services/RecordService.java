@@ -4,6 +4,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.folio.dao.util.TotalRecordsMode;
 import org.folio.rest.jaxrs.model.ParsedRecordDto;
 import org.folio.rest.jaxrs.model.ParsedRecordsBatchResponse;
 import org.folio.rest.jaxrs.model.Record;
@@ -15,6 +16,7 @@ import org.jooq.Condition;
 import org.jooq.OrderField;
 
 import io.vertx.core.Future;
+import io.vertx.core.streams.WriteStream;
 
 public interface RecordService {
 
@@ -30,6 +32,21 @@ public interface RecordService {
    */
   Future<RecordCollection> getRecords(Condition condition, Collection<OrderField<?>> orderFields, int offset, int limit, String tenantId);
 
+  /**
+   * Searches for {@link Record} by {@link Condition} and ordered by collection of {@link OrderField} with offset and limit,
+   * total records are calculated according to {@link TotalRecordsMode}
+   *
+   * @param condition        query where condition
+   * @param orderFields      fields to order by
+   * @param offset           starting index in a list of results
+   * @param limit            limit of records for pagination
+   * @param totalRecordsMode strategy of total records calculation
+   * @param tenantId         tenant id
+   * @return future with {@link RecordCollection}
+   */
+  Future<RecordCollection> getRecords(Condition condition, Collection<OrderField<?>> orderFields, int offset, int limit,
+                                      TotalRecordsMode totalRecordsMode, String tenantId);
+
   /**
    * Searches for record by id
    *
@@ -78,6 +95,48 @@ public interface RecordService {
    */
   Future<SourceRecordCollection> getSourceRecords(Condition condition, Collection<OrderField<?>> orderFields, int offset, int limit, String tenantId);
 
+  /**
+   * Searches for {@link SourceRecord} by {@link Condition} and ordered by order fields with offset and limit,
+   * total records are calculated according to {@link TotalRecordsMode}
+   *
+   * @param condition        query where condition
+   * @param orderFields      fields to order by
+   * @param offset           starting index in a list of results
+   * @param limit            limit of records for pagination
+   * @param totalRecordsMode strategy of total records calculation
+   * @param tenantId         tenant id
+   * @return future with {@link SourceRecordCollection}
+   */
+  Future<SourceRecordCollection> getSourceRecords(Condition condition, Collection<OrderField<?>> orderFields, int offset, int limit,
+                                                  TotalRecordsMode totalRecordsMode, String tenantId);
+
+  /**
+   * Searches for {@link SourceRecord} by {@link Condition} using keyset pagination, records are ordered by id
+   *
+   * @param condition        query where condition
+   * @param cursor           opaque cursor of the page, {@link org.folio.services.util.CursorUtil#FIRST_PAGE_CURSOR} for the first page
+   * @param limit            limit of records for pagination
+   * @param totalRecordsMode strategy of total records calculation
+   * @param tenantId         tenant id
+   * @return future with {@link SourceRecordCollection}
+   */
+  Future<SourceRecordCollection> getSourceRecords(Condition condition, String cursor, int limit, TotalRecordsMode totalRecordsMode,
+                                                  String tenantId);
+
+  /**
+   * Streams {@link SourceRecord} by {@link Condition} and ordered by order fields with offset and limit to {@link WriteStream}
+   *
+   * @param condition   query where condition
+   * @param orderFields fields to order by
+   * @param offset      starting index in a list of results
+   * @param limit       limit of records
+   * @param tenantId    tenant id
+   * @param writeStream stream to write source records to
+   * @return future completed when all source records are written
+   */
+  Future<Void> streamSourceRecords(Condition condition, Collection<OrderField<?>> orderFields, int offset, int limit,
+                                   String tenantId, WriteStream<SourceRecord> writeStream);
+
   /**
    * Searches for {@link SourceRecord} where id in a list of ids defined by id type. i.e. INSTANCE or RECORD
    *
@@ -2,13 +2,12 @@ package org.folio.services;
 
 import static java.lang.String.format;
 
-import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 import javax.ws.rs.BadRequestException;
 import javax.ws.rs.NotFoundException;
@@ -16,11 +15,13 @@ import javax.ws.rs.NotFoundException;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.util.Strings;
 import org.folio.dao.RecordDao;
+import org.folio.dao.cache.SnapshotCache;
 import org.folio.dao.util.ExternalIdType;
 import org.folio.dao.util.MarcUtil;
 import org.folio.dao.util.ParsedRecordDaoUtil;
 import org.folio.dao.util.RecordDaoUtil;
 import org.folio.dao.util.SnapshotDaoUtil;
+import org.folio.dao.util.TotalRecordsMode;
 import org.folio.rest.jaxrs.model.AdditionalInfo;
 import org.folio.rest.jaxrs.model.ParsedRecord;
 import org.folio.rest.jaxrs.model.ParsedRecordDto;
@@ -32,6 +33,8 @@ import org.folio.rest.jaxrs.model.RecordsBatchResponse;
 import org.folio.rest.jaxrs.model.Snapshot;
 import org.folio.rest.jaxrs.model.SourceRecord;
 import org.folio.rest.jaxrs.model.SourceRecordCollection;
+import org.folio.services.util.CursorUtil;
+import org.folio.services.util.TenantOperationLimiter;
 import org.jooq.Condition;
 import org.jooq.OrderField;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -42,6 +45,7 @@ import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
+import io.vertx.core.streams.WriteStream;
 
 @Service
 public class RecordServiceImpl implements RecordService {
@@ -49,10 +53,15 @@ public class RecordServiceImpl implements RecordService {
   private static final Logger LOG = LoggerFactory.getLogger(RecordServiceImpl.class);
 
   private final RecordDao recordDao;
+  private final TenantOperationLimiter operationLimiter;
+  private final SnapshotCache snapshotCache;
 
   @Autowired
-  public RecordServiceImpl(final RecordDao recordDao) {
+  public RecordServiceImpl(final RecordDao recordDao, final TenantOperationLimiter operationLimiter,
+                           final SnapshotCache snapshotCache) {
     this.recordDao = recordDao;
+    this.operationLimiter = operationLimiter;
+    this.snapshotCache = snapshotCache;
   }
 
   @Override
@@ -61,6 +70,12 @@ public class RecordServiceImpl implements RecordService {
     return recordDao.getRecords(condition, orderFields, offset, limit, tenantId);
   }
 
+  @Override
+  public Future<RecordCollection> getRecords(Condition condition, Collection<OrderField<?>> orderFields, int offset,
+      int limit, TotalRecordsMode totalRecordsMode, String tenantId) {
+    return recordDao.getRecords(condition, orderFields, offset, limit, totalRecordsMode, tenantId);
+  }
+
   @Override
   public Future<Optional<Record>> getRecordById(String id, String tenantId) {
     return recordDao.getRecordById(id, tenantId);
@@ -74,13 +89,9 @@ public class RecordServiceImpl implements RecordService {
 
   @Override
   public Future<Record> saveRecord(Record record, String tenantId) {
-    if (Objects.isNull(record.getId())) {
-      record.setId(UUID.randomUUID().toString());
-    }
-    if (Objects.isNull(record.getAdditionalInfo()) || Objects.isNull(record.getAdditionalInfo().getSuppressDiscovery())) {
-      record.setAdditionalInfo(new AdditionalInfo().withSuppressDiscovery(false));
-    }
-    return recordDao.executeInTransaction(txQE -> SnapshotDaoUtil.findById(txQE, record.getSnapshotId())
+    setDefaults(record);
+    return recordDao.executeInTransaction(txQE -> snapshotCache.get(tenantId, record.getSnapshotId(),
+        () -> SnapshotDaoUtil.findById(txQE, record.getSnapshotId()))
       .map(optionalSnapshot -> optionalSnapshot
         .orElseThrow(() -> new NotFoundException("Couldn't find snapshot with id " + record.getSnapshotId())))
       .compose(snapshot -> {
@@ -89,33 +100,26 @@ public class RecordServiceImpl implements RecordService {
           String message = String.format(msgTemplate, snapshot.getStatus());
           return Future.failedFuture(new BadRequestException(message));
         }
-        return Future.succeededFuture();
-      })
-      .compose(v -> {
-        if (Objects.isNull(record.getGeneration())) {
-          return recordDao.calculateGeneration(txQE, record);
-        }
-        return Future.succeededFuture(record.getGeneration());
+        return recordDao.supersedePreviousRecords(txQE, record, snapshot.getProcessingStartedDate());
       })
-      .compose(generation -> {
-        if (generation > 0) {
-          return recordDao.getRecordByMatchedId(txQE, record.getMatchedId())
-            .compose(optionalMatchedRecord -> optionalMatchedRecord
-              .map(matchedRecord -> recordDao.saveUpdatedRecord(txQE, ensureRecordForeignKeys(record.withGeneration(generation)), matchedRecord.withState(Record.State.OLD)))
-              .orElse(recordDao.saveRecord(txQE, ensureRecordForeignKeys(record.withGeneration(generation)))));
-        } else {
-          return recordDao.saveRecord(txQE, ensureRecordForeignKeys(record.withGeneration(generation)));
-        }
-      }),
+      .compose(generation -> recordDao.saveRecord(txQE, ensureRecordForeignKeys(record.withGeneration(generation)))),
       tenantId);
   }
 
   @Override
   public Future<RecordsBatchResponse> saveRecords(RecordCollection recordCollection, String tenantId) {
+    recordCollection.getRecords().forEach(record -> ensureRecordForeignKeys(setDefaults(record)));
+    return recordDao.saveRecords(recordCollection, tenantId)
+      .recover(e -> {
+        LOG.warn("Failed to save batch of records with set-based statements, falling back to saving records one by one", e);
+        return saveRecordsOneByOne(recordCollection, tenantId);
+      });
+  }
+
+  private Future<RecordsBatchResponse> saveRecordsOneByOne(RecordCollection recordCollection, String tenantId) {
     @SuppressWarnings("squid:S3740")
-    List<Future> futures = recordCollection.getRecords().stream()
-      .map(record -> saveRecord(record, tenantId))
-      .collect(Collectors.toList());
+    List<Future> futures = new ArrayList<>(operationLimiter.executeAll(tenantId, recordCollection.getRecords(),
+      record -> saveRecord(record, tenantId)));
     Promise<RecordsBatchResponse> promise = Promise.promise();
     CompositeFuture.join(futures).onComplete(ar -> {
       RecordsBatchResponse response = new RecordsBatchResponse();
@@ -143,6 +147,25 @@ public class RecordServiceImpl implements RecordService {
     return recordDao.getSourceRecords(condition, orderFields, offset, limit, tenantId);
   }
 
+  @Override
+  public Future<SourceRecordCollection> getSourceRecords(Condition condition, Collection<OrderField<?>> orderFields,
+      int offset, int limit, TotalRecordsMode totalRecordsMode, String tenantId) {
+    return recordDao.getSourceRecords(condition, orderFields, offset, limit, totalRecordsMode, tenantId);
+  }
+
+  @Override
+  public Future<SourceRecordCollection> getSourceRecords(Condition condition, String cursor, int limit,
+      TotalRecordsMode totalRecordsMode, String tenantId) {
+    String afterId = CursorUtil.toAfterId(cursor).orElse(null);
+    return recordDao.getSourceRecords(condition, afterId, limit, totalRecordsMode, tenantId);
+  }
+
+  @Override
+  public Future<Void> streamSourceRecords(Condition condition, Collection<OrderField<?>> orderFields, int offset, int limit,
+                                          String tenantId, WriteStream<SourceRecord> writeStream) {
+    return recordDao.streamSourceRecords(condition, orderFields, offset, limit, tenantId, writeStream);
+  }
+
   @Override
   public Future<SourceRecordCollection> getSourceRecords(List<String> ids, String idType, Boolean deleted, String tenantId) {
     ExternalIdType externalIdType = RecordDaoUtil.toExternalIdType(idType);
@@ -157,25 +180,8 @@ public class RecordServiceImpl implements RecordService {
 
   @Override
   public Future<ParsedRecordsBatchResponse> updateParsedRecords(RecordCollection recordCollection, String tenantId) {
-    @SuppressWarnings("squid:S3740")
-    List<Future> futures = recordCollection.getRecords().stream()
-      .map(this::validateParsedRecordId)
-      .map(record -> recordDao.updateParsedRecord(record, tenantId))
-      .collect(Collectors.toList());
-    Promise<ParsedRecordsBatchResponse> promise = Promise.promise();
-    CompositeFuture.join(futures).onComplete(ar -> {
-      ParsedRecordsBatchResponse response = new ParsedRecordsBatchResponse();
-      futures.forEach(update -> {
-        if (update.failed()) {
-          response.getErrorMessages().add(update.cause().getMessage());
-        } else {
-          response.getParsedRecords().add((ParsedRecord) update.result());
-        }
-      });
-      response.setTotalRecords(response.getParsedRecords().size());
-      promise.complete(response);
-    });
-    return promise.future();
+    recordCollection.getRecords().forEach(this::validateParsedRecordId);
+    return recordDao.updateParsedRecords(recordCollection, tenantId);
   }
 
   @Override
@@ -221,6 +227,16 @@ public class RecordServiceImpl implements RecordService {
           String.format("Record with id '%s' was not found", parsedRecordDto.getId()))))), tenantId);
   }
 
+  private Record setDefaults(Record record) {
+    if (Objects.isNull(record.getId())) {
+      record.setId(UUID.randomUUID().toString());
+    }
+    if (Objects.isNull(record.getAdditionalInfo()) || Objects.isNull(record.getAdditionalInfo().getSuppressDiscovery())) {
+      record.setAdditionalInfo(new AdditionalInfo().withSuppressDiscovery(false));
+    }
+    return record;
+  }
+
   private Record ensureRecordForeignKeys(Record record) {
     if (Objects.nonNull(record.getRawRecord()) && StringUtils.isEmpty(record.getRawRecord().getId())) {
       record.getRawRecord().setId(record.getId());
@@ -245,8 +261,9 @@ public class RecordServiceImpl implements RecordService {
     try {
       String parsedRecordContent = ParsedRecordDaoUtil.normalizeContent(record.getParsedRecord());
       record.getParsedRecord().setFormattedContent(MarcUtil.marcJsonToTxtMarc(parsedRecordContent));
-    } catch (IOException e) {
+    } catch (Exception e) {
       LOG.error("Couldn't format MARC record", e);
+      throw new IllegalStateException(format("Couldn't format MARC record with id %s", record.getId()), e);
     }
     return record;
   }
@@ -2,6 +2,9 @@ package org.folio.services;
 
 import io.vertx.core.Future;
 import org.folio.dataimport.util.OkapiConnectionParams;
+import org.folio.rest.jaxrs.model.SnapshotDeletion;
+
+import java.util.Optional;
 
 public interface SnapshotRemovalService {
 
@@ -13,4 +16,23 @@ public interface SnapshotRemovalService {
    * @return future with true if snapshot was deleted
    */
   Future<Boolean> deleteSnapshot(String snapshotId, OkapiConnectionParams params);
+
+  /**
+   * Starts deletion of snapshot, its records and inventory instances associated to the records in background.
+   * Snapshot is not returned by snapshot searches while deletion is in progress, records are deleted in chunks
+   *
+   * @param snapshotId snapshot id
+   * @param params     okapi connection parameters
+   * @return future with {@link SnapshotDeletion} in progress, or empty optional if snapshot does not exist
+   */
+  Future<Optional<SnapshotDeletion>> startSnapshotDeletion(String snapshotId, OkapiConnectionParams params);
+
+  /**
+   * Searches for {@link SnapshotDeletion} by snapshot id
+   *
+   * @param snapshotId snapshot id
+   * @param tenantId   tenant id
+   * @return future with optional {@link SnapshotDeletion}
+   */
+  Future<Optional<SnapshotDeletion>> getSnapshotDeletion(String snapshotId, String tenantId);
 }
@@ -3,26 +3,37 @@ package org.folio.services;
 import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import org.folio.dao.RecordDao;
-import org.folio.dao.util.RecordDaoUtil;
+import org.folio.dao.SnapshotDao;
+import org.folio.dao.util.SnapshotDeletionDaoUtil;
 import org.folio.dataimport.util.OkapiConnectionParams;
 import org.folio.dataimport.util.RestUtil;
-import org.folio.rest.jaxrs.model.Record;
-import org.jooq.Condition;
+import org.folio.rest.jaxrs.model.SnapshotDeletion;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.apache.http.HttpStatus.SC_INTERNAL_SERVER_ERROR;
+import static org.apache.http.HttpStatus.SC_NOT_FOUND;
 import static org.apache.http.HttpStatus.SC_NO_CONTENT;
-import static org.folio.dao.util.RecordDaoUtil.filterRecordBySnapshotId;
 
+/**
+ * Deletes inventory instances of snapshot records before deleting the snapshot itself.
+ * Instance ids are read page by page using keyset pagination and deleted with limited number of concurrent requests,
+ * failed requests are retried with exponential backoff. Snapshot can be deleted in background, in that case records are deleted
+ * in chunks and deletion progress is saved after each chunk. Deletion in background is kept alive while it runs, so that
+ * deletion abandoned by a stopped module instance is continued when its deletion is started again
+ */
 @Service
 public class SnapshotRemovalServiceImpl implements SnapshotRemovalService {
 
@@ -30,75 +41,191 @@ public class SnapshotRemovalServiceImpl implements SnapshotRemovalService {
 
   private static final String INVENTORY_INSTANCES_PATH = "/inventory/instances/%s";
   private static final int RECORDS_LIMIT = Integer.parseInt(System.getProperty("RECORDS_READING_LIMIT", "50"));
+  private static final int DELETION_CONCURRENCY = Integer.parseInt(System.getProperty("INVENTORY_DELETION_CONCURRENCY", "5"));
+  private static final int DELETION_MAX_ATTEMPTS = Integer.parseInt(System.getProperty("INVENTORY_DELETION_MAX_ATTEMPTS", "3"));
+  private static final long DELETION_RETRY_DELAY = Long.parseLong(System.getProperty("INVENTORY_DELETION_RETRY_DELAY_MS", "1000"));
+  private static final int RECORDS_DELETION_CHUNK_SIZE = Integer.parseInt(System.getProperty("RECORDS_DELETION_CHUNK_SIZE", "1000"));
+  private static final long DELETION_REFRESH_INTERVAL = SnapshotDeletionDaoUtil.DELETION_TIMEOUT / 4;
 
-  private SnapshotService snapshotService;
-  private RecordService recordService;
+  private SnapshotDao snapshotDao;
   private RecordDao recordDao;
 
   @Autowired
-  public SnapshotRemovalServiceImpl(SnapshotService snapshotService, RecordService recordService, RecordDao recordDao) {
-    this.snapshotService = snapshotService;
-    this.recordService = recordService;
+  public SnapshotRemovalServiceImpl(SnapshotDao snapshotDao, RecordDao recordDao) {
+    this.snapshotDao = snapshotDao;
     this.recordDao = recordDao;
   }
 
   @Override
   public Future<Boolean> deleteSnapshot(String snapshotId, OkapiConnectionParams params) {
     return deleteInstancesBySnapshotId(snapshotId, params)
-      .compose(ar -> snapshotService.deleteSnapshot(snapshotId, params.getTenantId()));
+      .compose(ar -> recordDao.deleteRecordsBySnapshotId(snapshotId, params.getTenantId()));
   }
 
-  private Future<Void> deleteInstancesBySnapshotId(String snapshotId, OkapiConnectionParams params) {
-    Condition condition = filterRecordBySnapshotId(snapshotId);
-    return recordDao.executeInTransaction(txQE -> RecordDaoUtil.countByCondition(txQE, condition), params.getTenantId())
-      .compose(totalRecords -> {
-        int totalRequestedRecords = 0;
-        Future<Void> future = Future.succeededFuture();
-
-        while (totalRequestedRecords < totalRecords) {
-          int offset = totalRequestedRecords;
-          future = future.compose(ar -> recordService.getRecords(condition, Collections.emptyList(), offset, RECORDS_LIMIT, params.getTenantId()))
-            .compose(recordCollection -> deleteInstances(recordCollection.getRecords(), params));
-          totalRequestedRecords += RECORDS_LIMIT;
+  @Override
+  public Future<Optional<SnapshotDeletion>> startSnapshotDeletion(String snapshotId, OkapiConnectionParams params) {
+    String tenantId = params.getTenantId();
+    return snapshotDao.getSnapshotDeletionById(snapshotId, tenantId)
+      .compose(optionalDeletion -> {
+        // snapshot being deleted is hidden from snapshot lookups
+        if (optionalDeletion.isPresent() && optionalDeletion.get().getStatus() == SnapshotDeletion.Status.IN_PROGRESS) {
+          return Future.succeededFuture(true);
+        }
+        return snapshotDao.getSnapshotById(snapshotId, tenantId).map(Optional::isPresent);
+      })
+      .compose(exists -> {
+        if (!exists) {
+          return Future.succeededFuture(Optional.<SnapshotDeletion>empty());
         }
-        return future;
+        SnapshotDeletion snapshotDeletion = new SnapshotDeletion()
+          .withJobExecutionId(snapshotId)
+          .withStatus(SnapshotDeletion.Status.IN_PROGRESS)
+          .withDeletedRecords(0)
+          .withStartedDate(new Date());
+        return snapshotDao.startSnapshotDeletion(snapshotDeletion, tenantId)
+          .compose(optionalStartedDeletion -> {
+            if (optionalStartedDeletion.isPresent()) {
+              deleteSnapshotInBackground(optionalStartedDeletion.get(), params);
+              return Future.succeededFuture(optionalStartedDeletion);
+            }
+            // deletion is already running on this or other module instance
+            return snapshotDao.getSnapshotDeletionById(snapshotId, tenantId);
+          });
+      });
+  }
+
+  @Override
+  public Future<Optional<SnapshotDeletion>> getSnapshotDeletion(String snapshotId, String tenantId) {
+    return snapshotDao.getSnapshotDeletionById(snapshotId, tenantId);
+  }
+
+  private void deleteSnapshotInBackground(SnapshotDeletion snapshotDeletion, OkapiConnectionParams params) {
+    String snapshotId = snapshotDeletion.getJobExecutionId();
+    String tenantId = params.getTenantId();
+    Vertx vertx = params.getVertx();
+    long refreshTimerId = vertx.setPeriodic(DELETION_REFRESH_INTERVAL, timerId -> snapshotDao.refreshSnapshotDeletion(snapshotId, tenantId)
+      .onFailure(e -> LOG.warn("Failed to refresh deletion of snapshot {}", e, snapshotId)));
+    deleteInstancesBySnapshotId(snapshotId, params)
+      .compose(v -> deleteRecordsInChunks(snapshotDeletion, tenantId))
+      .compose(v -> snapshotDao.deleteSnapshot(snapshotId, tenantId))
+      .onComplete(ar -> vertx.cancelTimer(refreshTimerId))
+      .compose(deleted -> snapshotDao.saveSnapshotDeletion(snapshotDeletion
+        .withStatus(SnapshotDeletion.Status.COMPLETED)
+        .withCompletedDate(new Date()), tenantId))
+      .onSuccess(deletion -> LOG.info("Snapshot {} is deleted with {} records", snapshotId, deletion.getDeletedRecords()))
+      .onFailure(e -> {
+        LOG.error("Failed to delete snapshot {}", e, snapshotId);
+        snapshotDao.saveSnapshotDeletion(snapshotDeletion
+          .withStatus(SnapshotDeletion.Status.FAILED)
+          .withErrorMessage(e.getMessage())
+          .withCompletedDate(new Date()), tenantId)
+          .onFailure(ex -> LOG.error("Failed to save deletion status of snapshot {}", ex, snapshotId));
       });
   }
 
-  private Future<Void> deleteInstances(List<Record> records, OkapiConnectionParams params) {
-    List<String> instanceIds = records.stream()
-      .filter(record -> record.getExternalIdsHolder() != null)
-      .map(record -> record.getExternalIdsHolder().getInstanceId())
-      .collect(Collectors.toList());
+  private Future<Void> deleteRecordsInChunks(SnapshotDeletion snapshotDeletion, String tenantId) {
+    return recordDao.deleteRecordsChunkBySnapshotId(snapshotDeletion.getJobExecutionId(), RECORDS_DELETION_CHUNK_SIZE, tenantId)
+      .compose(deleted -> snapshotDao.saveSnapshotDeletion(snapshotDeletion
+          .withDeletedRecords(snapshotDeletion.getDeletedRecords() + deleted), tenantId)
+        .compose(deletion -> {
+          if (deleted < RECORDS_DELETION_CHUNK_SIZE) {
+            return Future.succeededFuture();
+          }
+          return deleteRecordsInChunks(snapshotDeletion, tenantId);
+        }));
+  }
+
+  private Future<Void> deleteInstancesBySnapshotId(String snapshotId, OkapiConnectionParams params) {
+    LOG.info("Deleting inventory instances of records for snapshot {}", snapshotId);
+    return deleteInstancesPage(snapshotId, null, new DeletionProgress(), params);
+  }
+
+  private Future<Void> deleteInstancesPage(String snapshotId, String afterInstanceId, DeletionProgress progress,
+                                           OkapiConnectionParams params) {
+    return recordDao.getInstanceIdsBySnapshotId(snapshotId, afterInstanceId, RECORDS_LIMIT, params.getTenantId())
+      .compose(instanceIds -> {
+        if (instanceIds.isEmpty()) {
+          LOG.info("Inventory instances deletion for snapshot {} is finished: {}", snapshotId, progress);
+          return Future.succeededFuture();
+        }
+        return deleteInstances(instanceIds, progress, params)
+          .compose(v -> {
+            progress.registerPage();
+            LOG.info("Inventory instances deletion for snapshot {} is in progress: {}", snapshotId, progress);
+            return deleteInstancesPage(snapshotId, instanceIds.get(instanceIds.size() - 1), progress, params);
+          });
+      });
+  }
 
-    Promise<Void> promise = Promise.promise();
-    List<Future> deleteInstancesFutures = new ArrayList<>();
-    for (String instanceId : instanceIds) {
-      deleteInstancesFutures.add(deleteInstanceById(instanceId, params));
+  /**
+   * Deletes instances with at most {@link #DELETION_CONCURRENCY} requests in flight,
+   * each worker takes the next instance id once its previous request is completed
+   */
+  private Future<Void> deleteInstances(List<String> instanceIds, DeletionProgress progress, OkapiConnectionParams params) {
+    Iterator<String> iterator = instanceIds.iterator();
+    @SuppressWarnings("squid:S3740")
+    List<Future> workers = new ArrayList<>();
+    for (int i = 0; i < Math.min(DELETION_CONCURRENCY, instanceIds.size()); i++) {
+      workers.add(deleteNextInstance(iterator, progress, params));
     }
+    return CompositeFuture.all(workers).mapEmpty();
+  }
 
-    CompositeFuture.join(deleteInstancesFutures)
-      .onSuccess(ar -> promise.complete())
-      .onFailure(promise::fail);
-    return promise.future();
+  private Future<Void> deleteNextInstance(Iterator<String> iterator, DeletionProgress progress, OkapiConnectionParams params) {
+    if (!iterator.hasNext()) {
+      return Future.succeededFuture();
+    }
+    return deleteInstanceById(iterator.next(), 1, params)
+      .compose(deleted -> {
+        progress.register(deleted);
+        return deleteNextInstance(iterator, progress, params);
+      });
   }
 
-  private Future<Boolean> deleteInstanceById(String id, OkapiConnectionParams params) {
+  private Future<Boolean> deleteInstanceById(String id, int attempt, OkapiConnectionParams params) {
     Promise<Boolean> promise = Promise.promise();
     String instacesUrl = String.format(INVENTORY_INSTANCES_PATH, id);
 
     RestUtil.doRequest(params, instacesUrl, HttpMethod.DELETE, null)
       .onComplete(responseAr -> {
-        if (responseAr.failed()) {
+        if (responseAr.succeeded() && (responseAr.result().getCode() == SC_NO_CONTENT || responseAr.result().getCode() == SC_NOT_FOUND)) {
+          promise.complete(true);
+        } else if (attempt < DELETION_MAX_ATTEMPTS && (responseAr.failed() || responseAr.result().getCode() >= SC_INTERNAL_SERVER_ERROR)) {
+          long delay = DELETION_RETRY_DELAY << (attempt - 1);
+          LOG.warn("Retrying deletion of inventory instance by id '{}' in {} ms, attempt {}", id, delay, attempt + 1);
+          params.getVertx().setTimer(delay, timerId -> deleteInstanceById(id, attempt + 1, params).onComplete(promise));
+        } else if (responseAr.failed()) {
           LOG.error("Error deleting inventory instance by id '{}'", responseAr.cause(), id);
           promise.complete(false);
-        } else if (responseAr.result().getCode() != SC_NO_CONTENT) {
+        } else {
           LOG.error("Failed to delete inventory instance by id '{}', response status: {}", id, responseAr.result().getCode());
           promise.complete(false);
-        } else {
-          promise.complete(true);
         }
       });
     return promise.future();
   }
+
+  private static class DeletionProgress {
+
+    private final AtomicInteger deleted = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicInteger pages = new AtomicInteger();
+
+    private void register(boolean isDeleted) {
+      if (isDeleted) {
+        deleted.incrementAndGet();
+      } else {
+        failed.incrementAndGet();
+      }
+    }
+
+    private void registerPage() {
+      pages.incrementAndGet();
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%d instances deleted, %d failed, %d pages processed", deleted.get(), failed.get(), pages.get());
+    }
+  }
 }
@@ -0,0 +1,31 @@
+package org.folio.services.handlers;
+
+import java.util.List;
+
+import org.folio.DataImportEventPayload;
+import org.folio.processing.events.services.handler.EventHandler;
+
+import io.vertx.core.Future;
+
+/**
+ * {@link EventHandler} able to prepare a batch of buffered events before the events are handled one by one,
+ * e.g. to replace per event database statements with a single statement for the whole batch
+ */
+public interface BatchEventHandler extends EventHandler {
+
+  /**
+   * Milliseconds after which state kept for a prepared event which is not handled, e.g. since other handler
+   * is chosen for the event, is released
+   */
+  long PREPARED_EVENT_TIMEOUT = Long.parseLong(System.getProperty("DATA_IMPORT_PREPARED_EVENT_TIMEOUT_MS", "1000"));
+
+  /**
+   * Prepares eligible events of the batch, e.g. to share database work of events once each of them is handled.
+   * Events which were not prepared, e.g. if preparation failed, are handled as usual
+   *
+   * @param eventPayloads payloads of events of the same tenant and event type
+   * @return future completed when the batch is prepared
+   */
+  Future<Void> prepareBatch(List<DataImportEventPayload> eventPayloads);
+
+}
@@ -1,10 +1,7 @@
 package org.folio.services.handlers;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 
-import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
-import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonObject;
@@ -12,12 +9,10 @@ import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 
 import org.apache.commons.lang.StringUtils;
-import org.apache.commons.lang3.tuple.Pair;
 import org.folio.DataImportEventPayload;
 import org.folio.MappingProfile;
 import org.folio.dao.RecordDao;
 import org.folio.dao.util.ParsedRecordDaoUtil;
-import org.folio.processing.events.services.handler.EventHandler;
 import org.folio.processing.exceptions.EventProcessingException;
 import org.folio.rest.jaxrs.model.EntityType;
 import org.folio.rest.jaxrs.model.ExternalIdsHolder;
@@ -25,20 +20,23 @@ import org.folio.rest.jaxrs.model.Record;
 import org.folio.rest.util.OkapiConnectionParams;
 import org.folio.services.exceptions.PostProcessingException;
 import org.folio.services.util.AdditionalFieldsUtil;
-import org.jooq.Condition;
+import org.folio.services.util.ObjectMapperUtil;
+import org.folio.services.util.ProfileSnapshotUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 import static java.lang.String.format;
 import static org.apache.commons.lang.StringUtils.isNotEmpty;
-import static org.folio.dao.util.RecordDaoUtil.filterRecordByInstanceId;
-import static org.folio.dao.util.RecordDaoUtil.filterRecordByNotSnapshotId;
 import static org.folio.rest.jaxrs.model.EntityType.INSTANCE;
 import static org.folio.rest.jaxrs.model.EntityType.MARC_BIBLIOGRAPHIC;
 import static org.folio.rest.jaxrs.model.ProfileSnapshotWrapper.ContentType.MAPPING_PROFILE;
@@ -46,7 +44,7 @@ import static org.folio.services.util.AdditionalFieldsUtil.TAG_999;
 import static org.folio.services.util.EventHandlingUtil.sendEventWithPayload;
 
 @Component
-public class InstancePostProcessingEventHandler implements EventHandler {
+public class InstancePostProcessingEventHandler implements BatchEventHandler {
 
   private static final Logger LOG = LoggerFactory.getLogger(InstancePostProcessingEventHandler.class);
 
@@ -57,6 +55,8 @@ public class InstancePostProcessingEventHandler implements EventHandler {
 
   private final RecordDao recordDao;
   private final Vertx vertx;
+  // prepared events which are not handled yet, kept outside of payload context since context is passed to further events
+  private final Map<DataImportEventPayload, PreviousRecordsBatch> preparedPayloads = Collections.synchronizedMap(new IdentityHashMap<>());
 
   @Autowired
   public InstancePostProcessingEventHandler(final RecordDao recordDao, Vertx vertx) {
@@ -72,21 +72,23 @@ public class InstancePostProcessingEventHandler implements EventHandler {
   @Override
   public CompletableFuture<DataImportEventPayload> handle(DataImportEventPayload dataImportEventPayload) {
     CompletableFuture<DataImportEventPayload> future = new CompletableFuture<>();
+    PreviousRecordsBatch batch = preparedPayloads.remove(dataImportEventPayload);
     try {
       String instanceAsString = dataImportEventPayload.getContext().get(INSTANCE.value());
       String recordAsString = dataImportEventPayload.getContext().get(MARC_BIBLIOGRAPHIC.value());
       if (StringUtils.isEmpty(instanceAsString) || StringUtils.isEmpty(recordAsString)) {
         LOG.error(EVENT_HAS_NO_DATA_MSG);
+        skipPreparedEvent(batch);
         future.completeExceptionally(new EventProcessingException(EVENT_HAS_NO_DATA_MSG));
         return future;
       }
 
       String tenantId = dataImportEventPayload.getTenant();
-      Record record = new ObjectMapper().readValue(recordAsString, Record.class);
+      Record record = ObjectMapperUtil.readValue(recordAsString, Record.class);
       setInstanceIdToRecord(record, new JsonObject(instanceAsString));
       insertOrUpdateRecordWithExternalIdsHolder(record, tenantId)
-        .compose(updatedRecord -> updatePreviousRecords(updatedRecord.getExternalIdsHolder().getInstanceId(), updatedRecord.getSnapshotId(), tenantId)
-          .map(updatedRecord))
+        .onFailure(e -> skipPreparedEvent(batch))
+        .compose(updatedRecord -> updatePreviousRecords(updatedRecord, batch, tenantId).map(updatedRecord))
         .onComplete(updateAr -> {
           if (updateAr.succeeded()) {
             record.getParsedRecord().setContent(ParsedRecordDaoUtil.normalizeContent(record.getParsedRecord()));
@@ -105,11 +107,39 @@ public class InstancePostProcessingEventHandler implements EventHandler {
         });
     } catch (Exception e) {
       LOG.error(FAIL_MSG, e, dataImportEventPayload);
+      skipPreparedEvent(batch);
       future.completeExceptionally(e);
     }
     return future;
   }
 
+  /**
+   * Groups eligible events of the batch, so that previous records of instances of all saved records are marked
+   * as OLD with a statement per snapshot once each event of the batch has saved its record or failed.
+   * Records are marked by snapshot and instance id of the saved record, as for a single event. Each event is completed
+   * once its record is saved, without waiting for the rest of the batch. Prepared events which are not handled within
+   * {@link #PREPARED_EVENT_TIMEOUT} milliseconds are handled one by one
+   * <p>
+   * {@inheritDoc}
+   */
+  @Override
+  public Future<Void> prepareBatch(List<DataImportEventPayload> eventPayloads) {
+    List<DataImportEventPayload> eligiblePayloads = eventPayloads.stream()
+      .filter(this::isEligible)
+      .collect(Collectors.toList());
+    if (eligiblePayloads.size() > 1) {
+      PreviousRecordsBatch batch = new PreviousRecordsBatch(eligiblePayloads.get(0).getTenant(), eligiblePayloads.size());
+      eligiblePayloads.forEach(payload -> preparedPayloads.put(payload, batch));
+      // e.g. if other handler is chosen for the event, the rest of the batch must not wait for it
+      vertx.setTimer(PREPARED_EVENT_TIMEOUT, timerId -> eligiblePayloads.forEach(payload -> {
+        if (preparedPayloads.remove(payload, batch)) {
+          batch.completeEvent();
+        }
+      }));
+    }
+    return Future.succeededFuture();
+  }
+
   private OkapiConnectionParams getConnectionParams(DataImportEventPayload dataImportEventPayload) {
     OkapiConnectionParams params = new OkapiConnectionParams();
     params.setOkapiUrl(dataImportEventPayload.getOkapiUrl());
@@ -119,26 +149,20 @@ public class InstancePostProcessingEventHandler implements EventHandler {
     return params;
   }
 
-  private Future<Void> updatePreviousRecords(String instanceId, String snapshotId, String tenantId) {
-    Condition condition = filterRecordByNotSnapshotId(snapshotId)
-      .and(filterRecordByInstanceId(instanceId));
-    return recordDao.getRecords(condition, new ArrayList<>(), 0, 999, tenantId)
-      .compose(recordCollection -> {
-        Promise<Void> result = Promise.promise();
-        @SuppressWarnings("squid:S3740")
-        List<Future> futures = new ArrayList<>();
-        recordCollection.getRecords()
-          .forEach(record -> futures.add(recordDao.updateRecord(record.withState(Record.State.OLD), tenantId)));
-        CompositeFuture.all(futures).onComplete(ar -> {
-          if (ar.succeeded()) {
-            result.complete();
-          } else {
-            result.fail(ar.cause());
-            LOG.error(ar.cause(), "ERROR during update old records state for instance chane event");
-          }
-        });
-        return result.future();
-      });
+  private Future<Void> updatePreviousRecords(Record savedRecord, PreviousRecordsBatch batch, String tenantId) {
+    String instanceId = savedRecord.getExternalIdsHolder().getInstanceId();
+    if (batch != null) {
+      batch.markAsOld(instanceId, savedRecord.getSnapshotId());
+      return Future.succeededFuture();
+    }
+    return recordDao.markRecordsAsOldByInstanceId(instanceId, savedRecord.getSnapshotId(), tenantId).<Void>mapEmpty()
+      .onFailure(e -> LOG.error("ERROR during update old records state for instance change event", e));
+  }
+
+  private void skipPreparedEvent(PreviousRecordsBatch batch) {
+    if (batch != null) {
+      batch.completeEvent();
+    }
   }
 
   /**
@@ -158,8 +182,15 @@ public class InstancePostProcessingEventHandler implements EventHandler {
     String instanceId = instance.getString("id");
     String instanceHrid = instance.getString("hrid");
     record.getExternalIdsHolder().setInstanceHrid(instanceHrid);
-    boolean isAddedField = AdditionalFieldsUtil.addFieldToMarcRecord(record, TAG_999, 'i', instanceId);
-    AdditionalFieldsUtil.fillHrIdFieldInMarcRecord(Pair.of(record, instance));
+    boolean isAddedField = AdditionalFieldsUtil.updateMarcRecord(record, session -> {
+      session.addSubfieldToField(TAG_999, 'i', instanceId);
+      // instance id is required, while failure to fill hrid fields does not fail post processing
+      try {
+        AdditionalFieldsUtil.fillHrIdFieldInMarcRecord(session, instance);
+      } catch (Exception e) {
+        LOG.error("Failed to fill hrid field in record {}", e, record.getId());
+      }
+    });
     if (!isAddedField) {
       throw new PostProcessingException(format("Failed to add instance id '%s' to record with id '%s'", instanceId, record.getId()));
     }
@@ -187,9 +218,48 @@ public class InstancePostProcessingEventHandler implements EventHandler {
   @Override
   public boolean isEligible(DataImportEventPayload dataImportEventPayload) {
     if (dataImportEventPayload.getCurrentNode() != null && MAPPING_PROFILE == dataImportEventPayload.getCurrentNode().getContentType()) {
-      MappingProfile mappingProfile = JsonObject.mapFrom(dataImportEventPayload.getCurrentNode().getContent()).mapTo(MappingProfile.class);
+      MappingProfile mappingProfile = ProfileSnapshotUtil.getProfile(dataImportEventPayload.getCurrentNode(), MappingProfile.class);
       return mappingProfile.getExistingRecordType() == EntityType.INSTANCE;
     }
     return false;
   }
+
+  /**
+   * Previous records of instances of saved records of a prepared batch, marked as OLD in background once each
+   * prepared event has either saved its record or failed
+   */
+  private class PreviousRecordsBatch {
+
+    private final String tenantId;
+    private final Map<String, List<String>> instanceIdsBySnapshotId = new HashMap<>();
+    private int pendingEvents;
+
+    private PreviousRecordsBatch(String tenantId, int pendingEvents) {
+      this.tenantId = tenantId;
+      this.pendingEvents = pendingEvents;
+    }
+
+    private void markAsOld(String instanceId, String snapshotId) {
+      synchronized (this) {
+        instanceIdsBySnapshotId.computeIfAbsent(snapshotId, id -> new ArrayList<>()).add(instanceId);
+      }
+      completeEvent();
+    }
+
+    private void completeEvent() {
+      synchronized (this) {
+        if (--pendingEvents > 0) {
+          return;
+        }
+      }
+      instanceIdsBySnapshotId.forEach((snapshotId, instanceIds) -> {
+        try {
+          recordDao.markRecordsAsOldByInstanceIds(instanceIds, snapshotId, tenantId)
+            .onFailure(e -> LOG.error("ERROR during update old records state for instance change events of snapshot {}", e, snapshotId));
+        } catch (Exception e) {
+          LOG.error("ERROR during update old records state for instance change events of snapshot {}", e, snapshotId);
+        }
+      });
+    }
+  }
 }
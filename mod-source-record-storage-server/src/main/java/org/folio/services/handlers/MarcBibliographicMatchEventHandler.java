@@ -1,16 +1,18 @@
 package org.folio.services.handlers;
 
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.Json;
-import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.folio.DataImportEventPayload;
 import org.folio.MatchDetail;
 import org.folio.MatchProfile;
 import org.folio.dao.RecordDao;
-import org.folio.processing.events.services.handler.EventHandler;
+import org.folio.dao.util.MatchField;
 import org.folio.processing.exceptions.EventProcessingException;
 import org.folio.processing.exceptions.MatchingException;
 import org.folio.processing.matching.reader.util.MarcValueReaderUtil;
@@ -19,24 +21,24 @@ import org.folio.rest.jaxrs.model.EntityType;
 import org.folio.rest.jaxrs.model.Field;
 import org.folio.rest.jaxrs.model.MatchExpression;
 import org.folio.rest.jaxrs.model.ProfileSnapshotWrapper;
-import org.folio.rest.jaxrs.model.Record;
-import org.jooq.Condition;
+import org.folio.services.util.ProfileSnapshotUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import static org.apache.commons.lang3.StringUtils.isEmpty;
-import static org.folio.dao.util.RecordDaoUtil.filterRecordByInstanceHrid;
-import static org.folio.dao.util.RecordDaoUtil.filterRecordByInstanceId;
-import static org.folio.dao.util.RecordDaoUtil.filterRecordByRecordId;
-import static org.folio.dao.util.RecordDaoUtil.filterRecordByState;
 import static org.folio.rest.jaxrs.model.DataImportEventTypes.DI_SRS_MARC_BIB_RECORD_MATCHED;
 import static org.folio.rest.jaxrs.model.DataImportEventTypes.DI_SRS_MARC_BIB_RECORD_NOT_MATCHED;
 import static org.folio.rest.jaxrs.model.EntityType.MARC_BIBLIOGRAPHIC;
@@ -47,20 +49,24 @@ import static org.folio.rest.jaxrs.model.ProfileSnapshotWrapper.ContentType.MATC
  * Handler for MARC-MARC matching/not-matching MARC-record by specific fields.
  */
 @Component
-public class MarcBibliographicMatchEventHandler implements EventHandler {
+public class MarcBibliographicMatchEventHandler implements BatchEventHandler {
 
   private static final Logger LOG = LoggerFactory.getLogger(MarcBibliographicMatchEventHandler.class);
   private static final String PAYLOAD_HAS_NO_DATA_MSG = "Failed to handle event payload, cause event payload context does not contain MARC_BIBLIOGRAPHIC data";
-  private static final String MATCHED_ID_MARC_FIELD = "999ffs";
-  private static final String INSTANCE_ID_MARC_FIELD = "999ffi";
-  private static final String INSTANCE_HRID_MARC_FIELD = "001";
   private static final String FOUND_MULTIPLE_RECORDS_ERROR_MESSAGE = "Found multiple records matching specified conditions";
   private static final String CANNOT_FIND_RECORDS_ERROR_MESSAGE = "Can`t find records matching specified conditions";
   private static final String CANNOT_FIND_RECORDS_FOR_MARC_FIELD_ERROR_MESSAGE = "Can`t find records by this MARC-field path: %s";
   private static final String MATCHED_MARC_BIB_KEY = "MATCHED_MARC_BIBLIOGRAPHIC";
+  private static final String FIELD_LABEL = "field";
+  private static final String INDICATOR1_LABEL = "indicator1";
+  private static final String INDICATOR2_LABEL = "indicator2";
+  private static final String SUBFIELD_LABEL = "recordSubfield";
 
   private final RecordDao recordDao;
   private final Vertx vertx;
+  // ids of records matching prepared events which are not handled yet, kept outside of payload context
+  // since context is passed to further events
+  private final Map<DataImportEventPayload, List<String>> preparedRecordIds = Collections.synchronizedMap(new IdentityHashMap<>());
 
   @Autowired
   public MarcBibliographicMatchEventHandler(final RecordDao recordDao, Vertx vertx) {
@@ -74,6 +80,7 @@ public class MarcBibliographicMatchEventHandler implements EventHandler {
   @Override
   public CompletableFuture<DataImportEventPayload> handle(DataImportEventPayload dataImportEventPayload) {
     CompletableFuture<DataImportEventPayload> future = new CompletableFuture<>();
+    List<String> preparedIds = preparedRecordIds.remove(dataImportEventPayload);
     HashMap<String, String> context = dataImportEventPayload.getContext();
     if (context == null || context.isEmpty() ||
       isEmpty(dataImportEventPayload.getContext().get(MARC_BIBLIOGRAPHIC.value())) ||
@@ -83,31 +90,27 @@ public class MarcBibliographicMatchEventHandler implements EventHandler {
       future.completeExceptionally(new EventProcessingException(PAYLOAD_HAS_NO_DATA_MSG));
       return future;
     }
-
     dataImportEventPayload.getEventsChain().add(dataImportEventPayload.getEventType());
-    String recordAsString = context.get(MARC_BIBLIOGRAPHIC.value());
     MatchDetail matchDetail = retrieveMatchDetail(dataImportEventPayload);
-    String valueFromField = retrieveValueFromMarcRecord(recordAsString, matchDetail.getIncomingMatchExpression());
-    MatchExpression matchExpression = matchDetail.getExistingMatchExpression();
+    String marcFieldPath = retrieveMarcFieldPath(matchDetail);
+    Optional<MatchField> matchField = retrieveMatchField(matchDetail);
 
-    Condition condition = null;
-    String marcFieldPath = null;
-    if (matchExpression != null && matchExpression.getDataValueType() == VALUE_FROM_RECORD) {
-      List<Field> fields = matchExpression.getFields();
-      if (fields != null && matchDetail.getIncomingRecordType() == EntityType.MARC_BIBLIOGRAPHIC
-        && matchDetail.getExistingRecordType() == EntityType.MARC_BIBLIOGRAPHIC) {
-        marcFieldPath = fields.stream().map(field -> field.getValue().trim()).collect(Collectors.joining());
-        condition = buildConditionBasedOnMarcField(valueFromField, marcFieldPath);
+    if (matchField.isPresent()) {
+      Future<List<String>> recordIdsFuture;
+      if (preparedIds != null) {
+        recordIdsFuture = Future.succeededFuture(preparedIds);
+      } else {
+        String value = retrieveMatchValue(dataImportEventPayload, matchDetail, matchField.get());
+        recordIdsFuture = getRecordIds(matchField.get(), Collections.singletonList(value), dataImportEventPayload.getTenant())
+          .map(recordIdsByValue -> recordIdsByValue.getOrDefault(value, Collections.emptyList()));
       }
-    }
-
-    if (condition != null) {
-      recordDao.getRecords(condition, new ArrayList<>(), 0, 999, dataImportEventPayload.getTenant())
+      recordIdsFuture
+        .compose(recordIds -> processRecordIds(dataImportEventPayload, context, recordIds))
         .onComplete(ar -> {
           if (ar.succeeded()) {
-            processSucceededResult(dataImportEventPayload, future, context, ar);
+            future.complete(dataImportEventPayload);
           } else {
-            future.completeExceptionally(new MatchingException(ar.cause()));
+            future.completeExceptionally(ar.cause() instanceof MatchingException ? ar.cause() : new MatchingException(ar.cause()));
           }
         });
     } else {
@@ -117,10 +120,48 @@ public class MarcBibliographicMatchEventHandler implements EventHandler {
     return future;
   }
 
+  /**
+   * Searches for ids of records matching events of the batch with a single query per match field,
+   * so handling of each event loads only the matched record by id. Ids prepared for an event which is not handled
+   * within {@link #PREPARED_EVENT_TIMEOUT} milliseconds are released
+   * <p>
+   * {@inheritDoc}
+   */
+  @Override
+  @SuppressWarnings("squid:S3740")
+  public Future<Void> prepareBatch(List<DataImportEventPayload> eventPayloads) {
+    Map<MatchField, List<Pair<DataImportEventPayload, String>>> valuesByMatchField = new HashMap<>();
+    for (DataImportEventPayload eventPayload : eventPayloads) {
+      if (eventPayload.getContext() == null || isEmpty(eventPayload.getContext().get(MARC_BIBLIOGRAPHIC.value()))
+        || !isEligible(eventPayload)) {
+        continue;
+      }
+      MatchDetail matchDetail = retrieveMatchDetail(eventPayload);
+      retrieveMatchField(matchDetail).ifPresent(matchField ->
+        valuesByMatchField.computeIfAbsent(matchField, key -> new ArrayList<>())
+          .add(Pair.of(eventPayload, retrieveMatchValue(eventPayload, matchDetail, matchField))));
+    }
+    List<Future> futures = new ArrayList<>();
+    valuesByMatchField.forEach((matchField, payloadValues) -> {
+      Set<String> values = payloadValues.stream()
+        .map(Pair::getValue)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toSet());
+      futures.add(getRecordIds(matchField, values, payloadValues.get(0).getKey().getTenant())
+        .onSuccess(recordIdsByValue -> payloadValues.forEach(payloadValue -> preparedRecordIds.put(payloadValue.getKey(),
+          recordIdsByValue.getOrDefault(payloadValue.getValue(), Collections.emptyList())))));
+    });
+    return CompositeFuture.join(futures)
+      .onComplete(ar -> vertx.setTimer(PREPARED_EVENT_TIMEOUT, timerId ->
+        valuesByMatchField.values().forEach(payloadValues -> payloadValues.forEach(payloadValue ->
+          preparedRecordIds.remove(payloadValue.getKey())))))
+      .mapEmpty();
+  }
+
   @Override
   public boolean isEligible(DataImportEventPayload dataImportEventPayload) {
     if (dataImportEventPayload.getCurrentNode() != null && MATCH_PROFILE == dataImportEventPayload.getCurrentNode().getContentType()) {
-      MatchProfile matchProfile = JsonObject.mapFrom(dataImportEventPayload.getCurrentNode().getContent()).mapTo(MatchProfile.class);
+      MatchProfile matchProfile = ProfileSnapshotUtil.getProfile(dataImportEventPayload.getCurrentNode(), MatchProfile.class);
       return matchProfile.getIncomingRecordType() == MARC_BIBLIOGRAPHIC && matchProfile.getExistingRecordType() == MARC_BIBLIOGRAPHIC;
     }
     return false;
@@ -149,56 +190,85 @@ public class MarcBibliographicMatchEventHandler implements EventHandler {
    * @return - resulted MatchDetail
    */
   private MatchDetail retrieveMatchDetail(DataImportEventPayload dataImportEventPayload) {
-    MatchProfile matchProfile;
     ProfileSnapshotWrapper matchingProfileWrapper = dataImportEventPayload.getCurrentNode();
-    if (matchingProfileWrapper.getContent() instanceof Map) {
-      matchProfile = new JsonObject((Map) matchingProfileWrapper.getContent()).mapTo(MatchProfile.class);
-    } else {
-      matchProfile = (MatchProfile) matchingProfileWrapper.getContent();
-    }
+    MatchProfile matchProfile = ProfileSnapshotUtil.getProfile(matchingProfileWrapper, MatchProfile.class);
     return matchProfile.getMatchDetails().get(0);
   }
 
   /**
-   * Builds Condition for filtering by specific field.
+   * Retrieves MARC field path of existing record from match detail.
+   *
+   * @param matchDetail - match detail
+   * @return - MARC field path, e.g. 999ffs, null if existing record is not matched by MARC field
+   */
+  private String retrieveMarcFieldPath(MatchDetail matchDetail) {
+    MatchExpression matchExpression = matchDetail.getExistingMatchExpression();
+    if (matchExpression != null && matchExpression.getDataValueType() == VALUE_FROM_RECORD) {
+      List<Field> fields = matchExpression.getFields();
+      if (fields != null && matchDetail.getIncomingRecordType() == EntityType.MARC_BIBLIOGRAPHIC
+        && matchDetail.getExistingRecordType() == EntityType.MARC_BIBLIOGRAPHIC) {
+        return fields.stream().map(field -> field.getValue().trim()).collect(Collectors.joining());
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Retrieves supported match field of existing record from match detail.
    *
-   * @param valueFromField - value by which will be filtered from DB.
-   * @param fieldPath      - resulted fieldPath
-   * @return - built Condition
+   * @param matchDetail - match detail
+   * @return - optional match field, empty if existing record is not matched by supported MARC field
    */
-  private Condition buildConditionBasedOnMarcField(String valueFromField, String fieldPath) {
-    Condition condition;
-    switch (fieldPath) {
-      case MATCHED_ID_MARC_FIELD:
-        condition = filterRecordByRecordId(valueFromField).and(filterRecordByState(Record.State.ACTUAL.value()));
-        break;
-      case INSTANCE_ID_MARC_FIELD:
-        condition = filterRecordByInstanceId(valueFromField);
-        break;
-      case INSTANCE_HRID_MARC_FIELD:
-        condition = filterRecordByInstanceHrid(valueFromField);
-        break;
-      default:
-        condition = null;
+  private Optional<MatchField> retrieveMatchField(MatchDetail matchDetail) {
+    if (retrieveMarcFieldPath(matchDetail) == null) {
+      return Optional.empty();
     }
-    return condition;
+    Map<String, String> valuesByLabel = new HashMap<>();
+    matchDetail.getExistingMatchExpression().getFields().forEach(field -> valuesByLabel.put(field.getLabel(), field.getValue()));
+    return MatchField.fromMarcField(valuesByLabel.get(FIELD_LABEL), valuesByLabel.get(INDICATOR1_LABEL),
+      valuesByLabel.get(INDICATOR2_LABEL), valuesByLabel.get(SUBFIELD_LABEL));
+  }
+
+  /**
+   * Retrieves value of incoming record to match existing records by.
+   *
+   * @param dataImportEventPayload - payload
+   * @param matchDetail            - match detail
+   * @param matchField             - match field of existing records
+   * @return - value normalized for match field
+   */
+  private String retrieveMatchValue(DataImportEventPayload dataImportEventPayload, MatchDetail matchDetail, MatchField matchField) {
+    String recordAsString = dataImportEventPayload.getContext().get(MARC_BIBLIOGRAPHIC.value());
+    return matchField.normalize(retrieveValueFromMarcRecord(recordAsString, matchDetail.getIncomingMatchExpression()));
+  }
+
+  private Future<Map<String, List<String>>> getRecordIds(MatchField matchField, Collection<String> values, String tenantId) {
+    List<String> nonNullValues = values.stream().filter(Objects::nonNull).collect(Collectors.toList());
+    return recordDao.getRecordIdsByMatchField(matchField, nonNullValues, tenantId);
   }
 
   /**
-   * Process result if it was succeeded.
+   * Process ids of records matching the incoming record, loads the record if there is a single match.
    */
-  private void processSucceededResult(DataImportEventPayload dataImportEventPayload, CompletableFuture<DataImportEventPayload> future, HashMap<String, String> context, io.vertx.core.AsyncResult<org.folio.rest.jaxrs.model.RecordCollection> ar) {
-    if (ar.result().getTotalRecords() == 1) {
-      dataImportEventPayload.setEventType(DI_SRS_MARC_BIB_RECORD_MATCHED.toString());
-      context.put(MATCHED_MARC_BIB_KEY, Json.encode(ar.result().getRecords().get(0)));
-      future.complete(dataImportEventPayload);
-    } else if (ar.result().getTotalRecords() > 1) {
+  private Future<Void> processRecordIds(DataImportEventPayload dataImportEventPayload, HashMap<String, String> context, List<String> recordIds) {
+    if (recordIds.size() > 1) {
       constructError(dataImportEventPayload, FOUND_MULTIPLE_RECORDS_ERROR_MESSAGE);
-      future.completeExceptionally(new MatchingException(FOUND_MULTIPLE_RECORDS_ERROR_MESSAGE));
-    } else if (ar.result().getTotalRecords() == 0) {
+      return Future.failedFuture(new MatchingException(FOUND_MULTIPLE_RECORDS_ERROR_MESSAGE));
+    }
+    if (recordIds.isEmpty()) {
       constructError(dataImportEventPayload, CANNOT_FIND_RECORDS_ERROR_MESSAGE);
-      future.complete(dataImportEventPayload);
+      return Future.succeededFuture();
     }
+    return recordDao.getRecordById(recordIds.get(0), dataImportEventPayload.getTenant())
+      .map(optionalRecord -> {
+        if (optionalRecord.isPresent()) {
+          dataImportEventPayload.setEventType(DI_SRS_MARC_BIB_RECORD_MATCHED.toString());
+          context.put(MATCHED_MARC_BIB_KEY, Json.encode(optionalRecord.get()));
+        } else {
+          constructError(dataImportEventPayload, CANNOT_FIND_RECORDS_ERROR_MESSAGE);
+        }
+        return null;
+      });
   }
 
   /**
@@ -1,8 +1,6 @@
 package org.folio.services.handlers.actions;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import org.folio.ActionProfile;
@@ -16,11 +14,12 @@ import org.folio.rest.jaxrs.model.ProfileSnapshotWrapper;
 import org.folio.rest.jaxrs.model.Record;
 import org.folio.services.RecordService;
 import org.folio.services.util.AdditionalFieldsUtil;
+import org.folio.services.util.ObjectMapperUtil;
+import org.folio.services.util.ProfileSnapshotUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
-import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 import static java.util.Objects.isNull;
@@ -40,7 +39,6 @@ public class ModifyRecordEventHandler implements EventHandler {
 
   public static final String MATCHED_MARC_BIB_KEY = "MATCHED_MARC_BIBLIOGRAPHIC";
   private static final String MAPPING_PARAMS_KEY = "MAPPING_PARAMS";
-  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
   private RecordService recordService;
 
@@ -70,10 +68,10 @@ public class ModifyRecordEventHandler implements EventHandler {
       marcRecordModifier.getResult(dataImportEventPayload);
       prepareModificationResult(dataImportEventPayload, mappingProfile.getMappingDetails().getMarcMappingOption());
 
-      Record changedRecord = OBJECT_MAPPER.readValue(payloadContext.get(MARC_BIBLIOGRAPHIC.value()), Record.class);
+      Record changedRecord = ObjectMapperUtil.readValue(payloadContext.get(MARC_BIBLIOGRAPHIC.value()), Record.class);
       AdditionalFieldsUtil.addControlledFieldToMarcRecord(changedRecord, AdditionalFieldsUtil.HR_ID_FROM_FIELD, hrId, true);
 
-      payloadContext.put(MARC_BIBLIOGRAPHIC.value(), OBJECT_MAPPER.writeValueAsString(changedRecord));
+      payloadContext.put(MARC_BIBLIOGRAPHIC.value(), ObjectMapperUtil.writeValueAsString(changedRecord));
 
       recordService.saveRecord(changedRecord, dataImportEventPayload.getTenant())
         .onComplete(saveAr -> {
@@ -96,7 +94,7 @@ public class ModifyRecordEventHandler implements EventHandler {
     String recordAsString = marcMappingOption == MappingDetail.MarcMappingOption.UPDATE
       ? eventPayload.getContext().get(MATCHED_MARC_BIB_KEY) : eventPayload.getContext().get(MARC_BIBLIOGRAPHIC.value());
 
-    Record recordWithHrid = OBJECT_MAPPER.readValue(recordAsString, Record.class);
+    Record recordWithHrid = ObjectMapperUtil.readValue(recordAsString, Record.class);
     return AdditionalFieldsUtil.getValueFromControlledField(recordWithHrid, AdditionalFieldsUtil.HR_ID_FROM_FIELD);
   }
 
@@ -109,7 +107,7 @@ public class ModifyRecordEventHandler implements EventHandler {
 
   private MappingProfile retrieveMappingProfile(DataImportEventPayload dataImportEventPayload) {
     ProfileSnapshotWrapper mappingProfileWrapper = dataImportEventPayload.getCurrentNode().getChildSnapshotWrappers().get(0);
-    return new JsonObject((Map) mappingProfileWrapper.getContent()).mapTo(MappingProfile.class);
+    return ProfileSnapshotUtil.getProfile(mappingProfileWrapper, MappingProfile.class);
   }
 
   private void preparePayload(DataImportEventPayload dataImportEventPayload) {
@@ -120,7 +118,7 @@ public class ModifyRecordEventHandler implements EventHandler {
   @Override
   public boolean isEligible(DataImportEventPayload dataImportEventPayload) {
     if (dataImportEventPayload.getCurrentNode() != null && ACTION_PROFILE == dataImportEventPayload.getCurrentNode().getContentType()) {
-      ActionProfile actionProfile = JsonObject.mapFrom(dataImportEventPayload.getCurrentNode().getContent()).mapTo(ActionProfile.class);
+      ActionProfile actionProfile = ProfileSnapshotUtil.getProfile(dataImportEventPayload.getCurrentNode(), ActionProfile.class);
       return actionProfile.getFolioRecord() == ActionProfile.FolioRecord.MARC_BIBLIOGRAPHIC
         && (actionProfile.getAction() == MODIFY || actionProfile.getAction() == UPDATE);
     }
@@ -6,27 +6,12 @@ import io.vertx.core.logging.LoggerFactory;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
-import org.folio.dao.util.ParsedRecordDaoUtil;
 import org.folio.rest.jaxrs.model.Record;
-import org.marc4j.MarcJsonReader;
-import org.marc4j.MarcJsonWriter;
-import org.marc4j.MarcReader;
-import org.marc4j.MarcStreamWriter;
-import org.marc4j.MarcWriter;
-import org.marc4j.marc.ControlField;
-import org.marc4j.marc.DataField;
-import org.marc4j.marc.MarcFactory;
-import org.marc4j.marc.Subfield;
-import org.marc4j.marc.VariableField;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.nio.charset.StandardCharsets;
-import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.apache.commons.lang3.StringUtils.isBlank;
-import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 
 /**
  * Util to work with additional fields
@@ -43,7 +28,6 @@ public final class AdditionalFieldsUtil {
   private static final char HR_ID_FIELD_IND = ' ';
 
   private static final Logger LOGGER = LoggerFactory.getLogger(AdditionalFieldsUtil.class);
-  private static final char INDICATOR = 'f';
 
   private AdditionalFieldsUtil() {
   }
@@ -58,40 +42,12 @@ public final class AdditionalFieldsUtil {
    * @return true if succeeded, false otherwise
    */
   public static boolean addFieldToMarcRecord(Record record, String field, char subfield, String value) {
-    boolean result = false;
-    try (ByteArrayOutputStream os = new ByteArrayOutputStream()) {
-      if (record != null && record.getParsedRecord() != null && record.getParsedRecord().getContent() != null) {
-        MarcReader reader = buildMarcReader(record);
-        MarcWriter streamWriter = new MarcStreamWriter(new ByteArrayOutputStream());
-        MarcJsonWriter jsonWriter = new MarcJsonWriter(os);
-        MarcFactory factory = MarcFactory.newInstance();
-        if (reader.hasNext()) {
-          org.marc4j.marc.Record marcRecord = reader.next();
-          VariableField variableField = getSingleFieldByIndicators(marcRecord.getVariableFields(field), INDICATOR, INDICATOR);
-          DataField dataField;
-          if (variableField != null
-            && ((DataField) variableField).getIndicator1() == INDICATOR
-            && ((DataField) variableField).getIndicator2() == INDICATOR
-          ) {
-            dataField = (DataField) variableField;
-            marcRecord.removeVariableField(variableField);
-            dataField.removeSubfield(dataField.getSubfield(subfield));
-          } else {
-            dataField = factory.newDataField(field, INDICATOR, INDICATOR);
-          }
-          dataField.addSubfield(factory.newSubfield(subfield, value));
-          marcRecord.addVariableField(dataField);
-          // use stream writer to recalculate leader
-          streamWriter.write(marcRecord);
-          jsonWriter.write(marcRecord);
-          record.setParsedRecord(record.getParsedRecord().withContent(new JsonObject(new String(os.toByteArray())).encode()));
-          result = true;
-        }
-      }
+    try {
+      return applyToMarcRecord(record, session -> session.addSubfieldToField(field, subfield, value));
     } catch (Exception e) {
       LOGGER.error("Failed to add additional subfield {} for field {} to record {}", e, subfield, field, record.getId());
     }
-    return result;
+    return false;
   }
 
   /**
@@ -107,32 +63,12 @@ public final class AdditionalFieldsUtil {
   }
 
   public static boolean addControlledFieldToMarcRecord(Record record, String field, String value, boolean replace) {
-    boolean result = false;
-    try (ByteArrayOutputStream os = new ByteArrayOutputStream()) {
-      if (record != null && record.getParsedRecord() != null && record.getParsedRecord().getContent() != null) {
-        if (replace) {
-          removeField(record, field);
-        }
-        MarcReader reader = buildMarcReader(record);
-        MarcWriter streamWriter = new MarcStreamWriter(new ByteArrayOutputStream());
-        MarcJsonWriter jsonWriter = new MarcJsonWriter(os);
-
-        MarcFactory factory = MarcFactory.newInstance();
-        if (reader.hasNext()) {
-          org.marc4j.marc.Record marcRecord = reader.next();
-          ControlField dataField = factory.newControlField(field, value);
-          marcRecord.addVariableField(dataField);
-          // use stream writer to recalculate leader
-          streamWriter.write(marcRecord);
-          jsonWriter.write(marcRecord);
-          record.setParsedRecord(record.getParsedRecord().withContent(new JsonObject(new String(os.toByteArray())).encode()));
-          result = true;
-        }
-      }
+    try {
+      return applyToMarcRecord(record, session -> session.addControlledField(field, value, replace));
     } catch (Exception e) {
-      LOGGER.error("Failed to add additional controlled field {) to record {}", e, field, record.getId());
+      LOGGER.error("Failed to add additional controlled field {} to record {}", e, field, record.getId());
     }
-    return result;
+    return false;
   }
 
   /**
@@ -143,29 +79,12 @@ public final class AdditionalFieldsUtil {
    * @return true if succeeded, false otherwise
    */
   public static boolean removeField(Record record, String field) {
-    boolean result = false;
-    try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-      if (record != null && record.getParsedRecord() != null && record.getParsedRecord().getContent() != null) {
-        MarcReader reader = buildMarcReader(record);
-        MarcWriter marcStreamWriter = new MarcStreamWriter(new ByteArrayOutputStream());
-        MarcJsonWriter marcJsonWriter = new MarcJsonWriter(baos);
-        if (reader.hasNext()) {
-          org.marc4j.marc.Record marcRecord = reader.next();
-          VariableField variableField = marcRecord.getVariableField(field);
-          if (variableField != null) {
-            marcRecord.removeVariableField(variableField);
-          }
-          // use stream writer to recalculate leader
-          marcStreamWriter.write(marcRecord);
-          marcJsonWriter.write(marcRecord);
-          record.setParsedRecord(record.getParsedRecord().withContent(new JsonObject(new String(baos.toByteArray())).encode()));
-          result = true;
-        }
-      }
+    try {
+      return applyToMarcRecord(record, session -> session.removeField(field));
     } catch (Exception e) {
-      LOGGER.error("Failed to remove controlled field {) from record {}", e, field, record.getId());
+      LOGGER.error("Failed to remove controlled field {} from record {}", e, field, record.getId());
     }
-    return result;
+    return false;
   }
 
   /**
@@ -177,22 +96,13 @@ public final class AdditionalFieldsUtil {
    */
   public static String getValueFromControlledField(Record record, String tag) {
     try {
-      MarcReader reader = buildMarcReader(record);
-      if (reader.hasNext()) {
-        org.marc4j.marc.Record marcRecord = reader.next();
-        Optional<ControlField> controlField = marcRecord.getControlFields()
-          .stream()
-          .filter(field -> field.getTag().equals(tag))
-          .findFirst();
-        if (controlField.isPresent()) {
-          return controlField.get().getData();
-        }
-      }
+      return MarcRecordSession.open(record)
+        .map(session -> session.getControlledFieldValue(tag))
+        .orElse(null);
     } catch (Exception e) {
-      LOGGER.error("Failed to read controlled field {) from record {}", e, tag, record.getId());
+      LOGGER.error("Failed to read controlled field {} from record {}", e, tag, record.getId());
       return null;
     }
-    return null;
   }
 
   /**
@@ -204,41 +114,12 @@ public final class AdditionalFieldsUtil {
    * @return true if succeeded, false otherwise
    */
   public static boolean addDataFieldToMarcRecord(Record record, String tag, char ind1, char ind2, char subfield, String value) {
-    boolean result = false;
-    try (ByteArrayOutputStream os = new ByteArrayOutputStream()) {
-      if (record != null && record.getParsedRecord() != null && record.getParsedRecord().getContent() != null) {
-        MarcReader reader = buildMarcReader(record);
-        MarcWriter streamWriter = new MarcStreamWriter(new ByteArrayOutputStream());
-        MarcJsonWriter jsonWriter = new MarcJsonWriter(os);
-        MarcFactory factory = MarcFactory.newInstance();
-        if (reader.hasNext()) {
-          org.marc4j.marc.Record marcRecord = reader.next();
-          DataField dataField = factory.newDataField(tag, ind1, ind2);
-          dataField.addSubfield(factory.newSubfield(subfield, value));
-          addDataFieldInNumericalOrder(dataField, marcRecord);
-          // use stream writer to recalculate leader
-          streamWriter.write(marcRecord);
-          jsonWriter.write(marcRecord);
-          record.setParsedRecord(record.getParsedRecord().withContent(new JsonObject(new String(os.toByteArray())).encode()));
-          result = true;
-        }
-      }
+    try {
+      return applyToMarcRecord(record, session -> session.addDataField(tag, ind1, ind2, subfield, value));
     } catch (Exception e) {
-      LOGGER.error("Failed to add additional data field {) to record {}", e, tag, record.getId());
-    }
-    return result;
-  }
-
-  private static void addDataFieldInNumericalOrder(DataField field, org.marc4j.marc.Record marcRecord) {
-    String tag = field.getTag();
-    List<DataField> dataFields = marcRecord.getDataFields();
-    for (int i = 0; i < dataFields.size(); i++) {
-      if (dataFields.get(i).getTag().compareTo(tag) > 0) {
-        marcRecord.getDataFields().add(i, field);
-        return;
-      }
+      LOGGER.error("Failed to add additional data field {} to record {}", e, tag, record.getId());
     }
-    marcRecord.addVariableField(field);
+    return false;
   }
 
   /**
@@ -250,31 +131,14 @@ public final class AdditionalFieldsUtil {
    * @return true if exist
    */
   public static boolean isFieldExist(Record record, String tag, char subfield, String value) {
-    if (record != null && record.getParsedRecord() != null && record.getParsedRecord().getContent() != null) {
-      MarcReader reader = buildMarcReader(record);
-      try {
-        if (reader.hasNext()) {
-          org.marc4j.marc.Record marcRecord = reader.next();
-          for (VariableField field : marcRecord.getVariableFields(tag)) {
-            if (field instanceof DataField) {
-              for (Subfield sub : ((DataField) field).getSubfields(subfield)) {
-                if (isNotEmpty(sub.getData()) && sub.getData().equals(value.trim())) {
-                  return true;
-                }
-              }
-            } else if (field instanceof ControlField
-              && isNotEmpty(((ControlField) field).getData())
-              && ((ControlField) field).getData().equals(value.trim())) {
-              return true;
-            }
-          }
-        }
-      } catch (Exception e) {
-        LOGGER.error("Error during the search a field in the record", e);
-        return false;
-      }
+    try {
+      return MarcRecordSession.open(record)
+        .map(session -> session.isFieldExist(tag, subfield, value))
+        .orElse(false);
+    } catch (Exception e) {
+      LOGGER.error("Error during the search a field in the record", e);
+      return false;
     }
-    return false;
   }
 
   /**
@@ -283,41 +147,66 @@ public final class AdditionalFieldsUtil {
    * @param recordInstancePair pair of related instance and record
    */
   public static void fillHrIdFieldInMarcRecord(Pair<Record, JsonObject> recordInstancePair) {
-    String hrId = recordInstancePair.getValue().getString(HR_ID_FIELD);
-    String originalHrId = getValueFromControlledField(recordInstancePair.getKey(), HR_ID_FROM_FIELD);
-    String originalHrIdPrefix = getValueFromControlledField(recordInstancePair.getKey(), HR_ID_PREFIX_FROM_FIELD);
+    try {
+      applyToMarcRecord(recordInstancePair.getKey(), session -> fillHrIdFieldInMarcRecord(session, recordInstancePair.getValue()));
+    } catch (Exception e) {
+      LOGGER.error("Failed to fill hrid field in record {}", e, recordInstancePair.getKey().getId());
+    }
+  }
+
+  /**
+   * Move original marc hrId to 035 tag and assign created by inventory hrId into 001 tag
+   * within already opened {@link MarcRecordSession}
+   *
+   * @param session  MARC session of the record
+   * @param instance related instance
+   */
+  public static void fillHrIdFieldInMarcRecord(MarcRecordSession session, JsonObject instance) {
+    String hrId = instance.getString(HR_ID_FIELD);
+    String originalHrId = session.getControlledFieldValue(HR_ID_FROM_FIELD);
+    String originalHrIdPrefix = session.getControlledFieldValue(HR_ID_PREFIX_FROM_FIELD);
     originalHrId = mergeFieldsFor035(originalHrIdPrefix, originalHrId);
     if (StringUtils.isNotEmpty(hrId) && StringUtils.isNotEmpty(originalHrId)) {
-      removeField(recordInstancePair.getKey(), HR_ID_FROM_FIELD);
-      removeField(recordInstancePair.getKey(), HR_ID_PREFIX_FROM_FIELD);
-      addControlledFieldToMarcRecord(recordInstancePair.getKey(), HR_ID_FROM_FIELD, hrId);
-      if (!isFieldExist(recordInstancePair.getKey(), HR_ID_TO_FIELD, HR_ID_FIELD_SUB, originalHrId)) {
-        addDataFieldToMarcRecord(recordInstancePair.getKey(), HR_ID_TO_FIELD, HR_ID_FIELD_IND, HR_ID_FIELD_IND, HR_ID_FIELD_SUB, originalHrId);
+      session.removeField(HR_ID_FROM_FIELD);
+      session.removeField(HR_ID_PREFIX_FROM_FIELD);
+      session.addControlledField(HR_ID_FROM_FIELD, hrId, false);
+      if (!session.isFieldExist(HR_ID_TO_FIELD, HR_ID_FIELD_SUB, originalHrId)) {
+        session.addDataField(HR_ID_TO_FIELD, HR_ID_FIELD_IND, HR_ID_FIELD_IND, HR_ID_FIELD_SUB, originalHrId);
       }
     } else if (StringUtils.isNotEmpty(hrId)) {
-      addControlledFieldToMarcRecord(recordInstancePair.getKey(), HR_ID_FROM_FIELD, hrId);
+      session.addControlledField(HR_ID_FROM_FIELD, hrId, false);
     }
   }
 
-  private static String mergeFieldsFor035(String valueFrom003, String valueFrom001) {
-    if (isBlank(valueFrom003)) {
-      return valueFrom001;
+  /**
+   * Parses marc content of the record once, applies all modifications and serializes the content once
+   *
+   * @param record       record that needs to be updated
+   * @param modification modifications to apply
+   * @return true if succeeded, false otherwise
+   */
+  public static boolean updateMarcRecord(Record record, Consumer<MarcRecordSession> modification) {
+    try {
+      return applyToMarcRecord(record, modification);
+    } catch (Exception e) {
+      LOGGER.error("Failed to update record {}", e, record.getId());
     }
-    return "(" + valueFrom003 + ")" + valueFrom001;
+    return false;
   }
 
-  private static MarcReader buildMarcReader(Record record) {
-    String content = ParsedRecordDaoUtil.normalizeContent(record.getParsedRecord());
-    return new MarcJsonReader(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+  private static boolean applyToMarcRecord(Record record, Consumer<MarcRecordSession> modification) {
+    Optional<MarcRecordSession> session = MarcRecordSession.open(record);
+    session.ifPresent(marcRecordSession -> {
+      modification.accept(marcRecordSession);
+      marcRecordSession.commit();
+    });
+    return session.isPresent();
   }
 
-  private static VariableField getSingleFieldByIndicators(List<VariableField> list, char ind1, char ind2) {
-    if (list == null || list.isEmpty()) {
-      return null;
+  private static String mergeFieldsFor035(String valueFrom003, String valueFrom001) {
+    if (isBlank(valueFrom003)) {
+      return valueFrom001;
     }
-    return list.stream()
-      .filter(f -> ((DataField) f).getIndicator1() == ind1 && ((DataField) f).getIndicator2() == ind2)
-      .findFirst()
-      .orElse(null);
+    return "(" + valueFrom003 + ")" + valueFrom001;
   }
 }
@@ -0,0 +1,50 @@
+package org.folio.services.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.ws.rs.BadRequestException;
+
+/**
+ * Utility class for encoding and decoding opaque cursors of keyset pagination
+ */
+public final class CursorUtil {
+
+  public static final String FIRST_PAGE_CURSOR = "*";
+
+  private static final String INVALID_CURSOR_MESSAGE = "Invalid cursor '%s'";
+
+  private CursorUtil() { }
+
+  /**
+   * Encodes id of the last record of a page to opaque cursor
+   *
+   * @param id record id
+   * @return cursor
+   */
+  public static String toCursor(String id) {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(id.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Decodes opaque cursor to id of the last record of previous page
+   *
+   * @param cursor cursor
+   * @return optional record id, empty for the first page
+   * @throws BadRequestException if cursor is malformed
+   */
+  public static Optional<String> toAfterId(String cursor) {
+    if (FIRST_PAGE_CURSOR.equals(cursor)) {
+      return Optional.empty();
+    }
+    try {
+      String id = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      return Optional.of(UUID.fromString(id).toString());
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException(String.format(INVALID_CURSOR_MESSAGE, cursor));
+    }
+  }
+
+}
@@ -5,6 +5,7 @@ import io.vertx.core.Promise;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import java.util.UUID;
+import org.folio.metrics.MetricsUtil;
 import org.folio.processing.events.utils.ZIPArchiver;
 import org.folio.rest.jaxrs.model.Event;
 import org.folio.rest.jaxrs.model.EventMetadata;
@@ -26,6 +27,11 @@ public final class EventHandlingUtil {
    * @return completed future with true if event was sent successfully
    */
   public static Future<Boolean> sendEventWithPayload(String eventPayload, String eventType, OkapiConnectionParams params) {
+    return MetricsUtil.time(MetricsUtil.EVENT_PUBLISH_TIMER, MetricsUtil.tenantTags(params.getTenantId()).and("event_type", eventType),
+      () -> sendEvent(eventPayload, eventType, params));
+  }
+
+  private static Future<Boolean> sendEvent(String eventPayload, String eventType, OkapiConnectionParams params) {
     Promise<Boolean> promise = Promise.promise();
     try {
       Event event = new Event()
@@ -0,0 +1,185 @@
+package org.folio.services.util;
+
+import io.vertx.core.json.JsonObject;
+
+import org.folio.dao.util.ParsedRecordDaoUtil;
+import org.folio.rest.jaxrs.model.ParsedRecord;
+import org.folio.rest.jaxrs.model.Record;
+import org.marc4j.MarcJsonReader;
+import org.marc4j.MarcJsonWriter;
+import org.marc4j.MarcReader;
+import org.marc4j.MarcStreamWriter;
+import org.marc4j.marc.ControlField;
+import org.marc4j.marc.DataField;
+import org.marc4j.marc.MarcFactory;
+import org.marc4j.marc.Subfield;
+import org.marc4j.marc.VariableField;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.apache.commons.lang3.StringUtils.isNotEmpty;
+
+/**
+ * Mutable MARC view of {@link ParsedRecord} content. The content is parsed once when the session is opened,
+ * edits are applied to the in-memory MARC record and the result is written back to the {@link Record} once on {@link #commit()}
+ */
+public final class MarcRecordSession {
+
+  private static final char INDICATOR = 'f';
+
+  private final Record record;
+  private final org.marc4j.marc.Record marcRecord;
+  private final MarcFactory factory = MarcFactory.newInstance();
+
+  private MarcRecordSession(Record record, org.marc4j.marc.Record marcRecord) {
+    this.record = record;
+    this.marcRecord = marcRecord;
+  }
+
+  /**
+   * Parses MARC content of the record
+   *
+   * @param record record with parsed record content
+   * @return optional session, empty if record has no parsed content
+   */
+  public static Optional<MarcRecordSession> open(Record record) {
+    if (record == null || record.getParsedRecord() == null || record.getParsedRecord().getContent() == null) {
+      return Optional.empty();
+    }
+    String content = ParsedRecordDaoUtil.normalizeContent(record.getParsedRecord());
+    MarcReader reader = new MarcJsonReader(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    return reader.hasNext() ? Optional.of(new MarcRecordSession(record, reader.next())) : Optional.empty();
+  }
+
+  /**
+   * Adds field with 'f' indicators if it does not exist and a subfield with a value to that field,
+   * existing subfield with the same code is replaced
+   *
+   * @param tag      field that should contain new subfield
+   * @param subfield new subfield to add
+   * @param value    value of the subfield to add
+   */
+  public void addSubfieldToField(String tag, char subfield, String value) {
+    DataField dataField = getSingleFieldByIndicators(marcRecord.getVariableFields(tag), INDICATOR, INDICATOR);
+    if (dataField != null) {
+      marcRecord.removeVariableField(dataField);
+      dataField.removeSubfield(dataField.getSubfield(subfield));
+    } else {
+      dataField = factory.newDataField(tag, INDICATOR, INDICATOR);
+    }
+    dataField.addSubfield(factory.newSubfield(subfield, value));
+    marcRecord.addVariableField(dataField);
+  }
+
+  /**
+   * Adds new controlled field
+   *
+   * @param tag     tag of controlled field
+   * @param value   value of the field to add
+   * @param replace whether existing field with the same tag should be removed
+   */
+  public void addControlledField(String tag, String value, boolean replace) {
+    if (replace) {
+      removeField(tag);
+    }
+    marcRecord.addVariableField(factory.newControlField(tag, value));
+  }
+
+  /**
+   * Adds new data field in numerical order of tags
+   *
+   * @param tag      tag of data field
+   * @param ind1     first indicator
+   * @param ind2     second indicator
+   * @param subfield subfield code
+   * @param value    value of the subfield
+   */
+  public void addDataField(String tag, char ind1, char ind2, char subfield, String value) {
+    DataField dataField = factory.newDataField(tag, ind1, ind2);
+    dataField.addSubfield(factory.newSubfield(subfield, value));
+    List<DataField> dataFields = marcRecord.getDataFields();
+    for (int i = 0; i < dataFields.size(); i++) {
+      if (dataFields.get(i).getTag().compareTo(tag) > 0) {
+        dataFields.add(i, dataField);
+        return;
+      }
+    }
+    marcRecord.addVariableField(dataField);
+  }
+
+  /**
+   * Removes first field with given tag
+   *
+   * @param tag tag of the field
+   */
+  public void removeField(String tag) {
+    VariableField variableField = marcRecord.getVariableField(tag);
+    if (variableField != null) {
+      marcRecord.removeVariableField(variableField);
+    }
+  }
+
+  /**
+   * Reads value of controlled field
+   *
+   * @param tag tag to read
+   * @return value of the field, null if field does not exist
+   */
+  public String getControlledFieldValue(String tag) {
+    return marcRecord.getControlFields().stream()
+      .filter(field -> field.getTag().equals(tag))
+      .findFirst()
+      .map(ControlField::getData)
+      .orElse(null);
+  }
+
+  /**
+   * Checks if field with the same value exists
+   *
+   * @param tag      tag of the field
+   * @param subfield subfield code to check for data fields
+   * @param value    value to look for
+   * @return true if exists
+   */
+  public boolean isFieldExist(String tag, char subfield, String value) {
+    for (VariableField field : marcRecord.getVariableFields(tag)) {
+      if (field instanceof DataField) {
+        for (Subfield sub : ((DataField) field).getSubfields(subfield)) {
+          if (isNotEmpty(sub.getData()) && sub.getData().equals(value.trim())) {
+            return true;
+          }
+        }
+      } else if (field instanceof ControlField
+        && isNotEmpty(((ControlField) field).getData())
+        && ((ControlField) field).getData().equals(value.trim())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Serializes edited MARC record back to content of {@link ParsedRecord}
+   */
+  public void commit() {
+    // use stream writer to recalculate leader
+    new MarcStreamWriter(new ByteArrayOutputStream()).write(marcRecord);
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    new MarcJsonWriter(os).write(marcRecord);
+    record.setParsedRecord(record.getParsedRecord().withContent(new JsonObject(new String(os.toByteArray(), StandardCharsets.UTF_8)).encode()));
+  }
+
+  private static DataField getSingleFieldByIndicators(List<VariableField> list, char ind1, char ind2) {
+    return list.stream()
+      .filter(DataField.class::isInstance)
+      .map(DataField.class::cast)
+      .filter(f -> f.getIndicator1() == ind1 && f.getIndicator2() == ind2)
+      .findFirst()
+      .orElse(null);
+  }
+
+}
@@ -0,0 +1,75 @@
+package org.folio.services.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.folio.ActionProfile;
+import org.folio.MappingProfile;
+import org.folio.MatchProfile;
+import org.folio.rest.jaxrs.model.ParsedRecordDto;
+import org.folio.rest.jaxrs.model.Record;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Utility class holding shared {@link ObjectMapper} with cached {@link ObjectReader}s and {@link ObjectWriter}s
+ * per type. Readers and writers are immutable and thread-safe, so they are created once instead of per event
+ */
+public final class ObjectMapperUtil {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final Map<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
+  private static final Map<Class<?>, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+
+  static {
+    for (Class<?> type : new Class<?>[] {Record.class, ParsedRecordDto.class, HashMap.class,
+      MatchProfile.class, MappingProfile.class, ActionProfile.class}) {
+      READERS.put(type, MAPPER.readerFor(type));
+      WRITERS.put(type, MAPPER.writerFor(type));
+    }
+  }
+
+  private ObjectMapperUtil() { }
+
+  /**
+   * Deserializes json string to the object of given type
+   *
+   * @param json json string
+   * @param type type of the object
+   * @param <T>  type of the object
+   * @return deserialized object
+   * @throws JsonProcessingException if json is invalid or does not match the type
+   */
+  public static <T> T readValue(String json, Class<T> type) throws JsonProcessingException {
+    return READERS.computeIfAbsent(type, MAPPER::readerFor).readValue(json);
+  }
+
+  /**
+   * Serializes object to json string
+   *
+   * @param value object to serialize
+   * @return json string
+   * @throws JsonProcessingException if object cannot be serialized
+   */
+  public static String writeValueAsString(Object value) throws JsonProcessingException {
+    return WRITERS.computeIfAbsent(value.getClass(), MAPPER::writerFor).writeValueAsString(value);
+  }
+
+  /**
+   * Converts object, e.g. profile content deserialized as {@link Map}, to the object of given type
+   * without intermediate json string
+   *
+   * @param value object to convert
+   * @param type  target type
+   * @param <T>   target type
+   * @return converted object
+   */
+  public static <T> T convertValue(Object value, Class<T> type) {
+    return MAPPER.convertValue(value, type);
+  }
+
+}
@@ -0,0 +1,49 @@
+package org.folio.services.util;
+
+import java.util.Objects;
+
+import org.folio.rest.jaxrs.model.ProfileSnapshotWrapper;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Utility class for reading profiles of {@link ProfileSnapshotWrapper}
+ */
+public final class ProfileSnapshotUtil {
+
+  /**
+   * Profiles converted from content of wrappers, keyed by identity of the content,
+   * entries are released together with the event payload holding the content
+   */
+  private static final Cache<Object, Object> PROFILES = CacheBuilder.newBuilder()
+    .weakKeys()
+    .build();
+
+  private ProfileSnapshotUtil() { }
+
+  /**
+   * Get profile of the given type from {@link ProfileSnapshotWrapper} content. Content deserialized from event payload
+   * is converted once and the profile is kept outside of the payload, so {@code isEligible} and {@code handle}
+   * of event handlers share the same profile instance while the event payload stays unchanged
+   *
+   * @param profileSnapshotWrapper profile snapshot wrapper
+   * @param profileType            type of the profile
+   * @param <T>                    type of the profile
+   * @return profile, null if wrapper has no content
+   */
+  public static <T> T getProfile(ProfileSnapshotWrapper profileSnapshotWrapper, Class<T> profileType) {
+    Object content = profileSnapshotWrapper.getContent();
+    if (Objects.isNull(content) || profileType.isInstance(content)) {
+      return profileType.cast(content);
+    }
+    Object profile = PROFILES.getIfPresent(content);
+    if (profileType.isInstance(profile)) {
+      return profileType.cast(profile);
+    }
+    T converted = ObjectMapperUtil.convertValue(content, profileType);
+    PROFILES.put(content, converted);
+    return converted;
+  }
+
+}
@@ -0,0 +1,159 @@
+package org.folio.services.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.folio.metrics.MetricsUtil;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+
+/**
+ * Limits number of concurrently executed asynchronous database operations. Operations of a tenant exceeding
+ * {@link #TENANT_CONCURRENCY} wait in a queue and are started on their calling context once permits are released,
+ * a batch of operations is started with at most {@link #BATCH_CONCURRENCY} operations in flight.
+ * Number of queued and running operations of each tenant are exposed as metrics
+ */
+@Component
+public class TenantOperationLimiter {
+
+  private static final int TENANT_CONCURRENCY = Integer.parseInt(System.getProperty("DB_OPERATIONS_TENANT_CONCURRENCY", "20"));
+  private static final int BATCH_CONCURRENCY = Integer.parseInt(System.getProperty("DB_OPERATIONS_BATCH_CONCURRENCY", "5"));
+
+  private final Map<String, TenantPermits> tenantPermits = new ConcurrentHashMap<>();
+
+  /**
+   * Executes operation once tenant has a free permit
+   *
+   * @param tenantId  tenant id
+   * @param operation operation to execute
+   * @param <T>       result type
+   * @return future of the operation
+   */
+  public <T> Future<T> execute(String tenantId, Supplier<Future<T>> operation) {
+    Promise<T> promise = Promise.promise();
+    TenantPermits permits = tenantPermits.computeIfAbsent(tenantId, TenantPermits::new);
+    Context context = Vertx.currentContext();
+    Runnable task = () -> run(permits, operation, promise);
+    boolean acquired;
+    synchronized (permits) {
+      acquired = permits.inFlight < TENANT_CONCURRENCY;
+      if (acquired) {
+        permits.inFlight++;
+      } else {
+        permits.queue.add(context == null ? task : () -> context.runOnContext(v -> task.run()));
+      }
+    }
+    if (acquired) {
+      task.run();
+    }
+    return promise.future();
+  }
+
+  /**
+   * Executes operation for each item of a batch, at most {@link #BATCH_CONCURRENCY} operations of the batch are in flight,
+   * each of them also takes a permit of the tenant. Next operation is started once one of the operations is completed
+   *
+   * @param tenantId  tenant id
+   * @param items     items of the batch
+   * @param operation operation to execute for each item
+   * @param <T>       item type
+   * @param <R>       result type
+   * @return futures of operations in order of items
+   */
+  public <T, R> List<Future<R>> executeAll(String tenantId, List<T> items, Function<T, Future<R>> operation) {
+    List<Promise<R>> promises = new ArrayList<>(items.size());
+    items.forEach(item -> promises.add(Promise.promise()));
+    AtomicInteger nextIndex = new AtomicInteger();
+    for (int i = 0; i < Math.min(BATCH_CONCURRENCY, items.size()); i++) {
+      executeNext(tenantId, items, operation, promises, nextIndex);
+    }
+    List<Future<R>> futures = new ArrayList<>(promises.size());
+    promises.forEach(promise -> futures.add(promise.future()));
+    return futures;
+  }
+
+  private <T, R> void executeNext(String tenantId, List<T> items, Function<T, Future<R>> operation,
+                                  List<Promise<R>> promises, AtomicInteger nextIndex) {
+    int index = nextIndex.getAndIncrement();
+    if (index >= items.size()) {
+      return;
+    }
+    execute(tenantId, () -> operation.apply(items.get(index)))
+      .onComplete(ar -> {
+        promises.get(index).handle(ar);
+        // next operation is started on a new stack, operations may complete synchronously
+        Context context = Vertx.currentContext();
+        if (context == null) {
+          executeNext(tenantId, items, operation, promises, nextIndex);
+        } else {
+          context.runOnContext(v -> executeNext(tenantId, items, operation, promises, nextIndex));
+        }
+      });
+  }
+
+  private <T> void run(TenantPermits permits, Supplier<Future<T>> operation, Promise<T> promise) {
+    Future<T> future;
+    try {
+      future = operation.get();
+    } catch (RuntimeException e) {
+      future = Future.failedFuture(e);
+    }
+    future.onComplete(ar -> {
+      release(permits);
+      promise.handle(ar);
+    });
+  }
+
+  private void release(TenantPermits permits) {
+    Runnable next;
+    synchronized (permits) {
+      next = permits.queue.poll();
+      if (next == null) {
+        permits.inFlight--;
+      }
+    }
+    if (next != null) {
+      next.run();
+    }
+  }
+
+  private static class TenantPermits {
+
+    private final Queue<Runnable> queue = new ArrayDeque<>();
+    private int inFlight;
+
+    private TenantPermits(String tenantId) {
+      Tags tags = MetricsUtil.tenantTags(tenantId);
+      Gauge.builder(MetricsUtil.DB_OPERATIONS_QUEUED_GAUGE, this, TenantPermits::getQueued)
+        .tags(tags)
+        .description("Database operations waiting for a permit of the tenant")
+        .register(MetricsUtil.getRegistry());
+      Gauge.builder(MetricsUtil.DB_OPERATIONS_IN_FLIGHT_GAUGE, this, TenantPermits::getInFlight)
+        .tags(tags)
+        .description("Database operations running with a permit of the tenant")
+        .register(MetricsUtil.getRegistry());
+    }
+
+    private synchronized double getQueued() {
+      return queue.size();
+    }
+
+    private synchronized double getInFlight() {
+      return inFlight;
+    }
+  }
+
+}
@@ -38,6 +38,7 @@ public abstract class AbstractRestVerticleTest {
   static final String SOURCE_STORAGE_RECORDS_PATH = "/source-storage/records";
   static final String SOURCE_STORAGE_SNAPSHOTS_PATH = "/source-storage/snapshots";
   static final String SOURCE_STORAGE_SOURCE_RECORDS_PATH = "/source-storage/source-records";
+  static final String SOURCE_STORAGE_STREAM_SOURCE_RECORDS_PATH = "/source-storage/stream/source-records";
 
   static final String RAW_RECORD_CONTENT_SAMPLE_PATH = "src/test/resources/rawRecordContent.sample";
   static final String PARSED_RECORD_CONTENT_SAMPLE_PATH = "src/test/resources/parsedRecordContent.sample";
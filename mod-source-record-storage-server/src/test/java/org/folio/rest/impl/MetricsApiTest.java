@@ -0,0 +1,56 @@
+package org.folio.rest.impl;
+
+import static org.hamcrest.Matchers.containsString;
+
+import org.apache.http.HttpStatus;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import io.restassured.RestAssured;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+
+@RunWith(VertxUnitRunner.class)
+public class MetricsApiTest extends AbstractRestVerticleTest {
+
+  private static final String SOURCE_STORAGE_METRICS_PATH = "/source-storage/metrics";
+  private static final String SOURCE_STORAGE_SNAPSHOTS_PATH = "/source-storage/snapshots";
+
+  @Test
+  public void shouldReturnDaoOperationTimersInPrometheusFormat() {
+    RestAssured.given()
+      .spec(spec)
+      .when()
+      .get(SOURCE_STORAGE_SNAPSHOTS_PATH)
+      .then()
+      .statusCode(HttpStatus.SC_OK);
+
+    RestAssured.given()
+      .spec(spec)
+      .when()
+      .get(SOURCE_STORAGE_METRICS_PATH)
+      .then()
+      .statusCode(HttpStatus.SC_OK)
+      .body(containsString("srs_dao_operation_seconds_count"))
+      .body(containsString("dao=\"SnapshotDao\""))
+      .body(containsString("method=\"getSnapshots\""));
+  }
+
+  @Test
+  public void shouldReturnConnectionAcquireTimerInPrometheusFormat() {
+    RestAssured.given()
+      .spec(spec)
+      .when()
+      .get(SOURCE_STORAGE_SNAPSHOTS_PATH)
+      .then()
+      .statusCode(HttpStatus.SC_OK);
+
+    RestAssured.given()
+      .spec(spec)
+      .when()
+      .get(SOURCE_STORAGE_METRICS_PATH)
+      .then()
+      .statusCode(HttpStatus.SC_OK)
+      .body(containsString("srs_db_pool_acquire_seconds_count"));
+  }
+
+}
@@ -17,6 +17,7 @@ import org.folio.rest.jaxrs.model.ExternalIdsHolder;
 import org.folio.rest.jaxrs.model.RawRecord;
 import org.folio.rest.jaxrs.model.Record;
 import org.folio.rest.jaxrs.model.Snapshot;
+import org.folio.rest.jaxrs.model.SnapshotDeletion;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -30,8 +31,10 @@ import java.util.UUID;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.deleteRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
@@ -365,6 +368,192 @@ public class SnapshotApiTest extends AbstractRestVerticleTest {
     verify(recordIds.size(), deleteRequestedFor(new UrlPathPattern(new RegexPattern(INVENTORY_INSTANCES_PATH + "/.*"), true)));
   }
 
+  @Test
+  public void shouldDeleteSnapshotWhenInstanceDeletionFailsAfterAllAttempts() {
+    Snapshot snapshot = new Snapshot()
+      .withJobExecutionId(UUID.randomUUID().toString())
+      .withStatus(Snapshot.Status.PARSING_IN_PROGRESS);
+    RestAssured.given()
+      .spec(spec)
+      .body(snapshot)
+      .when()
+      .post(SOURCE_STORAGE_SNAPSHOTS_PATH)
+      .then()
+      .statusCode(HttpStatus.SC_CREATED);
+
+    String failingInstanceId = UUID.randomUUID().toString();
+    String instanceId = UUID.randomUUID().toString();
+    WireMock.stubFor(WireMock.delete(WireMock.urlEqualTo(INVENTORY_INSTANCES_PATH + "/" + failingInstanceId))
+      .willReturn(WireMock.serverError()));
+    for (String id : Arrays.asList(failingInstanceId, instanceId)) {
+      String recordId = UUID.randomUUID().toString();
+      RestAssured.given()
+        .spec(spec)
+        .body(new Record()
+          .withId(recordId)
+          .withMatchedId(recordId)
+          .withRecordType(Record.RecordType.MARC)
+          .withRawRecord(rawRecord)
+          .withExternalIdsHolder(new ExternalIdsHolder().withInstanceId(id))
+          .withSnapshotId(snapshot.getJobExecutionId()))
+        .when()
+        .post(SOURCE_STORAGE_RECORDS_PATH)
+        .then()
+        .statusCode(HttpStatus.SC_CREATED);
+    }
+
+    RestAssured.given()
+      .spec(spec)
+      .when()
+      .delete(SOURCE_STORAGE_SNAPSHOTS_PATH + "/" + snapshot.getJobExecutionId())
+      .then()
+      .statusCode(HttpStatus.SC_NO_CONTENT);
+
+    // failed instance deletion is retried up to INVENTORY_DELETION_MAX_ATTEMPTS (3 by default) times and does not fail snapshot deletion
+    verify(3, deleteRequestedFor(WireMock.urlEqualTo(INVENTORY_INSTANCES_PATH + "/" + failingInstanceId)));
+    verify(1, deleteRequestedFor(WireMock.urlEqualTo(INVENTORY_INSTANCES_PATH + "/" + instanceId)));
+    RestAssured.given()
+      .spec(spec)
+      .when()
+      .get(SOURCE_STORAGE_SNAPSHOTS_PATH + "/" + snapshot.getJobExecutionId())
+      .then()
+      .statusCode(HttpStatus.SC_NOT_FOUND);
+  }
+
+  @Test
+  public void shouldDeleteInstancesWithBoundedConcurrencyOnDelete() {
+    int instanceDeletionDelay = 500;
+    WireMock.stubFor(WireMock.delete(new UrlPathPattern(new RegexPattern(INVENTORY_INSTANCES_PATH + "/.*"), true))
+      .willReturn(WireMock.noContent().withFixedDelay(instanceDeletionDelay)));
+    Snapshot snapshot = new Snapshot()
+      .withJobExecutionId(UUID.randomUUID().toString())
+      .withStatus(Snapshot.Status.PARSING_IN_PROGRESS);
+    RestAssured.given()
+      .spec(spec)
+      .body(snapshot)
+      .when()
+      .post(SOURCE_STORAGE_SNAPSHOTS_PATH)
+      .then()
+      .statusCode(HttpStatus.SC_CREATED);
+
+    // twice as many instances as INVENTORY_DELETION_CONCURRENCY (5 by default)
+    int instancesNumber = 10;
+    for (int i = 0; i < instancesNumber; i++) {
+      String recordId = UUID.randomUUID().toString();
+      RestAssured.given()
+        .spec(spec)
+        .body(new Record()
+          .withId(recordId)
+          .withMatchedId(recordId)
+          .withRecordType(Record.RecordType.MARC)
+          .withRawRecord(rawRecord)
+          .withExternalIdsHolder(new ExternalIdsHolder().withInstanceId(UUID.randomUUID().toString()))
+          .withSnapshotId(snapshot.getJobExecutionId()))
+        .when()
+        .post(SOURCE_STORAGE_RECORDS_PATH)
+        .then()
+        .statusCode(HttpStatus.SC_CREATED);
+    }
+
+    long startTime = System.currentTimeMillis();
+    RestAssured.given()
+      .spec(spec)
+      .when()
+      .delete(SOURCE_STORAGE_SNAPSHOTS_PATH + "/" + snapshot.getJobExecutionId())
+      .then()
+      .statusCode(HttpStatus.SC_NO_CONTENT);
+    long elapsedTime = System.currentTimeMillis() - startTime;
+
+    verify(instancesNumber, deleteRequestedFor(new UrlPathPattern(new RegexPattern(INVENTORY_INSTANCES_PATH + "/.*"), true)));
+    // with at most 5 requests in flight instances are deleted in at least two rounds of requests
+    assertThat(elapsedTime, greaterThanOrEqualTo(2L * instanceDeletionDelay));
+  }
+
+  @Test
+  public void shouldReturnNotFoundOnDeletionPostWhenSnapshotDoesNotExist() {
+    RestAssured.given()
+      .spec(spec)
+      .when()
+      .post(SOURCE_STORAGE_SNAPSHOTS_PATH + "/" + UUID.randomUUID().toString() + "/deletion")
+      .then()
+      .statusCode(HttpStatus.SC_NOT_FOUND);
+  }
+
+  @Test
+  public void shouldDeleteExistingSnapshotInBackgroundOnDeletionPost() throws InterruptedException {
+    Snapshot snapshot = new Snapshot()
+      .withJobExecutionId(UUID.randomUUID().toString())
+      .withStatus(Snapshot.Status.PARSING_IN_PROGRESS);
+    RestAssured.given()
+      .spec(spec)
+      .body(snapshot)
+      .when()
+      .post(SOURCE_STORAGE_SNAPSHOTS_PATH)
+      .then()
+      .statusCode(HttpStatus.SC_CREATED);
+
+    Record record = new Record()
+      .withRecordType(Record.RecordType.MARC)
+      .withRawRecord(rawRecord)
+      .withExternalIdsHolder(new ExternalIdsHolder().withInstanceId(UUID.randomUUID().toString()))
+      .withSnapshotId(snapshot.getJobExecutionId());
+    List<String> recordIds = Arrays.asList(UUID.randomUUID().toString(), UUID.randomUUID().toString());
+    for (String id : recordIds) {
+      RestAssured.given()
+        .spec(spec)
+        .body(record.withId(id).withMatchedId(id))
+        .when()
+        .post(SOURCE_STORAGE_RECORDS_PATH)
+        .then()
+        .statusCode(HttpStatus.SC_CREATED);
+    }
+
+    String deletionPath = SOURCE_STORAGE_SNAPSHOTS_PATH + "/" + snapshot.getJobExecutionId() + "/deletion";
+    RestAssured.given()
+      .spec(spec)
+      .when()
+      .post(deletionPath)
+      .then()
+      .statusCode(HttpStatus.SC_ACCEPTED)
+      .body("jobExecutionId", is(snapshot.getJobExecutionId()))
+      .body("status", is(SnapshotDeletion.Status.IN_PROGRESS.name()));
+
+    String status = SnapshotDeletion.Status.IN_PROGRESS.name();
+    for (int attempt = 0; attempt < 50 && SnapshotDeletion.Status.IN_PROGRESS.name().equals(status); attempt++) {
+      Thread.sleep(100);
+      status = RestAssured.given()
+        .spec(spec)
+        .when()
+        .get(deletionPath)
+        .then()
+        .statusCode(HttpStatus.SC_OK)
+        .extract().path("status");
+    }
+    RestAssured.given()
+      .spec(spec)
+      .when()
+      .get(deletionPath)
+      .then()
+      .statusCode(HttpStatus.SC_OK)
+      .body("status", is(SnapshotDeletion.Status.COMPLETED.name()))
+      .body("deletedRecords", is(recordIds.size()));
+
+    RestAssured.given()
+      .spec(spec)
+      .when()
+      .get(SOURCE_STORAGE_SNAPSHOTS_PATH + "/" + snapshot.getJobExecutionId())
+      .then()
+      .statusCode(HttpStatus.SC_NOT_FOUND);
+    for (String id : recordIds) {
+      RestAssured.given()
+        .spec(spec)
+        .when()
+        .get(SOURCE_STORAGE_RECORDS_PATH + "/" + id)
+        .then()
+        .statusCode(HttpStatus.SC_NOT_FOUND);
+    }
+  }
+
   @Test
   public void shouldSetProcessingStartedDateOnPost() {
     RestAssured.given()
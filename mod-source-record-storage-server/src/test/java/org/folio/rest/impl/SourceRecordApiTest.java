@@ -1,16 +1,20 @@
 package org.folio.rest.impl;
 
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 import java.io.IOException;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
@@ -1550,6 +1554,175 @@ public class SourceRecordApiTest extends AbstractRestVerticleTest {
     async.complete();
   }
 
+  @Test
+  public void shouldReturnSourceRecordsPageByPageOnGetWithCursor(TestContext testContext) {
+    Async async = testContext.async();
+    List<Snapshot> snapshotsToPost = Arrays.asList(snapshot_1, snapshot_2);
+    for (Snapshot snapshot : snapshotsToPost) {
+      RestAssured.given()
+        .spec(spec)
+        .body(snapshot)
+        .when()
+        .post(SOURCE_STORAGE_SNAPSHOTS_PATH)
+        .then()
+        .statusCode(HttpStatus.SC_CREATED);
+    }
+    async.complete();
+
+    async = testContext.async();
+    List<Record> recordsToPost = Arrays.asList(record_1, record_2, record_4, record_6);
+    for (Record record : recordsToPost) {
+      RestAssured.given()
+        .spec(spec)
+        .body(record)
+        .when()
+        .post(SOURCE_STORAGE_RECORDS_PATH)
+        .then()
+        .statusCode(HttpStatus.SC_CREATED);
+    }
+    async.complete();
+
+    async = testContext.async();
+    Response firstPage = RestAssured.given()
+      .spec(spec)
+      .when()
+      .get(SOURCE_STORAGE_SOURCE_RECORDS_PATH + "?cursor=*&limit=2");
+    assertThat(firstPage.statusCode(), is(HttpStatus.SC_OK));
+    assertThat(firstPage.body().jsonPath().getList("sourceRecords").size(), is(2));
+    String nextCursor = firstPage.header("X-Next-Cursor");
+    assertThat(nextCursor, notNullValue());
+    async.complete();
+
+    async = testContext.async();
+    Response secondPage = RestAssured.given()
+      .spec(spec)
+      .when()
+      .get(SOURCE_STORAGE_SOURCE_RECORDS_PATH + "?cursor=" + nextCursor + "&limit=2");
+    assertThat(secondPage.statusCode(), is(HttpStatus.SC_OK));
+    assertThat(secondPage.body().jsonPath().getList("sourceRecords").size(), is(1));
+    assertThat(secondPage.header("X-Next-Cursor"), nullValue());
+    List<String> recordIds = new ArrayList<>(firstPage.body().jsonPath().getList("sourceRecords.recordId"));
+    recordIds.addAll(secondPage.body().jsonPath().getList("sourceRecords.recordId"));
+    assertThat(recordIds, containsInAnyOrder(SECOND_UUID, FOURTH_UUID, SIXTH_UUID));
+    async.complete();
+  }
+
+  @Test
+  public void shouldReturnBadRequestOnGetWithInvalidCursor() {
+    RestAssured.given()
+      .spec(spec)
+      .when()
+      .get(SOURCE_STORAGE_SOURCE_RECORDS_PATH + "?cursor=invalid")
+      .then()
+      .statusCode(HttpStatus.SC_BAD_REQUEST);
+  }
+
+  @Test
+  public void shouldReturnSourceRecordsWithoutTotalRecordsOnGetWithTotalRecordsNone(TestContext testContext) {
+    Async async = testContext.async();
+    List<Snapshot> snapshotsToPost = Arrays.asList(snapshot_1, snapshot_2);
+    for (Snapshot snapshot : snapshotsToPost) {
+      RestAssured.given()
+        .spec(spec)
+        .body(snapshot)
+        .when()
+        .post(SOURCE_STORAGE_SNAPSHOTS_PATH)
+        .then()
+        .statusCode(HttpStatus.SC_CREATED);
+    }
+    async.complete();
+
+    async = testContext.async();
+    List<Record> recordsToPost = Arrays.asList(record_2, record_4);
+    for (Record record : recordsToPost) {
+      RestAssured.given()
+        .spec(spec)
+        .body(record)
+        .when()
+        .post(SOURCE_STORAGE_RECORDS_PATH)
+        .then()
+        .statusCode(HttpStatus.SC_CREATED);
+    }
+    async.complete();
+
+    async = testContext.async();
+    RestAssured.given()
+      .spec(spec)
+      .when()
+      .get(SOURCE_STORAGE_SOURCE_RECORDS_PATH + "?totalRecords=none")
+      .then()
+      .statusCode(HttpStatus.SC_OK)
+      .body("sourceRecords.size()", is(2))
+      .body("totalRecords", nullValue());
+    async.complete();
+
+    async = testContext.async();
+    RestAssured.given()
+      .spec(spec)
+      .when()
+      .get(SOURCE_STORAGE_SOURCE_RECORDS_PATH + "?totalRecords=exact")
+      .then()
+      .statusCode(HttpStatus.SC_OK)
+      .body("sourceRecords.size()", is(2))
+      .body("totalRecords", is(2));
+    async.complete();
+
+    async = testContext.async();
+    RestAssured.given()
+      .spec(spec)
+      .when()
+      .get(SOURCE_STORAGE_SOURCE_RECORDS_PATH + "?totalRecords=estimated")
+      .then()
+      .statusCode(HttpStatus.SC_OK)
+      .body("sourceRecords.size()", is(2))
+      .body("totalRecords", notNullValue());
+    async.complete();
+  }
+
+  @Test
+  public void shouldStreamSourceRecordsAsNewlineDelimitedJson(TestContext testContext) {
+    Async async = testContext.async();
+    List<Snapshot> snapshotsToPost = Arrays.asList(snapshot_1, snapshot_2);
+    for (Snapshot snapshot : snapshotsToPost) {
+      RestAssured.given()
+        .spec(spec)
+        .body(snapshot)
+        .when()
+        .post(SOURCE_STORAGE_SNAPSHOTS_PATH)
+        .then()
+        .statusCode(HttpStatus.SC_CREATED);
+    }
+    async.complete();
+
+    async = testContext.async();
+    List<Record> recordsToPost = Arrays.asList(record_1, record_2, record_4, record_6);
+    for (Record record : recordsToPost) {
+      RestAssured.given()
+        .spec(spec)
+        .body(record)
+        .when()
+        .post(SOURCE_STORAGE_RECORDS_PATH)
+        .then()
+        .statusCode(HttpStatus.SC_CREATED);
+    }
+    async.complete();
+
+    async = testContext.async();
+    Response response = RestAssured.given()
+      .spec(spec)
+      .when()
+      .get(SOURCE_STORAGE_STREAM_SOURCE_RECORDS_PATH + "?limit=100&orderBy=order");
+    assertThat(response.statusCode(), is(HttpStatus.SC_OK));
+    assertThat(response.contentType(), is("application/x-ndjson"));
+    List<SourceRecord> sourceRecords = Arrays.stream(response.body().asString().split("\n"))
+      .map(line -> new JsonObject(line).mapTo(SourceRecord.class))
+      .collect(Collectors.toList());
+    assertThat(sourceRecords.size(), is(3));
+    assertThat(sourceRecords.stream().map(SourceRecord::getRecordId).collect(Collectors.toList()),
+      contains(FOURTH_UUID, SECOND_UUID, SIXTH_UUID));
+    async.complete();
+  }
+
   @Test
   public void shouldReturnAllSourceRecordsMarkedAsDeletedOnFindByRecordStateDeleted(TestContext testContext) {
     Async async = testContext.async();
@@ -3,6 +3,7 @@ package org.folio.services;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.folio.TestUtil;
 import org.folio.rest.jaxrs.model.ParsedRecord;
 import org.folio.rest.jaxrs.model.Record;
@@ -236,4 +237,36 @@ public class AdditionalFieldsUtilTest {
     Assert.assertTrue(added);
     Assert.assertEquals(expectedParsedContent, parsedRecord.getContent());
   }
+
+  @Test
+  public void shouldApplySeveralModificationsWithinSingleMarcRecordSession() throws IOException {
+    // given
+    String instanceId = UUID.randomUUID().toString();
+    JsonObject instance = new JsonObject().put("id", instanceId).put("hrid", "in00000000001");
+    String parsedRecordContent = TestUtil.readFileFromPath(PARSED_RECORD_PATH);
+    Record expectedRecord = new Record().withId(UUID.randomUUID().toString())
+      .withParsedRecord(new ParsedRecord().withContent(parsedRecordContent));
+    Record record = new Record().withId(UUID.randomUUID().toString())
+      .withParsedRecord(new ParsedRecord().withContent(parsedRecordContent));
+    AdditionalFieldsUtil.addFieldToMarcRecord(expectedRecord, AdditionalFieldsUtil.TAG_999, 'i', instanceId);
+    AdditionalFieldsUtil.fillHrIdFieldInMarcRecord(Pair.of(expectedRecord, instance));
+    // when
+    boolean updated = AdditionalFieldsUtil.updateMarcRecord(record, session -> {
+      session.addSubfieldToField(AdditionalFieldsUtil.TAG_999, 'i', instanceId);
+      AdditionalFieldsUtil.fillHrIdFieldInMarcRecord(session, instance);
+    });
+    // then
+    Assert.assertTrue(updated);
+    Assert.assertEquals(expectedRecord.getParsedRecord().getContent(), record.getParsedRecord().getContent());
+    Assert.assertEquals("in00000000001", AdditionalFieldsUtil.getValueFromControlledField(record, AdditionalFieldsUtil.HR_ID_FROM_FIELD));
+    Assert.assertTrue(AdditionalFieldsUtil.isFieldExist(record, "035", 'a', "(NhCcYBP)ybp7406411"));
+  }
+
+  @Test
+  public void shouldNotUpdateMarcRecordWithoutParsedContent() {
+    Record record = new Record().withId(UUID.randomUUID().toString()).withParsedRecord(new ParsedRecord());
+    boolean updated = AdditionalFieldsUtil.updateMarcRecord(record, session -> session.removeField("001"));
+    Assert.assertFalse(updated);
+    Assert.assertNull(record.getParsedRecord().getContent());
+  }
 }
@@ -0,0 +1,111 @@
+package org.folio.services;
+
+import java.util.Collections;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.folio.dao.cache.CacheInvalidationBus;
+import org.folio.dao.cache.RecordCache;
+import org.folio.rest.jaxrs.model.ExternalIdsHolder;
+import org.folio.rest.jaxrs.model.Record;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+
+@RunWith(VertxUnitRunner.class)
+public class CacheInvalidationBusTest {
+
+  private static final String TENANT_ID = "diku";
+
+  private Vertx vertx;
+  private Record record;
+  // two module instances sharing event bus of non-clustered Vert.x
+  private RecordCache firstInstanceCache;
+  private RecordCache secondInstanceCache;
+  private CacheInvalidationBus firstInstanceBus;
+
+  @Before
+  public void setUp() {
+    vertx = Vertx.vertx();
+    record = new Record()
+      .withId(UUID.randomUUID().toString())
+      .withMatchedId(UUID.randomUUID().toString())
+      .withSnapshotId(UUID.randomUUID().toString())
+      .withRecordType(Record.RecordType.MARC)
+      .withState(Record.State.ACTUAL)
+      .withExternalIdsHolder(new ExternalIdsHolder().withInstanceId(UUID.randomUUID().toString()));
+    firstInstanceCache = new RecordCache(100, 60000);
+    secondInstanceCache = new RecordCache(100, 60000);
+    firstInstanceBus = new CacheInvalidationBus(vertx, Collections.singletonList(firstInstanceCache));
+    new CacheInvalidationBus(vertx, Collections.singletonList(secondInstanceCache));
+  }
+
+  @After
+  public void tearDown(TestContext context) {
+    vertx.close(context.asyncAssertSuccess());
+  }
+
+  @Test
+  public void shouldEvictRecordCachedByOtherInstance(TestContext context) {
+    Async async = context.async();
+    AtomicInteger firstInstanceLoads = new AtomicInteger();
+    AtomicInteger secondInstanceLoads = new AtomicInteger();
+    String key = record.getId();
+
+    firstInstanceCache.get(TENANT_ID, key, () -> load(firstInstanceLoads))
+      .compose(loaded -> secondInstanceCache.get(TENANT_ID, key, () -> load(secondInstanceLoads)))
+      .compose(loaded -> secondInstanceCache.get(TENANT_ID, key, () -> load(secondInstanceLoads)))
+      .onComplete(cached -> {
+        context.assertEquals(1, secondInstanceLoads.get());
+        firstInstanceBus.invalidateRecords(TENANT_ID, Collections.singletonList(new Record()
+          .withId(UUID.randomUUID().toString())
+          .withMatchedId(record.getMatchedId())));
+
+        // cache of the instance changing records is evicted synchronously
+        firstInstanceCache.get(TENANT_ID, key, () -> load(firstInstanceLoads))
+          .onComplete(reloaded -> context.assertEquals(2, firstInstanceLoads.get()));
+
+        // cache of other instance is evicted once invalidation event is received
+        vertx.setPeriodic(10, timerId -> secondInstanceCache.get(TENANT_ID, key, () -> load(secondInstanceLoads))
+          .onComplete(get -> {
+            if (secondInstanceLoads.get() == 2) {
+              vertx.cancelTimer(timerId);
+              async.complete();
+            }
+          }));
+      });
+  }
+
+  @Test
+  public void shouldEvictRecordsOfDeletedSnapshot(TestContext context) {
+    Async async = context.async();
+    AtomicInteger loads = new AtomicInteger();
+    String key = record.getId();
+
+    secondInstanceCache.get(TENANT_ID, key, () -> load(loads))
+      .onComplete(loaded -> {
+        firstInstanceBus.invalidateSnapshotRecords(TENANT_ID, record.getSnapshotId());
+        vertx.setPeriodic(10, timerId -> secondInstanceCache.get(TENANT_ID, key, () -> load(loads))
+          .onComplete(get -> {
+            if (loads.get() == 2) {
+              vertx.cancelTimer(timerId);
+              async.complete();
+            }
+          }));
+      });
+  }
+
+  private Future<Optional<Record>> load(AtomicInteger loads) {
+    loads.incrementAndGet();
+    return Future.succeededFuture(Optional.of(record));
+  }
+
+}
@@ -6,6 +6,8 @@ import com.github.tomakehurst.wiremock.common.Slf4jNotifier;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
 import com.github.tomakehurst.wiremock.junit.WireMockRule;
 
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
@@ -21,6 +23,7 @@ import org.folio.dao.RecordDao;
 import org.folio.dao.RecordDaoImpl;
 import org.folio.dao.util.RecordDaoUtil;
 import org.folio.dao.util.SnapshotDaoUtil;
+import org.folio.rest.jaxrs.model.ExternalIdsHolder;
 import org.folio.rest.jaxrs.model.ParsedRecord;
 import org.folio.rest.jaxrs.model.ProfileSnapshotWrapper;
 import org.folio.rest.jaxrs.model.RawRecord;
@@ -38,6 +41,7 @@ import org.mockito.MockitoAnnotations;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -512,6 +516,93 @@ public class InstancePostProcessingEventHandlerTest extends AbstractLBServiceTes
     });
   }
 
+  @Test
+  public void shouldMarkPreviousRecordsOfSavedRecordsAsOldWhenPreparedBatchIsHandled(TestContext context) {
+    Async async = context.async();
+    WireMock.stubFor(post(PUBSUB_PUBLISH_URL)
+      .willReturn(WireMock.noContent()));
+
+    String instanceId = UUID.randomUUID().toString();
+    record.withExternalIdsHolder(new ExternalIdsHolder().withInstanceId(instanceId));
+    String newRecordId = UUID.randomUUID().toString();
+    Record newRecord = JsonObject.mapFrom(record).mapTo(Record.class)
+      .withId(newRecordId)
+      .withMatchedId(newRecordId)
+      .withSnapshotId(snapshotId2)
+      .withRawRecord(new RawRecord().withId(newRecordId).withContent(rawRecord.getContent()))
+      .withParsedRecord(new ParsedRecord().withId(newRecordId).withContent(parsedRecord.getContent()));
+    // instance id of the saved record and its snapshot take precedence over instance and job execution of the event
+    DataImportEventPayload newRecordPayload = getPreparedPayload(newRecord, UUID.randomUUID().toString(), snapshotId1);
+    DataImportEventPayload failingPayload = getPreparedPayload(null, instanceId, snapshotId2);
+
+    recordDao.saveRecord(record, TENANT_ID)
+      .compose(saved -> instancePostProcessingEventHandler.prepareBatch(Arrays.asList(newRecordPayload, failingPayload)))
+      .onComplete(prepared -> {
+        if (prepared.failed()) {
+          context.fail(prepared.cause());
+        }
+        CompletableFuture<DataImportEventPayload> newRecordFuture = instancePostProcessingEventHandler.handle(newRecordPayload);
+        CompletableFuture<DataImportEventPayload> failingFuture = instancePostProcessingEventHandler.handle(failingPayload);
+        newRecordFuture.whenComplete((payload, e) -> {
+          if (e != null) {
+            context.fail(e);
+          }
+          // event is completed once its record is saved, previous records of the batch are marked as OLD in background
+          failingFuture.whenComplete((failedPayload, failure) -> {
+            context.assertNotNull(failure);
+            waitForRecordState(record.getId(), Record.State.OLD, 50)
+              .compose(previous -> {
+                context.assertEquals(Record.State.OLD, previous.getState());
+                return recordDao.getRecordById(newRecordId, TENANT_ID);
+              })
+              .onComplete(getAr -> {
+                if (getAr.failed()) {
+                  context.fail(getAr.cause());
+                }
+                context.assertEquals(Record.State.ACTUAL, getAr.result().get().getState());
+                async.complete();
+              });
+          });
+        });
+      });
+  }
+
+  @Test
+  public void shouldNotMarkPreviousRecordsAsOldWhenPreparedEventFails(TestContext context) {
+    Async async = context.async();
+    String instanceId = UUID.randomUUID().toString();
+    record.withExternalIdsHolder(new ExternalIdsHolder().withInstanceId(instanceId));
+    String newRecordId = UUID.randomUUID().toString();
+    // instance id can not be added to parsed record without fields
+    Record newRecord = new Record()
+      .withId(newRecordId)
+      .withMatchedId(newRecordId)
+      .withSnapshotId(snapshotId2)
+      .withRecordType(MARC)
+      .withRawRecord(new RawRecord().withId(newRecordId).withContent(rawRecord.getContent()))
+      .withParsedRecord(new ParsedRecord().withId(newRecordId).withContent("{\"leader\":\"01240cas a2200397\"}"));
+    DataImportEventPayload failingPayload = getPreparedPayload(newRecord, instanceId, snapshotId2);
+    DataImportEventPayload notHandledPayload = getPreparedPayload(null, instanceId, snapshotId2);
+
+    recordDao.saveRecord(record, TENANT_ID)
+      .compose(saved -> instancePostProcessingEventHandler.prepareBatch(Arrays.asList(failingPayload, notHandledPayload)))
+      .onComplete(prepared -> {
+        if (prepared.failed()) {
+          context.fail(prepared.cause());
+        }
+        instancePostProcessingEventHandler.handle(failingPayload).whenComplete((payload, e) -> {
+          context.assertNotNull(e);
+          recordDao.getRecordById(record.getId(), TENANT_ID).onComplete(getAr -> {
+            if (getAr.failed()) {
+              context.fail(getAr.cause());
+            }
+            context.assertEquals(Record.State.ACTUAL, getAr.result().get().getState());
+            async.complete();
+          });
+        });
+      });
+  }
+
   @Test
   public void shouldReturnTrueWhenHandlerIsEligibleForProfile() {
     MappingProfile mappingProfile = new MappingProfile()
@@ -563,4 +654,36 @@ public class InstancePostProcessingEventHandlerTest extends AbstractLBServiceTes
     Assert.assertFalse(isEligible);
   }
 
+
+  private Future<Record> waitForRecordState(String recordId, Record.State state, int attempts) {
+    return recordDao.getRecordById(recordId, TENANT_ID).compose(optionalRecord -> {
+      if (optionalRecord.get().getState() == state || attempts <= 1) {
+        return Future.succeededFuture(optionalRecord.get());
+      }
+      Promise<Record> promise = Promise.promise();
+      vertx.setTimer(100, timerId -> waitForRecordState(recordId, state, attempts - 1).onComplete(promise));
+      return promise.future();
+    });
+  }
+
+  private DataImportEventPayload getPreparedPayload(Record record, String instanceId, String jobExecutionId) {
+    HashMap<String, String> payloadContext = new HashMap<>();
+    payloadContext.put(INSTANCE.value(), new JsonObject().put("id", instanceId).encode());
+    if (record != null) {
+      payloadContext.put(MARC_BIBLIOGRAPHIC.value(), Json.encode(record));
+    }
+    MappingProfile mappingProfile = new MappingProfile()
+      .withId(UUID.randomUUID().toString())
+      .withExistingRecordType(INSTANCE);
+    return new DataImportEventPayload()
+      .withTenant(TENANT_ID)
+      .withOkapiUrl("http://localhost:" + mockServer.port())
+      .withToken("token")
+      .withJobExecutionId(jobExecutionId)
+      .withContext(payloadContext)
+      .withCurrentNode(new ProfileSnapshotWrapper()
+        .withId(UUID.randomUUID().toString())
+        .withContentType(MAPPING_PROFILE)
+        .withContent(mappingProfile));
+  }
 }
@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
@@ -42,6 +43,7 @@ import org.folio.rest.jaxrs.model.RawRecord;
 import org.folio.rest.jaxrs.model.Record;
 import org.folio.rest.jaxrs.model.Snapshot;
 import org.folio.services.handlers.MarcBibliographicMatchEventHandler;
+import org.folio.services.util.ProfileSnapshotUtil;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -286,6 +288,56 @@ public class MarcBibliographicMatchEventHandlerTest extends AbstractLBServiceTes
         }));
   }
 
+  @Test
+  public void shouldMatchByInstanceIdFieldWhenBatchIsPrepared(TestContext context) {
+    Async async = context.async();
+
+    HashMap<String, String> payloadContext = new HashMap<>();
+    payloadContext.put(EntityType.MARC_BIBLIOGRAPHIC.value(), Json.encode(record));
+
+    DataImportEventPayload dataImportEventPayload = new DataImportEventPayload()
+      .withContext(payloadContext)
+      .withTenant(TENANT_ID)
+      .withCurrentNode(new ProfileSnapshotWrapper()
+        .withId(UUID.randomUUID().toString())
+        .withContentType(MATCH_PROFILE)
+        .withContent(new MatchProfile()
+          .withExistingRecordType(EntityType.MARC_BIBLIOGRAPHIC)
+          .withIncomingRecordType(EntityType.MARC_BIBLIOGRAPHIC)
+          .withMatchDetails(singletonList(new MatchDetail()
+            .withMatchCriterion(EXACTLY_MATCHES)
+            .withExistingMatchExpression(new MatchExpression()
+              .withDataValueType(VALUE_FROM_RECORD)
+              .withFields(Lists.newArrayList(
+                new Field().withLabel("field").withValue("999"),
+                new Field().withLabel("indicator1").withValue("f"),
+                new Field().withLabel("indicator2").withValue("f"),
+                new Field().withLabel("recordSubfield").withValue("i"))))
+            .withExistingRecordType(EntityType.MARC_BIBLIOGRAPHIC)
+            .withIncomingRecordType(EntityType.MARC_BIBLIOGRAPHIC)
+            .withIncomingMatchExpression(new MatchExpression()
+              .withDataValueType(VALUE_FROM_RECORD)
+              .withFields(Lists.newArrayList(
+                new Field().withLabel("field").withValue("948"),
+                new Field().withLabel("indicator1").withValue(""),
+                new Field().withLabel("indicator2").withValue(""),
+                new Field().withLabel("recordSubfield").withValue("b"))))))));
+
+    recordDao.saveRecord(record, TENANT_ID)
+      .compose(saved -> marcBibliographicMatchEventHandler.prepareBatch(singletonList(dataImportEventPayload)))
+      .onComplete(prepareAr -> {
+        context.assertTrue(prepareAr.succeeded());
+        context.assertEquals(1, dataImportEventPayload.getContext().size());
+        marcBibliographicMatchEventHandler.handle(dataImportEventPayload)
+          .whenComplete((updatedEventPayload, throwable) -> {
+            context.assertNull(throwable);
+            context.assertEquals(DI_SRS_MARC_BIB_RECORD_MATCHED.value(), updatedEventPayload.getEventType());
+            context.assertEquals(new JsonObject(updatedEventPayload.getContext().get(MATCHED_MARC_BIB_KEY)).mapTo(Record.class), record);
+            async.complete();
+          });
+      });
+  }
+
   @Test
   public void shouldMatchByInstanceHridField(TestContext context) {
     Async async = context.async();
@@ -338,6 +390,49 @@ public class MarcBibliographicMatchEventHandlerTest extends AbstractLBServiceTes
         }));
   }
 
+  @Test
+  public void shouldMatchByIndexedDataField(TestContext context) {
+    Async async = context.async();
+    record.getParsedRecord().setContent(PARSED_CONTENT_WITH_ADDITIONAL_FIELDS.replace("{\"245\"",
+      "{\"035\":{\"ind1\":\"\",\"ind2\":\"\",\"subfields\":[{\"a\":\"(OCoLC)63611770\"}]}},{\"245\""));
+
+    HashMap<String, String> payloadContext = new HashMap<>();
+    payloadContext.put(EntityType.MARC_BIBLIOGRAPHIC.value(), Json.encode(record));
+    DataImportEventPayload dataImportEventPayload = getMatchEventPayload(payloadContext, "035", "a");
+
+    recordDao.saveRecord(record, TENANT_ID)
+      .onComplete(saveAr -> {
+        context.assertTrue(saveAr.succeeded());
+        marcBibliographicMatchEventHandler.handle(dataImportEventPayload)
+          .whenComplete((updatedEventPayload, throwable) -> {
+            context.assertNull(throwable);
+            context.assertEquals(DI_SRS_MARC_BIB_RECORD_MATCHED.value(), updatedEventPayload.getEventType());
+            context.assertEquals(new JsonObject(updatedEventPayload.getContext().get(MATCHED_MARC_BIB_KEY)).mapTo(Record.class), record);
+            async.complete();
+          });
+      });
+  }
+
+  @Test
+  public void shouldNotMatchByNotIndexedDataField(TestContext context) {
+    Async async = context.async();
+
+    HashMap<String, String> payloadContext = new HashMap<>();
+    payloadContext.put(EntityType.MARC_BIBLIOGRAPHIC.value(), Json.encode(record));
+    DataImportEventPayload dataImportEventPayload = getMatchEventPayload(payloadContext, "948", "d");
+
+    recordDao.saveRecord(record, TENANT_ID)
+      .onComplete(saveAr -> {
+        context.assertTrue(saveAr.succeeded());
+        marcBibliographicMatchEventHandler.handle(dataImportEventPayload)
+          .whenComplete((updatedEventPayload, throwable) -> {
+            context.assertNull(throwable);
+            context.assertEquals(DI_SRS_MARC_BIB_RECORD_NOT_MATCHED.value(), updatedEventPayload.getEventType());
+            async.complete();
+          });
+      });
+  }
+
   @Test
   public void shouldNotMatchByMatchedIdField(TestContext context) {
     Async async = context.async();
@@ -440,6 +535,63 @@ public class MarcBibliographicMatchEventHandlerTest extends AbstractLBServiceTes
         }));
   }
 
+  @Test
+  public void shouldConvertDeserializedProfileOnceAndKeepPayloadUnchanged(TestContext context) {
+    Async async = context.async();
+
+    WireMock.stubFor(post(PUBSUB_PUBLISH_URL)
+      .willReturn(WireMock.noContent()));
+
+    HashMap<String, String> payloadContext = new HashMap<>();
+    payloadContext.put(EntityType.MARC_BIBLIOGRAPHIC.value(), Json.encode(record));
+
+    MatchProfile matchProfile = new MatchProfile()
+      .withExistingRecordType(EntityType.MARC_BIBLIOGRAPHIC)
+      .withIncomingRecordType(EntityType.MARC_BIBLIOGRAPHIC)
+      .withMatchDetails(singletonList(new MatchDetail()
+        .withMatchCriterion(EXACTLY_MATCHES)
+        .withExistingMatchExpression(new MatchExpression()
+          .withDataValueType(VALUE_FROM_RECORD)
+          .withFields(Lists.newArrayList(
+            new Field().withLabel("field").withValue("999"),
+            new Field().withLabel("indicator1").withValue("f"),
+            new Field().withLabel("indicator2").withValue("f"),
+            new Field().withLabel("recordSubfield").withValue("s"))))
+        .withExistingRecordType(EntityType.MARC_BIBLIOGRAPHIC)
+        .withIncomingRecordType(EntityType.MARC_BIBLIOGRAPHIC)
+        .withIncomingMatchExpression(new MatchExpression()
+          .withDataValueType(VALUE_FROM_RECORD)
+          .withFields(Lists.newArrayList(
+            new Field().withLabel("field").withValue("948"),
+            new Field().withLabel("indicator1").withValue(""),
+            new Field().withLabel("indicator2").withValue(""),
+            new Field().withLabel("recordSubfield").withValue("b"))))));
+
+    // content of event payload received from mod-pubsub is deserialized as a map
+    ProfileSnapshotWrapper currentNode = new ProfileSnapshotWrapper()
+      .withId(UUID.randomUUID().toString())
+      .withContentType(MATCH_PROFILE)
+      .withContent(JsonObject.mapFrom(matchProfile).getMap());
+
+    DataImportEventPayload dataImportEventPayload = new DataImportEventPayload()
+      .withContext(payloadContext)
+      .withTenant(TENANT_ID)
+      .withCurrentNode(currentNode);
+
+    String encodedCurrentNode = Json.encode(currentNode);
+    context.assertTrue(marcBibliographicMatchEventHandler.isEligible(dataImportEventPayload));
+    MatchProfile convertedProfile = ProfileSnapshotUtil.getProfile(currentNode, MatchProfile.class);
+
+    marcBibliographicMatchEventHandler.handle(dataImportEventPayload)
+      .whenComplete((updatedEventPayload, throwable) -> {
+        context.assertNull(throwable);
+        context.assertTrue(ProfileSnapshotUtil.getProfile(currentNode, MatchProfile.class) == convertedProfile);
+        context.assertTrue(currentNode.getContent() instanceof Map);
+        context.assertEquals(encodedCurrentNode, Json.encode(currentNode));
+        async.complete();
+      });
+  }
+
   @Test
   public void shouldReturnTrueWhenHandlerIsEligibleForProfile() {
     MatchProfile matchProfile = new MatchProfile()
@@ -514,4 +666,34 @@ public class MarcBibliographicMatchEventHandlerTest extends AbstractLBServiceTes
 
     Assert.assertFalse(isEligible);
   }
+
+  private DataImportEventPayload getMatchEventPayload(HashMap<String, String> payloadContext, String tag, String subfield) {
+    return new DataImportEventPayload()
+      .withContext(payloadContext)
+      .withTenant(TENANT_ID)
+      .withCurrentNode(new ProfileSnapshotWrapper()
+        .withId(UUID.randomUUID().toString())
+        .withContentType(MATCH_PROFILE)
+        .withContent(new MatchProfile()
+          .withExistingRecordType(EntityType.MARC_BIBLIOGRAPHIC)
+          .withIncomingRecordType(EntityType.MARC_BIBLIOGRAPHIC)
+          .withMatchDetails(singletonList(new MatchDetail()
+            .withMatchCriterion(EXACTLY_MATCHES)
+            .withExistingMatchExpression(new MatchExpression()
+              .withDataValueType(VALUE_FROM_RECORD)
+              .withFields(Lists.newArrayList(
+                new Field().withLabel("field").withValue(tag),
+                new Field().withLabel("indicator1").withValue(""),
+                new Field().withLabel("indicator2").withValue(""),
+                new Field().withLabel("recordSubfield").withValue(subfield))))
+            .withExistingRecordType(EntityType.MARC_BIBLIOGRAPHIC)
+            .withIncomingRecordType(EntityType.MARC_BIBLIOGRAPHIC)
+            .withIncomingMatchExpression(new MatchExpression()
+              .withDataValueType(VALUE_FROM_RECORD)
+              .withFields(Lists.newArrayList(
+                new Field().withLabel("field").withValue(tag),
+                new Field().withLabel("indicator1").withValue(""),
+                new Field().withLabel("indicator2").withValue(""),
+                new Field().withLabel("recordSubfield").withValue(subfield))))))));
+  }
 }
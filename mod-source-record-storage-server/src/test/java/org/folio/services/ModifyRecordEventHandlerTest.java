@@ -13,6 +13,7 @@ import org.folio.MappingProfile;
 import org.folio.TestUtil;
 import org.folio.dao.RecordDao;
 import org.folio.dao.RecordDaoImpl;
+import org.folio.dao.cache.SnapshotCache;
 import org.folio.dao.util.SnapshotDaoUtil;
 import org.folio.processing.mapping.defaultmapper.processor.parameters.MappingParameters;
 import org.folio.rest.jaxrs.model.Data;
@@ -26,6 +27,7 @@ import org.folio.rest.jaxrs.model.RawRecord;
 import org.folio.rest.jaxrs.model.Record;
 import org.folio.rest.jaxrs.model.Snapshot;
 import org.folio.services.handlers.actions.ModifyRecordEventHandler;
+import org.folio.services.util.TenantOperationLimiter;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.BeforeClass;
@@ -129,7 +131,7 @@ public class ModifyRecordEventHandlerTest extends AbstractLBServiceTest {
     Async async = context.async();
 
     recordDao = new RecordDaoImpl(postgresClientFactory);
-    recordService = new RecordServiceImpl(recordDao);
+    recordService = new RecordServiceImpl(recordDao, new TenantOperationLimiter(), new SnapshotCache(0, 0));
     modifyRecordEventHandler = new ModifyRecordEventHandler(recordService);
 
     Snapshot snapshot = new Snapshot()
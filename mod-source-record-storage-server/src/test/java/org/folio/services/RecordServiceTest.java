@@ -2,6 +2,7 @@ package org.folio.services;
 
 import static org.folio.rest.jooq.Tables.RECORDS_LB;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -12,7 +13,14 @@ import java.util.stream.Collectors;
 import org.folio.TestMocks;
 import org.folio.dao.RecordDao;
 import org.folio.dao.RecordDaoImpl;
+import org.folio.dao.SnapshotDao;
+import org.folio.dao.SnapshotDaoImpl;
+import org.folio.dao.cache.CacheInvalidationBus;
+import org.folio.dao.cache.RecordCache;
+import org.folio.dao.cache.SnapshotCache;
 import org.folio.dao.util.ExternalIdType;
+import org.folio.dao.util.MarcUtil;
+import org.folio.dao.util.ParsedRecordDaoUtil;
 import org.folio.dao.util.RecordDaoUtil;
 import org.folio.dao.util.SnapshotDaoUtil;
 import org.folio.rest.jaxrs.model.AdditionalInfo;
@@ -25,8 +33,10 @@ import org.folio.rest.jaxrs.model.RawRecord;
 import org.folio.rest.jaxrs.model.Record;
 import org.folio.rest.jaxrs.model.Record.State;
 import org.folio.rest.jaxrs.model.RecordCollection;
+import org.folio.rest.jaxrs.model.Snapshot;
 import org.folio.rest.jaxrs.model.SourceRecord;
 import org.folio.rest.jooq.enums.RecordState;
+import org.folio.services.util.TenantOperationLimiter;
 import org.jooq.Condition;
 import org.jooq.OrderField;
 import org.jooq.SortOrder;
@@ -37,6 +47,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 
 import io.vertx.core.CompositeFuture;
+import io.vertx.core.json.JsonObject;
 import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
@@ -51,7 +62,7 @@ public class RecordServiceTest extends AbstractLBServiceTest {
   @Before
   public void setUp(TestContext context) {
     recordDao = new RecordDaoImpl(postgresClientFactory);
-    recordService = new RecordServiceImpl(recordDao);
+    recordService = new RecordServiceImpl(recordDao, new TenantOperationLimiter(), new SnapshotCache(0, 0));
     Async async = context.async();
     SnapshotDaoUtil.save(postgresClientFactory.getQueryExecutor(TENANT_ID), TestMocks.getSnapshots()).onComplete(save -> {
       if (save.failed()) {
@@ -165,7 +176,97 @@ public class RecordServiceTest extends AbstractLBServiceTest {
     });
   }
 
-  // TODO: test save record with calculate generation greater than 0
+  @Test
+  public void shouldSaveRecordWithCalculatedGenerationAndMarkPreviousRecordAsOld(TestContext context) {
+    Async async = context.async();
+    Record original = TestMocks.getRecord(0);
+    Snapshot committedSnapshot = new Snapshot()
+      .withJobExecutionId(UUID.randomUUID().toString())
+      .withStatus(Snapshot.Status.COMMITTED);
+    Snapshot snapshotInProgress = new Snapshot()
+      .withJobExecutionId(UUID.randomUUID().toString())
+      .withStatus(Snapshot.Status.PARSING_IN_PROGRESS);
+    Record previous = new Record()
+      .withId(original.getId())
+      .withSnapshotId(committedSnapshot.getJobExecutionId())
+      .withMatchedId(original.getMatchedId())
+      .withRecordType(original.getRecordType())
+      .withState(State.ACTUAL)
+      .withGeneration(0)
+      .withOrder(original.getOrder())
+      .withRawRecord(original.getRawRecord())
+      .withParsedRecord(original.getParsedRecord())
+      .withAdditionalInfo(original.getAdditionalInfo())
+      .withExternalIdsHolder(original.getExternalIdsHolder())
+      .withMetadata(original.getMetadata());
+    Record expected = new Record()
+      .withSnapshotId(snapshotInProgress.getJobExecutionId())
+      .withMatchedId(original.getMatchedId())
+      .withRecordType(original.getRecordType())
+      .withState(State.ACTUAL)
+      .withOrder(original.getOrder())
+      .withRawRecord(new RawRecord().withContent(original.getRawRecord().getContent()))
+      .withParsedRecord(new ParsedRecord().withContent(original.getParsedRecord().getContent()));
+    SnapshotDaoUtil.save(postgresClientFactory.getQueryExecutor(TENANT_ID), committedSnapshot)
+      .compose(snapshot -> recordDao.saveRecord(previous, TENANT_ID))
+      .compose(record -> SnapshotDaoUtil.save(postgresClientFactory.getQueryExecutor(TENANT_ID), snapshotInProgress))
+      .compose(snapshot -> recordService.saveRecord(expected, TENANT_ID))
+      .onComplete(save -> {
+        if (save.failed()) {
+          context.fail(save.cause());
+        }
+        context.assertEquals(1, save.result().getGeneration());
+        context.assertEquals(State.ACTUAL, save.result().getState());
+        recordDao.getRecordById(previous.getId(), TENANT_ID).onComplete(get -> {
+          if (get.failed()) {
+            context.fail(get.cause());
+          }
+          context.assertTrue(get.result().isPresent());
+          context.assertEquals(State.OLD, get.result().get().getState());
+          context.assertEquals(0, get.result().get().getGeneration());
+          async.complete();
+        });
+      });
+  }
+
+  @Test
+  public void shouldFailToSaveRecordWhenCachedSnapshotIsDeleted(TestContext context) {
+    Async async = context.async();
+    SnapshotCache snapshotCache = new SnapshotCache(100, 60000);
+    SnapshotDao snapshotDao = new SnapshotDaoImpl(postgresClientFactory, new CacheInvalidationBus(snapshotCache));
+    RecordService cachedRecordService = new RecordServiceImpl(recordDao, new TenantOperationLimiter(), snapshotCache);
+    Record original = TestMocks.getRecord(0);
+    Snapshot snapshot = new Snapshot()
+      .withJobExecutionId(UUID.randomUUID().toString())
+      .withStatus(Snapshot.Status.PARSING_IN_PROGRESS);
+    Record first = new Record()
+      .withSnapshotId(snapshot.getJobExecutionId())
+      .withMatchedId(UUID.randomUUID().toString())
+      .withRecordType(original.getRecordType())
+      .withState(State.ACTUAL)
+      .withOrder(0)
+      .withRawRecord(new RawRecord().withContent(original.getRawRecord().getContent()));
+    Record second = new Record()
+      .withSnapshotId(snapshot.getJobExecutionId())
+      .withMatchedId(UUID.randomUUID().toString())
+      .withRecordType(original.getRecordType())
+      .withState(State.ACTUAL)
+      .withOrder(1)
+      .withRawRecord(new RawRecord().withContent(original.getRawRecord().getContent()));
+    snapshotDao.saveSnapshot(snapshot, TENANT_ID)
+      .compose(saved -> cachedRecordService.saveRecord(first, TENANT_ID))
+      .compose(saved -> snapshotDao.deleteSnapshot(snapshot.getJobExecutionId(), TENANT_ID))
+      .onComplete(delete -> {
+        if (delete.failed()) {
+          context.fail(delete.cause());
+        }
+        cachedRecordService.saveRecord(second, TENANT_ID).onComplete(save -> {
+          context.assertTrue(save.failed());
+          context.assertEquals("Couldn't find snapshot with id " + snapshot.getJobExecutionId(), save.cause().getMessage());
+          async.complete();
+        });
+      });
+  }
 
   @Test
   public void shouldFailToSaveRecord(TestContext context) {
@@ -217,6 +318,95 @@ public class RecordServiceTest extends AbstractLBServiceTest {
     });
   }
 
+  @Test
+  public void shouldSaveRecordsAndReportRecordsWithMissingSnapshot(TestContext context) {
+    Async async = context.async();
+    List<Record> expected = TestMocks.getRecords();
+    String missingSnapshotId = UUID.randomUUID().toString();
+    Record valid = TestMocks.getRecord(0);
+    String id = UUID.randomUUID().toString();
+    Record withMissingSnapshot = new Record()
+      .withId(id)
+      .withSnapshotId(missingSnapshotId)
+      .withMatchedId(id)
+      .withRecordType(valid.getRecordType())
+      .withState(valid.getState())
+      .withOrder(valid.getOrder())
+      .withRawRecord(new RawRecord().withId(id).withContent(valid.getRawRecord().getContent()));
+    List<Record> records = new ArrayList<>(expected);
+    records.add(withMissingSnapshot);
+    RecordCollection recordCollection = new RecordCollection()
+      .withRecords(records)
+      .withTotalRecords(records.size());
+    recordService.saveRecords(recordCollection, TENANT_ID).onComplete(batch -> {
+      if (batch.failed()) {
+        context.fail(batch.cause());
+      }
+      context.assertEquals(1, batch.result().getErrorMessages().size());
+      context.assertEquals("Couldn't find snapshot with id " + missingSnapshotId, batch.result().getErrorMessages().get(0));
+      context.assertEquals(expected.size(), batch.result().getTotalRecords());
+      RecordDaoUtil.countByCondition(postgresClientFactory.getQueryExecutor(TENANT_ID), DSL.trueCondition()).onComplete(count -> {
+        if (count.failed()) {
+          context.fail(count.cause());
+        }
+        context.assertEquals(expected.size(), count.result());
+        async.complete();
+      });
+    });
+  }
+
+  @Test
+  public void shouldSaveRecordsWithDuplicateMatchedIdAsNextGenerations(TestContext context) {
+    Async async = context.async();
+    Record valid = TestMocks.getRecord(0);
+    String matchedId = UUID.randomUUID().toString();
+    List<Record> records = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      String id = UUID.randomUUID().toString();
+      records.add(new Record()
+        .withId(id)
+        .withSnapshotId(valid.getSnapshotId())
+        .withMatchedId(matchedId)
+        .withRecordType(valid.getRecordType())
+        .withState(State.ACTUAL)
+        .withOrder(i)
+        .withRawRecord(new RawRecord().withId(id).withContent(valid.getRawRecord().getContent())));
+    }
+    RecordCollection recordCollection = new RecordCollection()
+      .withRecords(records)
+      .withTotalRecords(records.size());
+    recordService.saveRecords(recordCollection, TENANT_ID).onComplete(batch -> {
+      if (batch.failed()) {
+        context.fail(batch.cause());
+      }
+      context.assertEquals(0, batch.result().getErrorMessages().size());
+      context.assertEquals(2, batch.result().getTotalRecords());
+      // records of the collection are not changed by the batch save
+      records.forEach(record -> {
+        context.assertNull(record.getGeneration());
+        context.assertEquals(State.ACTUAL, record.getState());
+      });
+      Condition condition = RECORDS_LB.MATCHED_ID.eq(UUID.fromString(matchedId));
+      List<OrderField<?>> orderFields = new ArrayList<>();
+      orderFields.add(RECORDS_LB.ORDER.sort(SortOrder.ASC));
+      recordService.getRecords(condition, orderFields, 0, 10, TENANT_ID).onComplete(get -> {
+        if (get.failed()) {
+          context.fail(get.cause());
+        }
+        context.assertEquals(2, get.result().getTotalRecords());
+        Record first = get.result().getRecords().get(0);
+        Record second = get.result().getRecords().get(1);
+        context.assertEquals(records.get(0).getId(), first.getId());
+        context.assertEquals(0, first.getGeneration());
+        context.assertEquals(State.OLD, first.getState());
+        context.assertEquals(records.get(1).getId(), second.getId());
+        context.assertEquals(1, second.getGeneration());
+        context.assertEquals(State.ACTUAL, second.getState());
+        async.complete();
+      });
+    });
+  }
+
   // TODO: test save records with expected errors
 
   @Test
@@ -477,9 +667,75 @@ public class RecordServiceTest extends AbstractLBServiceTest {
   }
 
   @Test
-  public void shouldGetFormattedRecord(TestContext context) {
+  public void shouldUpdateParsedRecordsAndReturnErrorMessagesForNotFoundRecords(TestContext context) {
+    Async async = context.async();
+    List<Record> original = TestMocks.getRecords();
+    RecordCollection recordCollection = new RecordCollection()
+      .withRecords(original)
+      .withTotalRecords(original.size());
+    recordService.saveRecords(recordCollection, TENANT_ID).onComplete(batch -> {
+      if (batch.failed()) {
+        context.fail(batch.cause());
+      }
+      String notFoundId = UUID.randomUUID().toString();
+      Record notFound = new Record()
+        .withId(notFoundId)
+        .withParsedRecord(new ParsedRecord()
+          .withId(notFoundId)
+          .withContent(original.get(0).getParsedRecord().getContent()));
+      List<Record> updated = new ArrayList<>(original);
+      updated.add(notFound);
+      recordService.updateParsedRecords(new RecordCollection().withRecords(updated).withTotalRecords(updated.size()), TENANT_ID).onComplete(update -> {
+        if (update.failed()) {
+          context.fail(update.cause());
+        }
+        context.assertEquals(1, update.result().getErrorMessages().size());
+        context.assertTrue(update.result().getErrorMessages().get(0).contains(notFoundId));
+        context.assertEquals(original.size(), update.result().getTotalRecords());
+        async.complete();
+      });
+    });
+  }
+
+  @Test
+  public void shouldUpdateParsedRecordsAndReturnErrorMessageForRecordWithInvalidInstanceId(TestContext context) {
+    Async async = context.async();
+    List<Record> original = TestMocks.getRecords();
+    RecordCollection recordCollection = new RecordCollection()
+      .withRecords(original)
+      .withTotalRecords(original.size());
+    recordService.saveRecords(recordCollection, TENANT_ID).onComplete(batch -> {
+      if (batch.failed()) {
+        context.fail(batch.cause());
+      }
+      List<Record> updated = original.stream()
+        .map(record -> JsonObject.mapFrom(record).mapTo(Record.class))
+        .collect(Collectors.toList());
+      Record invalid = updated.get(0)
+        .withExternalIdsHolder(new ExternalIdsHolder().withInstanceId("invalid-instance-id"));
+      recordService.updateParsedRecords(new RecordCollection().withRecords(updated).withTotalRecords(updated.size()), TENANT_ID).onComplete(update -> {
+        if (update.failed()) {
+          context.fail(update.cause());
+        }
+        context.assertEquals(1, update.result().getErrorMessages().size());
+        context.assertTrue(update.result().getErrorMessages().get(0).contains("invalid-instance-id"));
+        context.assertEquals(original.size() - 1, update.result().getTotalRecords());
+        recordDao.getRecordById(invalid.getId(), TENANT_ID).onComplete(get -> {
+          if (get.failed()) {
+            context.fail(get.cause());
+          }
+          context.assertEquals(original.get(0).getExternalIdsHolder().getInstanceId(), get.result().get().getExternalIdsHolder().getInstanceId());
+          async.complete();
+        });
+      });
+    });
+  }
+
+  @Test
+  public void shouldGetFormattedRecord(TestContext context) throws IOException {
     Async async = context.async();
     Record expected = TestMocks.getRecord(0);
+    String expectedFormattedContent = MarcUtil.marcJsonToTxtMarc(ParsedRecordDaoUtil.normalizeContent(expected.getParsedRecord()));
     recordDao.saveRecord(expected, TENANT_ID).onComplete(save -> {
       if (save.failed()) {
         context.fail(save.cause());
@@ -489,7 +745,40 @@ public class RecordServiceTest extends AbstractLBServiceTest {
           context.fail(get.cause());
         }
         context.assertNotNull(get.result().getParsedRecord());
-        context.assertEquals(expected.getParsedRecord().getFormattedContent(), get.result().getParsedRecord().getFormattedContent());
+        context.assertEquals(expectedFormattedContent, get.result().getParsedRecord().getFormattedContent());
+        async.complete();
+      });
+    });
+  }
+
+  @Test
+  public void shouldFormatRecordOnDemandOnly(TestContext context) throws IOException {
+    Async async = context.async();
+    Record mock = TestMocks.getRecord(0);
+    String expectedFormattedContent = MarcUtil.marcJsonToTxtMarc(ParsedRecordDaoUtil.normalizeContent(mock.getParsedRecord()));
+    Record expected = new Record()
+      .withId(mock.getId())
+      .withSnapshotId(mock.getSnapshotId())
+      .withMatchedId(mock.getMatchedId())
+      .withRecordType(mock.getRecordType())
+      .withState(mock.getState())
+      .withOrder(mock.getOrder())
+      .withRawRecord(mock.getRawRecord())
+      .withParsedRecord(new ParsedRecord()
+        .withId(mock.getParsedRecord().getId())
+        .withContent(mock.getParsedRecord().getContent()))
+      .withAdditionalInfo(mock.getAdditionalInfo())
+      .withExternalIdsHolder(mock.getExternalIdsHolder());
+    recordService.saveRecord(expected, TENANT_ID).onComplete(save -> {
+      if (save.failed()) {
+        context.fail(save.cause());
+      }
+      context.assertNull(save.result().getParsedRecord().getFormattedContent());
+      recordService.getFormattedRecord(expected.getMatchedId(), ExternalIdType.RECORD.name(), TENANT_ID).onComplete(get -> {
+        if (get.failed()) {
+          context.fail(get.cause());
+        }
+        context.assertEquals(expectedFormattedContent, get.result().getParsedRecord().getFormattedContent());
         async.complete();
       });
     });
@@ -526,6 +815,38 @@ public class RecordServiceTest extends AbstractLBServiceTest {
     });
   }
 
+  @Test
+  public void shouldGetSourceRecordWithUpdatedSuppressFromDiscoveryWhenRecordsCacheIsEnabled(TestContext context) {
+    Async async = context.async();
+    RecordDao cachedRecordDao = new RecordDaoImpl(postgresClientFactory, new RecordCache(100, 60000));
+    RecordService cachedRecordService = new RecordServiceImpl(cachedRecordDao, new TenantOperationLimiter(), new SnapshotCache(0, 0));
+    Record expected = TestMocks.getRecord(0);
+    expected.setAdditionalInfo(new AdditionalInfo().withSuppressDiscovery(false));
+    String instanceId = expected.getExternalIdsHolder().getInstanceId();
+    String idType = ExternalIdType.INSTANCE.toString();
+    cachedRecordDao.saveRecord(expected, TENANT_ID)
+      .compose(saved -> cachedRecordService.getSourceRecordById(instanceId, idType, TENANT_ID))
+      .compose(cached -> {
+        context.assertFalse(cached.get().getAdditionalInfo().getSuppressDiscovery());
+        // cached record is a copy, changes of returned record are not visible to subsequent lookups
+        cached.get().getAdditionalInfo().setSuppressDiscovery(true);
+        return cachedRecordService.getSourceRecordById(instanceId, idType, TENANT_ID);
+      })
+      .compose(cached -> {
+        context.assertFalse(cached.get().getAdditionalInfo().getSuppressDiscovery());
+        return cachedRecordService.updateSuppressFromDiscoveryForRecord(instanceId, idType, true, TENANT_ID);
+      })
+      .compose(updated -> cachedRecordService.getSourceRecordById(instanceId, idType, TENANT_ID))
+      .onComplete(get -> {
+        if (get.failed()) {
+          context.fail(get.cause());
+        }
+        context.assertTrue(get.result().isPresent());
+        context.assertTrue(get.result().get().getAdditionalInfo().getSuppressDiscovery());
+        async.complete();
+      });
+  }
+
   @Test
   public void shouldDeleteRecordsBySnapshotId(TestContext context) {
     Async async = context.async();
@@ -1,10 +1,16 @@
 package org.folio.services;
 
 import static org.folio.rest.jooq.Tables.SNAPSHOTS_LB;
+import static org.folio.rest.jooq.Tables.SNAPSHOT_DELETIONS_LB;
 
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
 
 import org.folio.TestMocks;
 import org.folio.dao.SnapshotDao;
@@ -13,6 +19,7 @@ import org.folio.dao.util.SnapshotDaoUtil;
 import org.folio.rest.jaxrs.model.Snapshot;
 import org.folio.rest.jaxrs.model.Snapshot.Status;
 import org.folio.rest.jaxrs.model.SnapshotCollection;
+import org.folio.rest.jaxrs.model.SnapshotDeletion;
 import org.folio.rest.jooq.enums.JobExecutionStatus;
 import org.jooq.Condition;
 import org.jooq.OrderField;
@@ -22,6 +29,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import io.vertx.core.CompositeFuture;
 import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
@@ -220,6 +228,49 @@ public class SnapshotServiceTest extends AbstractLBServiceTest {
     });
   }
 
+  @Test
+  public void shouldStartSnapshotDeletionOnceAndRestartAbandonedDeletion(TestContext context) {
+    Async async = context.async();
+    Snapshot snapshot = new Snapshot()
+      .withJobExecutionId(UUID.randomUUID().toString())
+      .withStatus(Status.PARSING_IN_PROGRESS);
+    SnapshotDeletion snapshotDeletion = new SnapshotDeletion()
+      .withJobExecutionId(snapshot.getJobExecutionId())
+      .withStatus(SnapshotDeletion.Status.IN_PROGRESS)
+      .withDeletedRecords(0)
+      .withStartedDate(new Date());
+    snapshotDao.saveSnapshot(snapshot, TENANT_ID)
+      .compose(saved -> CompositeFuture.all(snapshotDao.startSnapshotDeletion(snapshotDeletion, TENANT_ID),
+        snapshotDao.startSnapshotDeletion(snapshotDeletion, TENANT_ID)))
+      .compose(starts -> {
+        Optional<SnapshotDeletion> first = starts.resultAt(0);
+        Optional<SnapshotDeletion> second = starts.resultAt(1);
+        context.assertTrue(first.isPresent() ^ second.isPresent());
+        return snapshotDao.getSnapshotById(snapshot.getJobExecutionId(), TENANT_ID);
+      })
+      .compose(hidden -> {
+        context.assertFalse(hidden.isPresent());
+        return postgresClientFactory.getQueryExecutor(TENANT_ID).execute(dsl -> dsl.update(SNAPSHOT_DELETIONS_LB)
+          .set(SNAPSHOT_DELETIONS_LB.UPDATED_DATE, OffsetDateTime.now(ZoneOffset.UTC).minusHours(1))
+          .set(SNAPSHOT_DELETIONS_LB.DELETED_RECORDS, 5)
+          .where(SNAPSHOT_DELETIONS_LB.SNAPSHOT_ID.eq(UUID.fromString(snapshot.getJobExecutionId()))));
+      })
+      .compose(abandoned -> snapshotDao.getSnapshotById(snapshot.getJobExecutionId(), TENANT_ID))
+      .compose(visible -> {
+        context.assertTrue(visible.isPresent());
+        return snapshotDao.startSnapshotDeletion(snapshotDeletion, TENANT_ID);
+      })
+      .onComplete(restart -> {
+        if (restart.failed()) {
+          context.fail(restart.cause());
+        }
+        context.assertTrue(restart.result().isPresent());
+        context.assertEquals(SnapshotDeletion.Status.IN_PROGRESS, restart.result().get().getStatus());
+        context.assertEquals(5, restart.result().get().getDeletedRecords());
+        async.complete();
+      });
+  }
+
   private void compareSnapshots(TestContext context, Snapshot expected, Snapshot actual) {
     context.assertEquals(expected.getJobExecutionId(), actual.getJobExecutionId());
     context.assertEquals(expected.getStatus(), actual.getStatus());
@@ -0,0 +1,94 @@
+package org.folio.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.folio.services.util.TenantOperationLimiter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+
+@RunWith(VertxUnitRunner.class)
+public class TenantOperationLimiterTest {
+
+  private static final String TENANT_ID = "diku";
+  private static final int BATCH_CONCURRENCY = 5;
+
+  private Vertx vertx;
+  private TenantOperationLimiter operationLimiter;
+
+  @Before
+  public void setUp() {
+    vertx = Vertx.vertx();
+    operationLimiter = new TenantOperationLimiter();
+  }
+
+  @After
+  public void tearDown(TestContext context) {
+    vertx.close(context.asyncAssertSuccess());
+  }
+
+  @Test
+  public void shouldLimitInFlightOperationsOfBatch(TestContext context) {
+    Async async = context.async();
+    List<Integer> items = IntStream.range(0, 50).boxed().collect(Collectors.toList());
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+
+    vertx.runOnContext(v -> {
+      List<Future<Integer>> results = operationLimiter.executeAll(TENANT_ID, items, item -> {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        Promise<Integer> promise = Promise.promise();
+        vertx.setTimer(5, timerId -> {
+          inFlight.decrementAndGet();
+          promise.complete(item * 2);
+        });
+        return promise.future();
+      });
+
+      CompositeFuture.all(new ArrayList<>(results)).onComplete(ar -> {
+        context.assertTrue(ar.succeeded());
+        context.assertTrue(maxInFlight.get() <= BATCH_CONCURRENCY);
+        for (int i = 0; i < items.size(); i++) {
+          context.assertEquals(items.get(i) * 2, results.get(i).result());
+        }
+        async.complete();
+      });
+    });
+  }
+
+  @Test
+  public void shouldCompleteRemainingOperationsOfBatchWhenOperationFails(TestContext context) {
+    Async async = context.async();
+    List<Integer> items = IntStream.range(0, 20).boxed().collect(Collectors.toList());
+
+    vertx.runOnContext(v -> {
+      List<Future<Integer>> results = operationLimiter.executeAll(TENANT_ID, items, item -> {
+        if (item % 2 == 0) {
+          throw new IllegalStateException("Failed operation " + item);
+        }
+        return Future.succeededFuture(item);
+      });
+
+      CompositeFuture.join(new ArrayList<>(results)).onComplete(ar -> {
+        for (int i = 0; i < items.size(); i++) {
+          context.assertEquals(i % 2 != 0, results.get(i).succeeded());
+        }
+        async.complete();
+      });
+    });
+  }
+
+}
@@ -20,12 +20,14 @@ import com.github.tomakehurst.wiremock.junit.WireMockRule;
 import org.folio.TestUtil;
 import org.folio.dao.RecordDao;
 import org.folio.dao.RecordDaoImpl;
+import org.folio.dao.cache.SnapshotCache;
 import org.folio.dao.util.SnapshotDaoUtil;
 import org.folio.processing.events.utils.ZIPArchiver;
 import org.folio.rest.jaxrs.model.*;
 import org.folio.rest.jaxrs.model.Record.State;
 import org.folio.rest.jooq.Tables;
 import org.folio.rest.util.OkapiConnectionParams;
+import org.folio.services.util.TenantOperationLimiter;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.BeforeClass;
@@ -88,7 +90,7 @@ public class UpdatedRecordEventHandlingServiceTest extends AbstractLBServiceTest
     headers.put(OKAPI_TOKEN_HEADER, "token");
     params = new OkapiConnectionParams(headers, vertx);
     recordDao = new RecordDaoImpl(postgresClientFactory);
-    recordService = new RecordServiceImpl(recordDao);
+    recordService = new RecordServiceImpl(recordDao, new TenantOperationLimiter(), new SnapshotCache(0, 0));
     updateRecordEventHandler = new UpdateRecordEventHandlingService(recordService);
     Async async = context.async();
     Snapshot snapshot = new Snapshot()